@@ -4,6 +4,7 @@ plugins {
     alias(libs.plugins.indra)
     alias(libs.plugins.spotless)
     alias(libs.plugins.shadow)
+    alias(libs.plugins.jmh)
 }
 
 repositories {
@@ -30,10 +31,18 @@ spotless {
     }
 }
 
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    // The cross-device benchmarks relocate files to this directory, which must be on another device.
+    jvmArgsAppend.add("-Drelocator.crossDeviceDirectory=" + (findProperty("crossDeviceDirectory") ?: "/dev/shm"))
+}
+
 dependencies {
     compileOnly("org.jetbrains:annotations:24.0.1")
 
     testImplementation("org.junit.jupiter:junit-jupiter-engine:5.8.1")
+
+    jmhCompileOnly("org.jetbrains:annotations:24.0.1")
 }
 
 tasks {
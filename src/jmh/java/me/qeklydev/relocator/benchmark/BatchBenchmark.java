@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.batch.DownloadBatch;
+import me.qeklydev.relocator.batch.DownloadBatchResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures a batch download of many files from the same host, with
+ * different concurrency limits.
+ *
+ * @since 0.0.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchBenchmark {
+  private static final int FILES_AMOUNT = 64;
+  private static final int FILE_SIZE = 256 * 1024;
+  @Param({"1", "4", "16", "64"})
+  int maxConcurrency;
+  private BenchmarkHttpServer server;
+  private Path directory;
+  private List<FileDownloader> downloaders;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    this.server = new BenchmarkHttpServer();
+    this.directory = Files.createTempDirectory("batch-benchmark");
+    this.downloaders = new ArrayList<>(FILES_AMOUNT);
+    for (var index = 0; index < FILES_AMOUNT; index++) {
+      final var provider = this.server.serve("/file-" + index + ".bin", BenchmarkHttpServer.payload(FILE_SIZE + index));
+      this.downloaders.add(FileDownloader.builder()
+          .name(this.directory.resolve("file-" + index + ".bin").toString())
+          .url(provider)
+          .replaceExisting(true)
+          .build());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    this.server.close();
+    BenchmarkFiles.deleteRecursively(this.directory);
+  }
+
+  @Benchmark
+  public DownloadBatchResult downloadAll() {
+    // Every file is on the same host, so the per-host limit is the same that the global limit.
+    final var result = DownloadBatch.builder()
+        .addAll(this.downloaders)
+        .maxConcurrency(this.maxConcurrency)
+        .maxConcurrencyPerHost(this.maxConcurrency)
+        .build()
+        .downloadAll()
+        .join();
+    if (!result.successful()) {
+      throw new IllegalStateException("The benchmark batch has failed.");
+    }
+    return result;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class is used to give file utils for the benchmarks.
+ *
+ * @since 0.0.2
+ */
+public final class BenchmarkFiles {
+  private BenchmarkFiles() {}
+
+  /**
+   * Deletes the given directory with every file inside it.
+   *
+   * @param directory the directory to delete.
+   * @throws IOException if the directory could not be deleted.
+   * @since 0.0.2
+   */
+  public static void deleteRecursively(final @NotNull Path directory) throws IOException {
+    if (!Files.exists(directory)) {
+      return;
+    }
+    try (final var paths = Files.walk(directory)) {
+      // The files are deleted before their directories.
+      for (final var path : paths.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  /**
+   * Checks that the given amount of bytes belongs to a successful write, of this
+   * way a broken download fails the benchmark instead of measuring the failure.
+   *
+   * @param bytesWritten the amount of bytes written.
+   * @return The same amount of bytes.
+   * @since 0.0.2
+   */
+  public static long requireWritten(final long bytesWritten) {
+    if (bytesWritten <= 0L) {
+      throw new IllegalStateException("The benchmark download has failed.");
+    }
+    return bytesWritten;
+  }
+}
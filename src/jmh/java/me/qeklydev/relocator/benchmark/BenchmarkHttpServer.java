@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class is an embedded http server that serves generated payloads for the
+ * benchmarks, of this way the benchmarks don't depend on the network.
+ * <p>
+ * The server supports HEAD requests and single bytes ranges, so the segmented and
+ * resumable downloads can be measured too.
+ *
+ * @since 0.0.2
+ */
+public final class BenchmarkHttpServer implements AutoCloseable {
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final Map<String, byte[]> payloads = new ConcurrentHashMap<>();
+
+  /**
+   * Creates and starts a new server on a random port of the loopback address.
+   *
+   * @throws IOException if the server could not be started.
+   * @since 0.0.2
+   */
+  public BenchmarkHttpServer() throws IOException {
+    this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    this.server.createContext("/", this::handle);
+    this.server.setExecutor(this.executor);
+    this.server.start();
+  }
+
+  /**
+   * Generates a payload with the given size, the payload is random so it can't
+   * be compressed by any layer.
+   *
+   * @param size the payload size.
+   * @return The generated payload.
+   * @since 0.0.2
+   */
+  public static byte @NotNull [] payload(final int size) {
+    final var payload = new byte[size];
+    new Random(size).nextBytes(payload);
+    return payload;
+  }
+
+  /**
+   * Serves the given payload on the given path.
+   *
+   * @param path the path for the payload.
+   * @param payload the payload to serve.
+   * @return The url for the payload.
+   * @since 0.0.2
+   */
+  public @NotNull String serve(final @NotNull String path, final byte @NotNull [] payload) {
+    this.payloads.put(path, payload);
+    return "http://" + this.server.getAddress().getHostString() + ":" + this.server.getAddress().getPort() + path;
+  }
+
+  private void handle(final @NotNull HttpExchange exchange) throws IOException {
+    try (exchange) {
+      final var payload = this.payloads.get(exchange.getRequestURI().getPath());
+      if (payload == null) {
+        exchange.sendResponseHeaders(404, -1);
+        return;
+      }
+      var start = 0;
+      var end = payload.length - 1;
+      final var range = exchange.getRequestHeaders().getFirst("Range");
+      if (range != null && range.startsWith("bytes=")) {
+        final var bounds = range.substring("bytes=".length()).split("-", 2);
+        start = Integer.parseInt(bounds[0]);
+        if (!bounds[1].isEmpty()) {
+          end = Math.min(end, Integer.parseInt(bounds[1]));
+        }
+      }
+      final var headers = exchange.getResponseHeaders();
+      headers.set("Accept-Ranges", "bytes");
+      headers.set("ETag", "\"" + payload.length + "\"");
+      final var length = end - start + 1;
+      final var status = (range == null) ? 200 : 206;
+      if (range != null) {
+        headers.set("Content-Range", "bytes " + start + "-" + end + "/" + payload.length);
+      }
+      if ("HEAD".equals(exchange.getRequestMethod())) {
+        headers.set("Content-Length", Integer.toString(length));
+        exchange.sendResponseHeaders(status, -1);
+        return;
+      }
+      exchange.sendResponseHeaders(status, length);
+      exchange.getResponseBody().write(payload, start, length);
+    }
+  }
+
+  @Override
+  public void close() {
+    this.server.stop(0);
+    this.executor.shutdownNow();
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import me.qeklydev.relocator.io.IOUtils;
+import me.qeklydev.relocator.io.TransferOptions;
+import me.qeklydev.relocator.transport.HttpClientTransport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures the download modes of the I/O utils against an embedded
+ * http server, using the shared http-client transport and the url-connection
+ * baseline.
+ *
+ * @since 0.0.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DownloadBenchmark {
+  @Param({"65536", "1048576", "16777216"})
+  int payloadSize;
+  @Param({"http-client", "url-connection"})
+  String transport;
+  private BenchmarkHttpServer server;
+  private Path directory;
+  private String provider;
+  private String destination;
+  private TransferOptions options;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    this.server = new BenchmarkHttpServer();
+    this.provider = this.server.serve("/payload.bin", BenchmarkHttpServer.payload(this.payloadSize));
+    this.directory = Files.createTempDirectory("download-benchmark");
+    this.destination = this.directory.resolve("payload.bin").toString();
+    this.options = TransferOptions.defaults().withTransport(
+        "url-connection".equals(this.transport) ? new UrlConnectionTransport() : HttpClientTransport.shared());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    this.server.close();
+    BenchmarkFiles.deleteRecursively(this.directory);
+  }
+
+  @Benchmark
+  public long writeSync() {
+    return BenchmarkFiles.requireWritten(IOUtils.writeSync(this.destination, this.provider, this.options));
+  }
+
+  @Benchmark
+  public long writeSegmented() {
+    // The files smaller than two segments are downloaded using a single stream.
+    return BenchmarkFiles.requireWritten(IOUtils.writeSegmented(this.destination, this.provider, 4, this.options));
+  }
+
+  @Benchmark
+  public long writeResumable() {
+    return BenchmarkFiles.requireWritten(IOUtils.writeResumable(this.destination, this.provider, this.options));
+  }
+}
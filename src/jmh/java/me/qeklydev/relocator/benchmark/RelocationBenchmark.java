@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import me.qeklydev.relocator.relocation.FilesRelocationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures the files relocation to a directory on the same device, and to
+ * a directory on another device, which is defined by the
+ * {@code relocator.crossDeviceDirectory} system property ({@code /dev/shm} by default).
+ *
+ * @since 0.0.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RelocationBenchmark {
+  @Param({"1048576", "67108864"})
+  int fileSize;
+  @Param({"same-device", "cross-device"})
+  String device;
+  private byte[] payload;
+  private Path sourceDirectory;
+  private Path targetDirectory;
+  private Path source;
+  private Path target;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    this.payload = BenchmarkHttpServer.payload(this.fileSize);
+    this.sourceDirectory = Files.createTempDirectory("relocation-source");
+    this.targetDirectory = "cross-device".equals(this.device)
+        ? Files.createTempDirectory(Path.of(System.getProperty("relocator.crossDeviceDirectory", "/dev/shm")), "relocation-target")
+        : Files.createTempDirectory("relocation-target");
+    this.source = this.sourceDirectory.resolve("file.bin");
+    this.target = this.targetDirectory.resolve("file.bin");
+  }
+
+  @Setup(Level.Invocation)
+  public void createSource() throws IOException {
+    // Every relocation moves the file, so it must be created again before every invocation.
+    Files.write(this.source, this.payload);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    BenchmarkFiles.deleteRecursively(this.sourceDirectory);
+    BenchmarkFiles.deleteRecursively(this.targetDirectory);
+  }
+
+  @Benchmark
+  public boolean relocateTo() {
+    return FilesRelocationUtils.relocateTo(this.source, this.target, true, false, false);
+  }
+
+  @Benchmark
+  public boolean relocateAtomically() {
+    return FilesRelocationUtils.relocateTo(this.source, this.target, true, false, true);
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import me.qeklydev.relocator.transport.Transport;
+import me.qeklydev.relocator.transport.TransportRequest;
+import me.qeklydev.relocator.transport.TransportResponse;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class is a transport that uses a {@link HttpURLConnection} for every request,
+ * the same approach used by the I/O utils before the transports were introduced, it's
+ * used as baseline by the download benchmarks.
+ *
+ * @since 0.0.2
+ */
+public final class UrlConnectionTransport implements Transport {
+  @Override
+  public @NotNull TransportResponse open(final @NotNull TransportRequest request) throws IOException {
+    final var connection = (HttpURLConnection) request.uri().toURL().openConnection();
+    connection.setRequestMethod(request.method());
+    request.headers().forEach(connection::setRequestProperty);
+    final var statusCode = connection.getResponseCode();
+    // The connection gives the body of the error responses on another stream.
+    final var errorStream = connection.getErrorStream();
+    final var inputStream = (statusCode >= HttpURLConnection.HTTP_BAD_REQUEST)
+        ? ((errorStream == null) ? InputStream.nullInputStream() : errorStream)
+        : connection.getInputStream();
+    return new TransportResponse() {
+      @Override
+      public int statusCode() {
+        return statusCode;
+      }
+
+      @Override
+      public @NotNull URI uri() {
+        try {
+          return connection.getURL().toURI();
+        } catch (final Exception exception) {
+          return request.uri();
+        }
+      }
+
+      @Override
+      public @Nullable String header(final @NotNull String name) {
+        return connection.getHeaderField(name);
+      }
+
+      @Override
+      public @NotNull ReadableByteChannel body() {
+        return Channels.newChannel(inputStream);
+      }
+
+      @Override
+      public void close() throws IOException {
+        // The connection is not disconnected, so it can be reused by the keep-alive cache.
+        inputStream.close();
+      }
+    };
+  }
+}
@@ -22,9 +22,34 @@
  */
 package me.qeklydev.relocator;
 
+import me.qeklydev.relocator.archive.ArchiveExtraction;
+import me.qeklydev.relocator.archive.ArchiveExtractor;
+import me.qeklydev.relocator.batch.DownloadCoalescer;
+import me.qeklydev.relocator.cache.DownloadCache;
+import me.qeklydev.relocator.io.BandwidthLimits;
+import me.qeklydev.relocator.io.Checksum;
+import me.qeklydev.relocator.io.DownloadListener;
+import me.qeklydev.relocator.io.DownloadResult;
+import me.qeklydev.relocator.io.DownloadStatus;
 import me.qeklydev.relocator.io.IOUtils;
+import me.qeklydev.relocator.io.RateLimiter;
+import me.qeklydev.relocator.io.RetryPolicy;
+import me.qeklydev.relocator.io.TransferOptions;
+import me.qeklydev.relocator.io.WriteStrategy;
+import me.qeklydev.relocator.transport.DecompressingTransport;
+import me.qeklydev.relocator.transport.Transport;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * This class is used to perform files download since the
@@ -32,7 +57,27 @@ import java.util.concurrent.CompletableFuture;
  *
  * @since 0.0.1
  */
-public record FileDownloader(@NotNull String fileName, @NotNull String provider, boolean mustBeReplaced) {
+public record FileDownloader(@NotNull String fileName, @NotNull String provider, boolean mustBeReplaced, int segments, boolean resumable,
+                             @NotNull Transport transport, @Nullable DownloadCache cache, @Nullable Checksum checksum,
+                             @NotNull DownloadListener listener, @NotNull BandwidthLimits bandwidthLimits,
+                             @Nullable RateLimiter rateLimiter, @NotNull List<@NotNull String> mirrors, @NotNull RetryPolicy retryPolicy,
+                             @Nullable Duration hedgeDelay, @Nullable ArchiveExtraction extraction,
+                             @Nullable DownloadCoalescer coalescer, @NotNull WriteStrategy writeStrategy, boolean preResolve) {
+  /**
+   * Creates a new file downloader object for the given file, the other settings
+   * receive the same defaults given by the builder.
+   *
+   * @param fileName the name for the downloaded file.
+   * @param provider the url used to download the file.
+   * @param mustBeReplaced indicates if an existing file must be replaced.
+   * @see FileDownloader#builder()
+   * @since 0.0.1
+   */
+  public FileDownloader(final @NotNull String fileName, final @NotNull String provider, final boolean mustBeReplaced) {
+    this(fileName, provider, mustBeReplaced, 1, false, Transport.defaultTransport(), null, null, DownloadListener.NOOP,
+        BandwidthLimits.shared(), null, List.of(), RetryPolicy.NONE, null, null, null, WriteStrategy.ZERO_COPY, false);
+  }
+
   /**
    * Creates a new builder for the file downloader object.
    *
@@ -48,16 +93,231 @@ public record FileDownloader(@NotNull String fileName, @NotNull String provider,
    * for download destination.
    *
    * @return The boolean state for this operation, {@code true} if the
-   * file was downloaded and relocated correctly. Otherwise {@code false}.
-   * @see IOUtils#writeSync(String, String)
+   * file was downloaded and relocated correctly, and matches the expected
+   * checksum if it was defined. Otherwise {@code false}.
+   * @see FileDownloader#download()
    * @since 0.0.1
    */
   public boolean downloadFileSync() {
-    final var fileBytesWritingStatus = IOUtils.writeSync(this.fileName, this.provider);
-    // If the bytes read amount is zero, indicates that something went wrong
-    // during writing process and the file could not be downloaded correctly,
-    // so we return a [ false ] boolean state for this operation.
-    return fileBytesWritingStatus > IOUtils.SINGLE_RETURN_VALUE;
+    return this.download().successful();
+  }
+
+  /**
+   * Downloads the file since the given URL to the specified directory for
+   * download destination, and returns the result of the download with the
+   * time spent on every phase. The result is also notified to the listener
+   * defined for this download.
+   * <p>
+   * The failed downloads are retried as defined by the retry policy, and then
+   * continued since the mirrors, the listener is notified with the result of
+   * every attempt.
+   *
+   * @return The {@link DownloadResult} of the successful attempt, or of the last
+   * failed attempt.
+   * @see RetryPolicy
+   * @see IOUtils#transferSync(String, String, TransferOptions)
+   * @see IOUtils#transferSegmented(String, String, int, TransferOptions)
+   * @see IOUtils#transferResumable(String, String, TransferOptions)
+   * @see DownloadCache#transfer(String, String, TransferOptions)
+   * @see ArchiveExtractor#transfer(String, String, ArchiveExtraction, TransferOptions)
+   * @since 0.0.2
+   */
+  public @NotNull DownloadResult download() {
+    return this.download(AttemptInterceptor.DIRECT);
+  }
+
+  /**
+   * Downloads the file as {@link #download()} does, performing every attempt through
+   * the given interceptor, e.g. to limit the concurrent attempts against the host of
+   * every url.
+   *
+   * @param interceptor the interceptor for every attempt.
+   * @return The {@link DownloadResult} of the successful attempt, or of the last
+   * failed attempt.
+   * @see FileDownloader#download()
+   * @since 0.0.2
+   */
+  public @NotNull DownloadResult download(final @NotNull AttemptInterceptor interceptor) {
+    // The urls are tried in order, every url is attempted until the download is successful, the
+    // failure is not transient, or the attempts defined by the retry policy are exhausted, then
+    // the download fails over to the next mirror. The maximum elapsed time of the retry policy
+    // only limits the retries, every mirror is attempted once the previous url has failed. If
+    // the user has defined a hedge delay, the first two urls are raced, so a slow server doesn't
+    // delay the download.
+    final var startNanos = System.nanoTime();
+    final var urls = this.urls();
+    var index = 0;
+    DownloadResult result = null;
+    if (this.hedgeDelay != null && urls.size() > 1 && !this.resumable) {
+      result = this.downloadHedged(urls.get(0), urls.get(1), startNanos, interceptor);
+      index = 2;
+    }
+    for (; index < urls.size(); index++) {
+      if (result != null && (finished(result) || Thread.currentThread().isInterrupted())) {
+        return result;
+      }
+      result = this.downloadFrom(urls.get(index), startNanos, interceptor);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the urls used to download the file, the provider followed by the mirrors.
+   *
+   * @return The urls for the download.
+   * @since 0.0.2
+   */
+  public @NotNull List<@NotNull String> urls() {
+    final var urls = new ArrayList<String>(1 + this.mirrors.size());
+    urls.add(this.provider);
+    urls.addAll(this.mirrors);
+    return urls;
+  }
+
+  /**
+   * Downloads the file since the given url, retrying the transient failures as
+   * defined by the retry policy.
+   *
+   * @param url the url for the download.
+   * @param startNanos the {@link System#nanoTime()} when the download was started.
+   * @param interceptor the interceptor for every attempt.
+   * @return The {@link DownloadResult} for the last attempt.
+   */
+  private @NotNull DownloadResult downloadFrom(final @NotNull String url, final long startNanos,
+                                               final @NotNull AttemptInterceptor interceptor) {
+    final var transferOptions = this.transferOptions();
+    var attempt = 1;
+    while (true) {
+      final var result = interceptor.intercept(url, () -> this.attempt(url, transferOptions));
+      if (finished(result) || attempt >= this.retryPolicy.maxAttempts() || !this.retryPolicy.retryable(result)
+          || Thread.currentThread().isInterrupted()) {
+        return result;
+      }
+      final var delay = this.retryPolicy.delay(attempt);
+      if (!this.retryPolicy.allows(startNanos, delay)) {
+        return result;
+      }
+      try {
+        TimeUnit.NANOSECONDS.sleep(delay.toNanos());
+      } catch (final InterruptedException exception) {
+        // The download has been cancelled, e.g. because a hedged download has won.
+        Thread.currentThread().interrupt();
+        return result;
+      }
+      attempt++;
+    }
+  }
+
+  /**
+   * Performs a single download attempt since the given url.
+   *
+   * @param url the url for the download.
+   * @param transferOptions the options for the transfer.
+   * @return The {@link DownloadResult} for this attempt.
+   */
+  private @NotNull DownloadResult attempt(final @NotNull String url, final @NotNull TransferOptions transferOptions) {
+    // If the user has defined an extraction, the archive is extracted while it's downloaded, and
+    // never written on the disk. If the user has defined a cache, the file is placed since the cache, and only downloaded
+    // if it's not cached or has been modified. If the user has preferred a resumable download,
+    // the file is downloaded into a partial file that is continued by the next attempt if this
+    // one fails. If the user has preferred more than one segment, we request the file ranges at
+    // the same time, otherwise, the file is downloaded using a single stream.
+    if (this.extraction != null) {
+      return ArchiveExtractor.transfer(this.fileName, url, this.extraction, transferOptions);
+    } else if (this.cache != null) {
+      return this.cache.transfer(this.fileName, url, transferOptions);
+    } else if (this.resumable) {
+      return IOUtils.transferResumable(this.fileName, url, transferOptions);
+    } else if (this.segments > 1) {
+      return IOUtils.transferSegmented(this.fileName, url, this.segments, transferOptions);
+    }
+    return IOUtils.transferSync(this.fileName, url, transferOptions);
+  }
+
+  /**
+   * Races the downloads since the given urls, the secondary download is only started
+   * if the primary has not finished once the hedge delay has elapsed, or has failed.
+   * The first successful download wins, and the other is cancelled.
+   *
+   * @param primary the url for the primary download.
+   * @param secondary the url for the hedged download.
+   * @param startNanos the {@link System#nanoTime()} when the download was started.
+   * @param interceptor the interceptor for every attempt.
+   * @return The {@link DownloadResult} of the winner, or of the last failed download.
+   */
+  private @NotNull DownloadResult downloadHedged(final @NotNull String primary, final @NotNull String secondary, final long startNanos,
+                                                 final @NotNull AttemptInterceptor interceptor) {
+    final var completionService = new ExecutorCompletionService<DownloadResult>(IOUtils.VIRTUAL_THREAD_EXECUTOR);
+    final var primaryFuture = completionService.submit(() -> this.downloadFrom(primary, startNanos, interceptor));
+    Future<DownloadResult> secondaryFuture = null;
+    DownloadResult result = null;
+    var pending = 1;
+    try {
+      var completed = completionService.poll(this.hedgeDelay.toNanos(), TimeUnit.NANOSECONDS);
+      while (true) {
+        if (completed != null) {
+          pending--;
+          result = completed.get();
+          if (finished(result)) {
+            return result;
+          }
+        }
+        if (secondaryFuture == null) {
+          secondaryFuture = completionService.submit(() -> this.downloadFrom(secondary, startNanos, interceptor));
+          pending++;
+        }
+        if (pending == 0) {
+          return result;
+        }
+        completed = completionService.take();
+      }
+    } catch (final InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      return (result == null) ? DownloadResult.failed(primary, this.fileName, exception) : result;
+    } catch (final ExecutionException exception) {
+      return DownloadResult.failed(primary, this.fileName, exception.getCause());
+    } finally {
+      // The loser is interrupted, so their transfer is closed and their temporary file deleted.
+      primaryFuture.cancel(true);
+      if (secondaryFuture != null) {
+        secondaryFuture.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * Checks if the given result doesn't require more attempts.
+   *
+   * @param result the download result.
+   * @return {@code true} if the file is on the destination, or must not be replaced.
+   * Otherwise {@code false}.
+   */
+  private static boolean finished(final @NotNull DownloadResult result) {
+    return result.successful() || result.status() == DownloadStatus.SKIPPED;
+  }
+
+  /**
+   * Returns the options used by the I/O utils to transfer the file.
+   *
+   * @return The {@link TransferOptions} for this download.
+   * @since 0.0.2
+   */
+  public @NotNull TransferOptions transferOptions() {
+    return new TransferOptions(this.transport, this.checksum, this.mustBeReplaced, this.listener, this.bandwidthLimits, this.rateLimiter,
+        this.writeStrategy, this.preResolve);
+  }
+
+  /**
+   * Returns a copy of this file downloader with the given listener.
+   *
+   * @param listener the listener for the download.
+   * @return A new {@link FileDownloader}.
+   * @since 0.0.2
+   */
+  public @NotNull FileDownloader withListener(final @NotNull DownloadListener listener) {
+    return new FileDownloader(this.fileName, this.provider, this.mustBeReplaced, this.segments, this.resumable, this.transport, this.cache,
+        this.checksum, listener, this.bandwidthLimits, this.rateLimiter, this.mirrors, this.retryPolicy, this.hedgeDelay, this.extraction,
+        this.coalescer, this.writeStrategy, this.preResolve);
   }
 
   /**
@@ -69,13 +329,74 @@ public record FileDownloader(@NotNull String fileName, @NotNull String provider,
    * that represents the final status for the async operation, check the
    * downloadFileSync description to understand internal method functions.
    * @see FileDownloader#downloadFileSync()
+   * @see IOUtils#VIRTUAL_THREAD_EXECUTOR
    * @since 0.0.1
    */
   public @NotNull CompletableFuture<@NotNull Boolean> downloadFileAsync() {
+    return this.downloadFileAsync(IOUtils.VIRTUAL_THREAD_EXECUTOR);
+  }
+
+  /**
+   * Downloads the file of async way using the given executor, since the given URL
+   * to the specified directory for download destination.
+   *
+   * @param executor the executor used to perform the download.
+   * @return The {@link CompletableFuture} for this operation with the final
+   * supply for the internal download operation.
+   * @see FileDownloader#downloadFileSync()
+   * @since 0.0.2
+   */
+  public @NotNull CompletableFuture<@NotNull Boolean> downloadFileAsync(final @NotNull Executor executor) {
     // The executor for downloadFileSync(...) is the same, there's the difference
     // that this process is executed async way, so this will return a completable-future
     // with the supply, once the async operation has completed and final result was provided.
-    return CompletableFuture.supplyAsync(this::downloadFileSync);
+    return this.downloadAsync(executor).thenApply(DownloadResult::successful);
+  }
+
+  /**
+   * Downloads the file of async way using the given executor, and returns the
+   * result of the download with the time spent on every phase.
+   *
+   * @param executor the executor used to perform the download.
+   * @return The {@link CompletableFuture} for this operation with the
+   * {@link DownloadResult} for this download.
+   * @see FileDownloader#download()
+   * @since 0.0.2
+   */
+  public @NotNull CompletableFuture<@NotNull DownloadResult> downloadAsync(final @NotNull Executor executor) {
+    // If the user has defined a coalescer, the downloads of the same url that are in progress
+    // share a single transfer.
+    if (this.coalescer != null) {
+      return this.coalescer.download(this, executor);
+    }
+    return CompletableFuture.supplyAsync(this::download, executor);
+  }
+
+  /**
+   * This interface is used to wrap every download attempt, the attempt is performed
+   * when the interceptor calls the given supplier.
+   *
+   * @see FileDownloader#download(AttemptInterceptor)
+   * @since 0.0.2
+   */
+  @FunctionalInterface
+  public interface AttemptInterceptor {
+    /**
+     * The interceptor that performs the attempts directly.
+     *
+     * @since 0.0.2
+     */
+    AttemptInterceptor DIRECT = (url, attempt) -> attempt.get();
+
+    /**
+     * Performs the download attempt since the given url.
+     *
+     * @param url the url for this attempt, the provider or a mirror.
+     * @param attempt the supplier that performs the attempt.
+     * @return The {@link DownloadResult} for this attempt.
+     * @since 0.0.2
+     */
+    @NotNull DownloadResult intercept(final @NotNull String url, final @NotNull Supplier<@NotNull DownloadResult> attempt);
   }
 
   /**
@@ -87,6 +408,22 @@ public record FileDownloader(@NotNull String fileName, @NotNull String provider,
     private String fileName;
     private String url;
     private boolean mustBeReplaced;
+    private int segments = 1;
+    private boolean resumable;
+    private Transport transport = Transport.defaultTransport();
+    private DownloadCache cache;
+    private Checksum checksum;
+    private DownloadListener listener = DownloadListener.NOOP;
+    private BandwidthLimits bandwidthLimits = BandwidthLimits.shared();
+    private RateLimiter rateLimiter;
+    private final List<String> mirrors = new ArrayList<>();
+    private RetryPolicy retryPolicy = RetryPolicy.NONE;
+    private Duration hedgeDelay;
+    private ArchiveExtraction extraction;
+    private boolean decompress;
+    private DownloadCoalescer coalescer;
+    private WriteStrategy writeStrategy = WriteStrategy.ZERO_COPY;
+    private boolean preResolve;
 
     /**
      * Defines to the builder the name that will receive the file
@@ -117,6 +454,10 @@ public record FileDownloader(@NotNull String fileName, @NotNull String provider,
      * Defines to the builder if the file must be replaced on the
      * destination directory if already there's a file with the
      * same name and extension.
+     * <p>
+     * The file is downloaded into a temporary file and atomically moved to the
+     * destination, if the file must not be replaced and already exists, the
+     * download is not performed.
      *
      * @param mustBeReplaced indicates if the current file must
      *                       override.
@@ -128,6 +469,256 @@ public record FileDownloader(@NotNull String fileName, @NotNull String provider,
       return this;
     }
 
+    /**
+     * Defines to the builder the amount of bytes ranges that will be requested
+     * at the same time for the file download, a value higher than one enables the
+     * segmented download, which is useful for big files.
+     *
+     * @param segments the amount of segments for the download.
+     * @return The current builder instance.
+     * @see IOUtils#writeSegmented(String, String, int)
+     * @since 0.0.2
+     */
+    public @NotNull Builder segments(final int segments) {
+      this.segments = segments;
+      return this;
+    }
+
+    /**
+     * Defines to the builder if the download must keep their partial state on
+     * disk when fails, of this way, the next download attempt continues since the
+     * last written byte, instead of start again.
+     * <p>
+     * The resumable downloads use a single stream, so this option takes precedence
+     * over the segments amount.
+     *
+     * @param resumable indicates if the download can be resumed.
+     * @return The current builder instance.
+     * @see IOUtils#writeResumable(String, String)
+     * @since 0.0.2
+     */
+    public @NotNull Builder resume(final boolean resumable) {
+      this.resumable = resumable;
+      return this;
+    }
+
+    /**
+     * Defines the transport used to request the file, by default the file is
+     * requested using a http-client shared by every download.
+     *
+     * @param transport the transport for the download.
+     * @return The current builder instance.
+     * @see Transport#defaultTransport()
+     * @since 0.0.2
+     */
+    public @NotNull Builder transport(final @NotNull Transport transport) {
+      this.transport = transport;
+      return this;
+    }
+
+    /**
+     * Defines the cache used to place the file, if the file is cached and has not
+     * been modified on the server, it's placed without downloading it again.
+     * <p>
+     * The cache takes precedence over the resumable and segmented downloads.
+     *
+     * @param cache the cache for the download.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder cache(final @NotNull DownloadCache cache) {
+      this.cache = cache;
+      return this;
+    }
+
+    /**
+     * Defines the expected checksum for the file, the checksum is computed while
+     * the file is transferred, and if it doesn't match, the download fails without
+     * leaving the file on the destination.
+     *
+     * @param checksum the expected checksum.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder checksum(final @NotNull Checksum checksum) {
+      this.checksum = checksum;
+      return this;
+    }
+
+    /**
+     * Defines the listener notified with the result of the download, the result
+     * includes the status, the bytes and the time spent on every download phase.
+     *
+     * @param listener the listener for the download.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder listener(final @NotNull DownloadListener listener) {
+      this.listener = listener;
+      return this;
+    }
+
+    /**
+     * Defines the global and per-host limits for the download, by default the
+     * limits shared by every download are used.
+     *
+     * @param bandwidthLimits the bandwidth limits for the download.
+     * @return The current builder instance.
+     * @see BandwidthLimits#shared()
+     * @since 0.0.2
+     */
+    public @NotNull Builder bandwidthLimits(final @NotNull BandwidthLimits bandwidthLimits) {
+      this.bandwidthLimits = bandwidthLimits;
+      return this;
+    }
+
+    /**
+     * Defines the rate limiter for this download only, the download is paced by
+     * this limiter, and by the global and per-host limits.
+     *
+     * @param rateLimiter the rate limiter for the download.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder rateLimit(final @NotNull RateLimiter rateLimiter) {
+      this.rateLimiter = rateLimiter;
+      return this;
+    }
+
+    /**
+     * Adds a mirror for the file, the mirrors are used in the order they were added
+     * when the download since the previous url has failed.
+     *
+     * @param url the mirror url.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder mirror(final @NotNull String url) {
+      this.mirrors.add(url);
+      return this;
+    }
+
+    /**
+     * Adds the given mirrors for the file, the mirrors are used in the given order
+     * when the download since the previous url has failed.
+     *
+     * @param urls the mirror urls.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder mirrors(final @NotNull List<@NotNull String> urls) {
+      this.mirrors.addAll(urls);
+      return this;
+    }
+
+    /**
+     * Defines the policy used to retry the failed downloads on every url, by default
+     * the downloads are not retried.
+     *
+     * @param retryPolicy the retry policy for the download.
+     * @return The current builder instance.
+     * @see RetryPolicy#defaults()
+     * @since 0.0.2
+     */
+    public @NotNull Builder retryPolicy(final @NotNull RetryPolicy retryPolicy) {
+      this.retryPolicy = retryPolicy;
+      return this;
+    }
+
+    /**
+     * Defines the delay after which the first mirror is requested if the download since
+     * the url has not finished, the first completed download is used, and the other is
+     * cancelled. This requires at least one mirror, and is ignored by the resumable
+     * downloads, because both downloads would share the partial file.
+     *
+     * @param hedgeDelay the delay before the hedged download.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder hedgeAfter(final @NotNull Duration hedgeDelay) {
+      this.hedgeDelay = hedgeDelay;
+      return this;
+    }
+
+    /**
+     * Defines to the builder if the file must be requested compressed with gzip, the
+     * file is decompressed while it's downloaded, so it's written as it's on the server.
+     * <p>
+     * The checksum is computed over the decompressed file. The segmented downloads, and
+     * the continuation of the resumable downloads, request the file without compression.
+     *
+     * @param decompress indicates if the file must be requested compressed.
+     * @return The current builder instance.
+     * @see DecompressingTransport
+     * @since 0.0.2
+     */
+    public @NotNull Builder decompress(final boolean decompress) {
+      this.decompress = decompress;
+      return this;
+    }
+
+    /**
+     * Defines to the builder that the file is an archive that must be extracted while
+     * it's downloaded, the name given to the builder is the directory where the archive
+     * is extracted.
+     * <p>
+     * The checksum is computed over the archive bytes, and the extraction takes
+     * precedence over the cache, the resumable and the segmented downloads.
+     *
+     * @param extraction the options for the extraction.
+     * @return The current builder instance.
+     * @see ArchiveExtractor#transfer(String, String, ArchiveExtraction, TransferOptions)
+     * @since 0.0.2
+     */
+    public @NotNull Builder extract(final @NotNull ArchiveExtraction extraction) {
+      this.extraction = extraction;
+      return this;
+    }
+
+    /**
+     * Defines the coalescer used by the async downloads, the async downloads of the same
+     * url that are requested at the same time share a single transfer, and the file is
+     * placed on every destination using hard links.
+     *
+     * @param coalescer the coalescer for the async downloads.
+     * @return The current builder instance.
+     * @see DownloadCoalescer#shared()
+     * @since 0.0.2
+     */
+    public @NotNull Builder coalesce(final @NotNull DownloadCoalescer coalescer) {
+      this.coalescer = coalescer;
+      return this;
+    }
+
+    /**
+     * Defines the strategy used to write the file on the disk, by default the file
+     * is written using the zero-copy transfer. The strategy is used by the regular
+     * downloads, the segmented and resumable downloads write their ranges directly.
+     *
+     * @param writeStrategy the strategy for the disk writes.
+     * @return The current builder instance.
+     * @see WriteStrategy#builder()
+     * @since 0.0.2
+     */
+    public @NotNull Builder writeStrategy(final @NotNull WriteStrategy writeStrategy) {
+      this.writeStrategy = writeStrategy;
+      return this;
+    }
+
+    /**
+     * Defines if the provider host is resolved before the request, to record the
+     * resolve phase of the download timings separately. By default the host is only
+     * resolved by the transport, and the resolution is part of the connect phase.
+     *
+     * @param preResolve indicates if the provider host is resolved before the request.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder preResolve(final boolean preResolve) {
+      this.preResolve = preResolve;
+      return this;
+    }
+
     /**
      * Creates a new file downloader object using the information given to
      * the builder, this method could throw an exception if some parameter
@@ -143,9 +734,18 @@ public record FileDownloader(@NotNull String fileName, @NotNull String provider,
       if (this.fileName == null || this.url == null) {
         throw new IllegalStateException("The file name, or file url have not been defined on FileDownloader.Builder.");
       }
+      if (this.segments < 1) {
+        throw new IllegalStateException("The segments amount must be at least one on FileDownloader.Builder.");
+      }
+      if (this.hedgeDelay != null && (this.mirrors.isEmpty() || this.hedgeDelay.isNegative())) {
+        throw new IllegalStateException("The hedged download requires a mirror and a non-negative delay on FileDownloader.Builder.");
+      }
       // If we have all the required information for the constructor, we can create a new
       // instance of [FileDownloader], this will be used to perform file download.
-      return new FileDownloader(this.fileName, this.url, this.mustBeReplaced);
+      final var transport = this.decompress ? DecompressingTransport.wrap(this.transport) : this.transport;
+      return new FileDownloader(this.fileName, this.url, this.mustBeReplaced, this.segments, this.resumable, transport, this.cache, this.checksum,
+          this.listener, this.bandwidthLimits, this.rateLimiter, List.copyOf(this.mirrors), this.retryPolicy, this.hedgeDelay, this.extraction,
+          this.coalescer, this.writeStrategy, this.preResolve);
     }
   }
 }
@@ -0,0 +1,181 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.archive;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class represents the options used to extract an archive while it's
+ * downloaded, the format of the archive, the entries that must be extracted, and
+ * the leading directories removed from their paths.
+ *
+ * @since 0.0.2
+ */
+public final class ArchiveExtraction {
+  private final @Nullable ArchiveFormat format;
+  private final List<String> includes;
+  private final List<PathMatcher> includeMatchers;
+  private final int stripComponents;
+
+  private ArchiveExtraction(final @Nullable ArchiveFormat format, final @NotNull List<String> includes, final int stripComponents) {
+    this.format = format;
+    this.includes = includes;
+    this.includeMatchers = includes.stream()
+        .map(glob -> FileSystems.getDefault().getPathMatcher("glob:" + glob))
+        .toList();
+    this.stripComponents = stripComponents;
+  }
+
+  /**
+   * Creates a new builder for the archive extraction.
+   *
+   * @return A new {@link Builder}.
+   * @since 0.0.2
+   */
+  public static @NotNull Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the format of the archive, or {@code null} if the format is detected
+   * using the archive url.
+   *
+   * @return The {@link ArchiveFormat}, or {@code null}.
+   * @see ArchiveFormat#detect(String)
+   * @since 0.0.2
+   */
+  public @Nullable ArchiveFormat format() {
+    return this.format;
+  }
+
+  /**
+   * Returns the glob patterns for the entries that must be extracted.
+   *
+   * @return The include patterns, empty if every entry is extracted.
+   * @since 0.0.2
+   */
+  public @NotNull List<@NotNull String> includes() {
+    return this.includes;
+  }
+
+  /**
+   * Returns the amount of leading directories removed from the entry paths.
+   *
+   * @return The amount of stripped directories.
+   * @since 0.0.2
+   */
+  public int stripComponents() {
+    return this.stripComponents;
+  }
+
+  /**
+   * Checks if the entry with the given path must be extracted.
+   *
+   * @param relativePath the entry path, without the stripped directories.
+   * @return {@code true} if there are no include patterns, or the path matches
+   * any of them. Otherwise {@code false}.
+   * @since 0.0.2
+   */
+  public boolean accepts(final @NotNull Path relativePath) {
+    if (this.includeMatchers.isEmpty()) {
+      return true;
+    }
+    for (final var includeMatcher : this.includeMatchers) {
+      if (includeMatcher.matches(relativePath)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * This class is used to build instances of the archive extraction.
+   *
+   * @since 0.0.2
+   */
+  public static class Builder {
+    private ArchiveFormat format;
+    private final List<String> includes = new ArrayList<>();
+    private int stripComponents;
+
+    /**
+     * Defines the format of the archive, by default the format is detected using
+     * the extension of the archive url.
+     *
+     * @param format the archive format.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder format(final @NotNull ArchiveFormat format) {
+      this.format = format;
+      return this;
+    }
+
+    /**
+     * Adds a glob pattern for the entries that must be extracted, the pattern is matched
+     * against the entry path, without the stripped directories. If no pattern is added,
+     * every entry is extracted.
+     *
+     * @param glob the glob pattern, e.g. {@code plugins/*.jar}.
+     * @return The current builder instance.
+     * @see java.nio.file.FileSystem#getPathMatcher(String)
+     * @since 0.0.2
+     */
+    public @NotNull Builder include(final @NotNull String glob) {
+      this.includes.add(glob);
+      return this;
+    }
+
+    /**
+     * Defines the amount of leading directories removed from the entry paths, e.g. the
+     * directory that contains every entry of a tar archive.
+     *
+     * @param stripComponents the amount of stripped directories.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder stripComponents(final int stripComponents) {
+      this.stripComponents = stripComponents;
+      return this;
+    }
+
+    /**
+     * Creates a new archive extraction using the information given to the builder.
+     *
+     * @return The built {@link ArchiveExtraction}.
+     * @since 0.0.2
+     */
+    public @NotNull ArchiveExtraction build() {
+      if (this.stripComponents < 0) {
+        throw new IllegalStateException("The stripped directories amount must not be negative on ArchiveExtraction.Builder.");
+      }
+      return new ArchiveExtraction(this.format, List.copyOf(this.includes), this.stripComponents);
+    }
+  }
+}
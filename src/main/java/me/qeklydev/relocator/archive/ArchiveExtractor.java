@@ -0,0 +1,346 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.archive;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipInputStream;
+import me.qeklydev.relocator.io.DigestReadableByteChannel;
+import me.qeklydev.relocator.io.DownloadResult;
+import me.qeklydev.relocator.io.DownloadStatus;
+import me.qeklydev.relocator.io.DownloadTimer;
+import me.qeklydev.relocator.io.IOUtils;
+import me.qeklydev.relocator.io.TransferOptions;
+import me.qeklydev.relocator.relocation.FilesRelocationUtils;
+import me.qeklydev.relocator.transport.TransportRequest;
+import me.qeklydev.relocator.transport.TransportResponse;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class extracts the archives while they are downloaded, of this way, the
+ * archive is never written on the disk, and the entries are read once since the
+ * response, with a bounded memory usage.
+ * <p>
+ * The entries are extracted into a temporary directory next to the destination,
+ * and moved to the destination once the archive has been completed and verified,
+ * so a failed download doesn't leave a partial extraction. The entries which path
+ * goes outside of the destination (zip-slip) fail the extraction, and the links are
+ * not extracted.
+ *
+ * @since 0.0.2
+ */
+public final class ArchiveExtractor {
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final PosixFilePermission[] PERMISSIONS = {
+      PosixFilePermission.OTHERS_EXECUTE, PosixFilePermission.OTHERS_WRITE, PosixFilePermission.OTHERS_READ,
+      PosixFilePermission.GROUP_EXECUTE, PosixFilePermission.GROUP_WRITE, PosixFilePermission.GROUP_READ,
+      PosixFilePermission.OWNER_EXECUTE, PosixFilePermission.OWNER_WRITE, PosixFilePermission.OWNER_READ};
+
+  /**
+   * Downloads the archive since the given provider, and extracts it into the given
+   * directory while it's downloaded.
+   * <p>
+   * If the options have an expected checksum, it's computed over the archive bytes,
+   * and the entries are only moved to the directory if it matches. If the existing
+   * files must not be replaced, the entries that already exist are not extracted.
+   *
+   * @param directory the directory where the archive is extracted.
+   * @param provider the provider (URL) used to read the archive.
+   * @param extraction the options for the extraction.
+   * @param options the options for the archive transfer.
+   * @return The {@link DownloadResult} for this download, the bytes are the bytes of
+   * the archive.
+   * @since 0.0.2
+   */
+  public static @NotNull DownloadResult transfer(final @NotNull String directory, final @NotNull String provider,
+                                                 final @NotNull ArchiveExtraction extraction, final @NotNull TransferOptions options) {
+    final var timer = new DownloadTimer();
+    final var checksum = options.checksum();
+    var statusCode = DownloadResult.NO_STATUS_CODE;
+    var archiveBytes = IOUtils.SINGLE_RETURN_VALUE;
+    Path stagingDirectory = null;
+    try {
+      final var uri = URI.create(provider);
+      if (options.preResolve()) {
+        timer.resolve(uri);
+      }
+      final var format = (extraction.format() != null) ? extraction.format() : ArchiveFormat.detect(String.valueOf(uri.getPath()));
+      if (format == null) {
+        throw new IOException("The archive format of " + provider + " could not be detected.");
+      }
+      try (final var response = options.transport().open(TransportRequest.get(uri))) {
+        timer.markConnected();
+        statusCode = response.statusCode();
+        if (statusCode != TransportResponse.OK) {
+          return finish(options, timer, provider, directory, DownloadStatus.HTTP_ERROR, IOUtils.SINGLE_RETURN_VALUE, statusCode, null);
+        }
+        final var destination = Paths.get(directory).toAbsolutePath();
+        stagingDirectory = Files.createTempDirectory(destination.getParent(), destination.getFileName() + ".");
+        final var digest = (checksum == null) ? null : checksum.algorithm().newDigest();
+        var channel = timer.firstByteChannel(options.throttle(response.body(), uri));
+        if (digest != null) {
+          channel = new DigestReadableByteChannel(channel, digest);
+        }
+        try (final var archiveInput = new CountingInputStream(Channels.newInputStream(channel))) {
+          extract(format, archiveInput, stagingDirectory, extraction);
+          // The digest must read the bytes after the last entry too, e.g. the zip central directory.
+          archiveInput.transferTo(OutputStream.nullOutputStream());
+          archiveBytes = archiveInput.count;
+        }
+        timer.markTransferred();
+        if (checksum != null && !checksum.matches(digest)) {
+          return finish(options, timer, provider, directory, DownloadStatus.CHECKSUM_MISMATCH, archiveBytes, statusCode, null);
+        }
+        publish(stagingDirectory, destination, options.replaceExisting());
+        timer.markFlushed();
+        return finish(options, timer, provider, directory, DownloadStatus.SUCCESSFUL, archiveBytes, statusCode, null);
+      }
+    } catch (final Exception exception) {
+      return finish(options, timer, provider, directory, DownloadStatus.FAILED, archiveBytes, statusCode, exception);
+    } finally {
+      deleteStagingDirectory(stagingDirectory);
+    }
+  }
+
+  /**
+   * Extracts the entries of the given archive into the given directory.
+   *
+   * @param format the archive format.
+   * @param archiveInput the archive stream.
+   * @param directory the directory where the entries are extracted.
+   * @param extraction the options for the extraction.
+   * @throws IOException if the archive could not be read, or an entry could not be extracted.
+   */
+  private static void extract(final @NotNull ArchiveFormat format, final @NotNull InputStream archiveInput,
+                              final @NotNull Path directory, final @NotNull ArchiveExtraction extraction) throws IOException {
+    // The archive stream is closed by the caller once it has been drained, so the decoders
+    // are not closed here.
+    if (format == ArchiveFormat.ZIP) {
+      final var zipInput = new ZipInputStream(archiveInput);
+      for (var entry = zipInput.getNextEntry(); entry != null; entry = zipInput.getNextEntry()) {
+        extractEntry(entry.getName(), entry.isDirectory(), zipInput, -1, directory, extraction);
+      }
+      return;
+    }
+    final var tarInput = (format == ArchiveFormat.TAR_GZIP) ? new GZIPInputStream(archiveInput, BUFFER_SIZE) : archiveInput;
+    final var tarReader = new TarReader(tarInput);
+    for (var entry = tarReader.next(); entry != null; entry = tarReader.next()) {
+      // The links could point outside of the directory, so only the files and directories are extracted.
+      if (entry.file() || entry.directory()) {
+        extractEntry(entry.name(), entry.directory(), tarReader.entryStream(), entry.mode(), directory, extraction);
+      }
+    }
+  }
+
+  /**
+   * Extracts the given entry into the given directory.
+   *
+   * @param name the entry path on the archive.
+   * @param isDirectory indicates if the entry is a directory.
+   * @param data the entry data.
+   * @param mode the entry permissions, or {@code -1} if they are not known.
+   * @param directory the directory where the entry is extracted.
+   * @param extraction the options for the extraction.
+   * @throws IOException if the entry is outside of the directory, or could not be written.
+   */
+  private static void extractEntry(final @NotNull String name, final boolean isDirectory, final @NotNull InputStream data, final int mode,
+                                   final @NotNull Path directory, final @NotNull ArchiveExtraction extraction) throws IOException {
+    final var segments = new ArrayList<String>();
+    for (final var segment : name.replace('\\', '/').split("/")) {
+      if (!segment.isEmpty() && !segment.equals(".")) {
+        segments.add(segment);
+      }
+    }
+    if (segments.size() <= extraction.stripComponents()) {
+      return;
+    }
+    final var relativeSegments = segments.subList(extraction.stripComponents(), segments.size());
+    final var relativePath = directory.getFileSystem().getPath(relativeSegments.get(0),
+        relativeSegments.subList(1, relativeSegments.size()).toArray(String[]::new));
+    final var target = directory.resolve(relativePath).normalize();
+    // An entry with a path like "../../file" would be written outside of the directory.
+    if (!target.startsWith(directory) || target.equals(directory)) {
+      throw new IOException("The entry " + name + " is outside of the extraction directory.");
+    }
+    if (!extraction.accepts(relativePath)) {
+      return;
+    }
+    if (isDirectory) {
+      Files.createDirectories(target);
+      return;
+    }
+    Files.createDirectories(target.getParent());
+    try (final var fileChannel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.WRITE)) {
+      final var buffer = new byte[BUFFER_SIZE];
+      final var output = Channels.newOutputStream(fileChannel);
+      for (var readBytes = data.read(buffer); readBytes != -1; readBytes = data.read(buffer)) {
+        output.write(buffer, 0, readBytes);
+      }
+      fileChannel.force(true);
+    }
+    if (mode != -1) {
+      final var attributeView = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+      if (attributeView != null) {
+        attributeView.setPermissions(permissionsOf(mode));
+      }
+    }
+  }
+
+  /**
+   * Returns the POSIX permissions for the given mode.
+   *
+   * @param mode the unix mode.
+   * @return The permissions.
+   */
+  private static @NotNull EnumSet<PosixFilePermission> permissionsOf(final int mode) {
+    final var permissions = EnumSet.noneOf(PosixFilePermission.class);
+    for (var bit = 0; bit < PERMISSIONS.length; bit++) {
+      if ((mode & (1 << bit)) != 0) {
+        permissions.add(PERMISSIONS[bit]);
+      }
+    }
+    // The extracted files must be writable by the owner, so they can be replaced later.
+    permissions.add(PosixFilePermission.OWNER_WRITE);
+    permissions.add(PosixFilePermission.OWNER_READ);
+    return permissions;
+  }
+
+  /**
+   * Moves the extracted entries to the destination, every file is moved atomically,
+   * so the readers see the previous file or the new one, never a partial file.
+   *
+   * @param stagingDirectory the directory where the entries were extracted.
+   * @param destination the destination directory.
+   * @param replaceExisting indicates if the existing files must be replaced.
+   * @throws IOException if an entry could not be moved.
+   */
+  private static void publish(final @NotNull Path stagingDirectory, final @NotNull Path destination, final boolean replaceExisting)
+      throws IOException {
+    Files.createDirectories(destination);
+    try (final var paths = Files.walk(stagingDirectory)) {
+      for (final var path : (Iterable<Path>) paths::iterator) {
+        final var target = destination.resolve(stagingDirectory.relativize(path).toString());
+        if (Files.isDirectory(path)) {
+          Files.createDirectories(target);
+        } else if (replaceExisting || !Files.exists(target)) {
+          if (!FilesRelocationUtils.relocateTo(path, target, replaceExisting, /* The file is moved. */ false, /* Atomic. */ true)) {
+            throw new IOException("The extracted file could not be published on " + target);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Deletes the given staging directory and their remaining entries.
+   *
+   * @param stagingDirectory the staging directory, or {@code null}.
+   */
+  private static void deleteStagingDirectory(final @Nullable Path stagingDirectory) {
+    if (stagingDirectory == null) {
+      return;
+    }
+    try (final var paths = Files.walk(stagingDirectory)) {
+      for (final var path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+        Files.deleteIfExists(path);
+      }
+    } catch (final IOException exception) {
+      // The staging directory could not be deleted, there's nothing more to do.
+    }
+  }
+
+  /**
+   * Creates the download result and notifies it to the listener.
+   *
+   * @param options the options for the transfer.
+   * @param timer the timer for the download.
+   * @param provider the provider (URL) used to read the archive.
+   * @param directory the directory where the archive is extracted.
+   * @param status the final status for the download.
+   * @param bytes the amount of bytes of the archive.
+   * @param statusCode the status code given by the server.
+   * @param cause the exception that has failed the download, or {@code null}.
+   * @return The {@link DownloadResult}.
+   */
+  private static @NotNull DownloadResult finish(final @NotNull TransferOptions options, final @NotNull DownloadTimer timer,
+                                                final @NotNull String provider, final @NotNull String directory,
+                                                final @NotNull DownloadStatus status, final long bytes, final int statusCode,
+                                                final @Nullable Throwable cause) {
+    final var result = new DownloadResult(provider, directory, status, bytes, statusCode, cause, timer.timings());
+    IOUtils.notify(options.listener(), result);
+    return result;
+  }
+
+  /**
+   * This class is a stream that counts the bytes read from the archive.
+   */
+  private static final class CountingInputStream extends FilterInputStream {
+    private long count;
+
+    private CountingInputStream(final @NotNull InputStream input) {
+      super(input);
+    }
+
+    @Override
+    public int read() throws IOException {
+      final var value = super.read();
+      if (value != -1) {
+        this.count++;
+      }
+      return value;
+    }
+
+    @Override
+    public int read(final byte @NotNull [] buffer, final int offset, final int length) throws IOException {
+      final var readBytes = super.read(buffer, offset, length);
+      if (readBytes > 0) {
+        this.count += readBytes;
+      }
+      return readBytes;
+    }
+
+    @Override
+    public long skip(final long bytes) throws IOException {
+      final var skippedBytes = super.skip(bytes);
+      this.count += skippedBytes;
+      return skippedBytes;
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.archive;
+
+import java.util.Locale;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This enum represents the formats of the archives that can be extracted
+ * while they are downloaded.
+ *
+ * @since 0.0.2
+ */
+public enum ArchiveFormat {
+  /**
+   * A zip archive, e.g. {@code .zip} or {@code .jar}.
+   *
+   * @since 0.0.2
+   */
+  ZIP,
+  /**
+   * An uncompressed tar archive.
+   *
+   * @since 0.0.2
+   */
+  TAR,
+  /**
+   * A tar archive compressed with gzip, e.g. {@code .tar.gz} or {@code .tgz}.
+   *
+   * @since 0.0.2
+   */
+  TAR_GZIP;
+
+  /**
+   * Detects the format of an archive using their name.
+   *
+   * @param name the archive name or url path.
+   * @return The {@link ArchiveFormat}, or {@code null} if the name doesn't have
+   * a known extension.
+   * @since 0.0.2
+   */
+  public static @Nullable ArchiveFormat detect(final @NotNull String name) {
+    final var lowerCaseName = name.toLowerCase(Locale.ROOT);
+    if (lowerCaseName.endsWith(".zip") || lowerCaseName.endsWith(".jar")) {
+      return ZIP;
+    } else if (lowerCaseName.endsWith(".tar.gz") || lowerCaseName.endsWith(".tgz")) {
+      return TAR_GZIP;
+    } else if (lowerCaseName.endsWith(".tar")) {
+      return TAR;
+    }
+    return null;
+  }
+}
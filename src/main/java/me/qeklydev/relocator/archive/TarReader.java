@@ -0,0 +1,297 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.archive;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class reads the entries of a tar archive as a stream, the archive is read
+ * once, and only a header block is kept on memory.
+ * <p>
+ * The ustar and GNU headers are supported, including the long names of the GNU
+ * archives and the paths of the PAX extended headers.
+ *
+ * @since 0.0.2
+ */
+final class TarReader {
+  private static final int BLOCK_SIZE = 512;
+  private static final int MAXIMUM_EXTENDED_HEADER_SIZE = 1024 * 1024;
+  private final InputStream input;
+  private final byte[] header = new byte[BLOCK_SIZE];
+  private long remainingBytes;
+  private long paddingBytes;
+
+  TarReader(final @NotNull InputStream input) {
+    this.input = input;
+  }
+
+  /**
+   * Reads the header of the next entry, skipping the unread bytes of the current entry.
+   *
+   * @return The next {@link Entry}, or {@code null} if the archive has ended.
+   * @throws IOException if the archive could not be read, or is corrupted.
+   */
+  @Nullable Entry next() throws IOException {
+    String longName = null;
+    while (true) {
+      this.skipFully(this.remainingBytes + this.paddingBytes);
+      this.remainingBytes = 0L;
+      this.paddingBytes = 0L;
+      if (!this.readHeader()) {
+        return null;
+      }
+      final var size = parseNumber(this.header, 124, 12);
+      final var type = (char) this.header[156];
+      this.remainingBytes = size;
+      this.paddingBytes = (BLOCK_SIZE - (size % BLOCK_SIZE)) % BLOCK_SIZE;
+      // The GNU long names and the PAX headers are entries that describe the next entry.
+      if (type == 'L' || type == 'x') {
+        final var extendedHeader = new String(this.readData(size), StandardCharsets.UTF_8);
+        longName = (type == 'L') ? trimNull(extendedHeader) : paxPath(extendedHeader, longName);
+        continue;
+      } else if (type == 'K' || type == 'g') {
+        continue;
+      }
+      var name = parseString(this.header, 0, 100);
+      final var prefix = isUstar(this.header) ? parseString(this.header, 345, 155) : "";
+      if (!prefix.isEmpty()) {
+        name = prefix + "/" + name;
+      }
+      if (longName != null) {
+        name = longName;
+      }
+      final var mode = (int) parseNumber(this.header, 100, 8);
+      return new Entry(name, type, size, mode);
+    }
+  }
+
+  /**
+   * Returns the stream for the data of the current entry, the stream ends with the entry.
+   *
+   * @return The stream for the entry data.
+   */
+  @NotNull InputStream entryStream() {
+    return new InputStream() {
+      @Override
+      public int read() throws IOException {
+        if (TarReader.this.remainingBytes <= 0L) {
+          return -1;
+        }
+        final var value = TarReader.this.input.read();
+        if (value == -1) {
+          throw new EOFException("The tar archive has ended in the middle of an entry.");
+        }
+        TarReader.this.remainingBytes--;
+        return value;
+      }
+
+      @Override
+      public int read(final byte @NotNull [] buffer, final int offset, final int length) throws IOException {
+        if (TarReader.this.remainingBytes <= 0L) {
+          return -1;
+        }
+        final var readBytes = TarReader.this.input.read(buffer, offset, (int) Math.min(length, TarReader.this.remainingBytes));
+        if (readBytes == -1) {
+          throw new EOFException("The tar archive has ended in the middle of an entry.");
+        }
+        TarReader.this.remainingBytes -= readBytes;
+        return readBytes;
+      }
+    };
+  }
+
+  /**
+   * Reads the next header block, and verifies their checksum.
+   *
+   * @return {@code true} if a header was read, or {@code false} if the end of the
+   * archive was found.
+   * @throws IOException if the header could not be read, or is corrupted.
+   */
+  private boolean readHeader() throws IOException {
+    final var readBytes = this.input.readNBytes(this.header, 0, BLOCK_SIZE);
+    if (readBytes == 0) {
+      return false;
+    } else if (readBytes < BLOCK_SIZE) {
+      throw new EOFException("The tar archive has ended in the middle of a header.");
+    }
+    // The archive ends with zero blocks.
+    var empty = true;
+    var checksum = 0L;
+    for (var index = 0; index < BLOCK_SIZE; index++) {
+      empty &= this.header[index] == 0;
+      // The checksum is computed as if the checksum field were spaces.
+      checksum += (index >= 148 && index < 156) ? ' ' : (this.header[index] & 0xFF);
+    }
+    if (empty) {
+      return false;
+    }
+    if (checksum != parseNumber(this.header, 148, 8)) {
+      throw new IOException("The tar archive has a corrupted header.");
+    }
+    return true;
+  }
+
+  /**
+   * Reads the data of the current entry, which is an extended header.
+   *
+   * @param size the size of the data.
+   * @return The data.
+   * @throws IOException if the data could not be read, or is too big.
+   */
+  private byte @NotNull [] readData(final long size) throws IOException {
+    if (size > MAXIMUM_EXTENDED_HEADER_SIZE) {
+      throw new IOException("The tar archive has an extended header of " + size + " bytes.");
+    }
+    final var data = this.input.readNBytes((int) size);
+    if (data.length < size) {
+      throw new EOFException("The tar archive has ended in the middle of an extended header.");
+    }
+    this.remainingBytes = 0L;
+    return data;
+  }
+
+  /**
+   * Skips the given amount of bytes of the archive.
+   *
+   * @param bytes the amount of bytes to skip.
+   * @throws IOException if the bytes could not be skipped.
+   */
+  private void skipFully(final long bytes) throws IOException {
+    if (bytes > 0L) {
+      this.input.skipNBytes(bytes);
+    }
+  }
+
+  /**
+   * Returns the path defined by the given PAX extended header.
+   *
+   * @param extendedHeader the PAX records, as {@code "<length> <key>=<value>\n"}.
+   * @param defaultPath the path to return if the header doesn't define a path.
+   * @return The path, or the default path.
+   */
+  private static @Nullable String paxPath(final @NotNull String extendedHeader, final @Nullable String defaultPath) {
+    for (final var extendedRecord : extendedHeader.split("\n")) {
+      final var separator = extendedRecord.indexOf(' ');
+      if (separator != -1 && extendedRecord.startsWith("path=", separator + 1)) {
+        return extendedRecord.substring(separator + 1 + "path=".length());
+      }
+    }
+    return defaultPath;
+  }
+
+  /**
+   * Checks if the given header uses the ustar format, which has a prefix for the name.
+   *
+   * @param header the header block.
+   * @return {@code true} if the header uses the ustar format. Otherwise {@code false}.
+   */
+  private static boolean isUstar(final byte @NotNull [] header) {
+    // The GNU headers use "ustar  " as magic, and use the prefix field for other data.
+    return parseString(header, 257, 6).equals("ustar") && header[263] == '0';
+  }
+
+  /**
+   * Parses a number field of the header, which is octal, or base-256 for big numbers.
+   *
+   * @param header the header block.
+   * @param offset the field offset.
+   * @param length the field length.
+   * @return The number.
+   * @throws IOException if the field is not a valid number.
+   */
+  private static long parseNumber(final byte @NotNull [] header, final int offset, final int length) throws IOException {
+    if ((header[offset] & 0x80) != 0) {
+      var value = (long) (header[offset] & 0x7F);
+      for (var index = offset + 1; index < offset + length; index++) {
+        value = (value << 8) | (header[index] & 0xFF);
+      }
+      return value;
+    }
+    final var field = parseString(header, offset, length).trim();
+    try {
+      return field.isEmpty() ? 0L : Long.parseLong(field, 8);
+    } catch (final NumberFormatException exception) {
+      throw new IOException("The tar archive has an invalid number on a header.", exception);
+    }
+  }
+
+  /**
+   * Parses a string field of the header, which ends with the first null character.
+   *
+   * @param header the header block.
+   * @param offset the field offset.
+   * @param length the field length.
+   * @return The string.
+   */
+  private static @NotNull String parseString(final byte @NotNull [] header, final int offset, final int length) {
+    var end = offset;
+    while (end < offset + length && header[end] != 0) {
+      end++;
+    }
+    return new String(header, offset, end - offset, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Removes the null characters at the end of the given string.
+   *
+   * @param value the string.
+   * @return The string without the null characters.
+   */
+  private static @NotNull String trimNull(final @NotNull String value) {
+    final var end = value.indexOf('\0');
+    return (end == -1) ? value : value.substring(0, end);
+  }
+
+  /**
+   * This record represents an entry of the tar archive.
+   *
+   * @param name the entry path.
+   * @param type the entry type flag.
+   * @param size the size of the entry data.
+   * @param mode the permissions of the entry.
+   */
+  record Entry(@NotNull String name, char type, long size, int mode) {
+    /**
+     * Checks if this entry is a regular file.
+     *
+     * @return {@code true} if the entry is a file. Otherwise {@code false}.
+     */
+    boolean file() {
+      return this.type == '0' || this.type == '\0' || this.type == '7';
+    }
+
+    /**
+     * Checks if this entry is a directory.
+     *
+     * @return {@code true} if the entry is a directory. Otherwise {@code false}.
+     */
+    boolean directory() {
+      return this.type == '5';
+    }
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * Provides the extraction of the archives while they are downloaded.
+ *
+ * @since 0.0.2
+ */
+package me.qeklydev.relocator.archive;
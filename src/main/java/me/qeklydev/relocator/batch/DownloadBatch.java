@@ -0,0 +1,245 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.batch;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.io.DownloadResult;
+import me.qeklydev.relocator.io.IOUtils;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class is used to download many files at the same time, limiting
+ * the amount of concurrent downloads globally and for every host.
+ *
+ * @since 0.0.2
+ */
+public final class DownloadBatch {
+  private final List<FileDownloader> downloaders;
+  private final Executor executor;
+  private final Semaphore globalPermits;
+  private final int maxConcurrencyPerHost;
+  private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+  private DownloadBatch(final @NotNull List<FileDownloader> downloaders, final @NotNull Executor executor,
+                        final int maxConcurrency, final int maxConcurrencyPerHost) {
+    this.downloaders = downloaders;
+    this.executor = executor;
+    this.globalPermits = new Semaphore(maxConcurrency);
+    this.maxConcurrencyPerHost = maxConcurrencyPerHost;
+  }
+
+  /**
+   * Creates a new builder for the download batch object.
+   *
+   * @return A new {@link Builder}.
+   * @since 0.0.2
+   */
+  public static @NotNull Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the file downloaders of this batch.
+   *
+   * @return The file downloaders.
+   * @since 0.0.2
+   */
+  public @NotNull List<@NotNull FileDownloader> downloaders() {
+    return this.downloaders;
+  }
+
+  /**
+   * Downloads every file of the batch, respecting the global and per-host
+   * concurrency limits.
+   *
+   * @return The {@link CompletableFuture} that is completed once every file
+   * download has finished, with the result for every file.
+   * @since 0.0.2
+   */
+  public @NotNull CompletableFuture<@NotNull DownloadBatchResult> downloadAll() {
+    final var futures = new ArrayList<CompletableFuture<DownloadBatchResult.Entry>>(this.downloaders.size());
+    for (final var downloader : this.downloaders) {
+      futures.add(CompletableFuture.supplyAsync(() -> this.download(downloader), this.executor)
+          // A download that throws an exception is reported as a failed download, so a single
+          // file doesn't fail the whole batch.
+          .exceptionally(throwable -> new DownloadBatchResult.Entry(downloader,
+              DownloadResult.failed(downloader.provider(), downloader.fileName(), throwable))));
+    }
+    return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+        .thenApply(unused -> new DownloadBatchResult(futures.stream().map(CompletableFuture::join).toList()));
+  }
+
+  /**
+   * Downloads the file, every attempt is performed once there's a permit available
+   * for the host of their url, and a global permit.
+   *
+   * @param downloader the file downloader.
+   * @return The result for this file.
+   */
+  private @NotNull DownloadBatchResult.Entry download(final @NotNull FileDownloader downloader) {
+    // The permits are acquired for every attempt instead of the whole download, of this way,
+    // the attempts since the mirrors are counted against their own host, and the delays
+    // between the retries don't keep any permit.
+    return new DownloadBatchResult.Entry(downloader, downloader.download(this::attempt));
+  }
+
+  /**
+   * Performs the given attempt once there's a permit available for the host of
+   * the url, and a global permit.
+   *
+   * @param url the url for the attempt.
+   * @param attempt the supplier that performs the attempt.
+   * @return The result for this attempt.
+   */
+  private @NotNull DownloadResult attempt(final @NotNull String url, final @NotNull Supplier<@NotNull DownloadResult> attempt) {
+    final var hostPermits = this.hostPermits.computeIfAbsent(hostOf(url),
+        host -> new Semaphore(this.maxConcurrencyPerHost));
+    // The host permit is acquired first, of this way, an attempt that is waiting for their
+    // host doesn't keep a global permit that another host could use.
+    hostPermits.acquireUninterruptibly();
+    try {
+      this.globalPermits.acquireUninterruptibly();
+      try {
+        return attempt.get();
+      } finally {
+        this.globalPermits.release();
+      }
+    } finally {
+      hostPermits.release();
+    }
+  }
+
+  /**
+   * Returns the host of the given url.
+   *
+   * @param url the url.
+   * @return The host, or an empty string if it could not be obtained.
+   */
+  private static @NotNull String hostOf(final @NotNull String url) {
+    try {
+      final var host = URI.create(url).getHost();
+      return (host == null) ? "" : host;
+    } catch (final IllegalArgumentException exception) {
+      return "";
+    }
+  }
+
+  /**
+   * This class is used to build instances of the download batch.
+   *
+   * @since 0.0.2
+   */
+  public static class Builder {
+    private final List<FileDownloader> downloaders = new ArrayList<>();
+    private Executor executor = IOUtils.VIRTUAL_THREAD_EXECUTOR;
+    private int maxConcurrency = 64;
+    private int maxConcurrencyPerHost = 8;
+
+    /**
+     * Adds the given file downloader to the batch.
+     *
+     * @param downloader the file downloader.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder add(final @NotNull FileDownloader downloader) {
+      this.downloaders.add(downloader);
+      return this;
+    }
+
+    /**
+     * Adds the given file downloaders to the batch.
+     *
+     * @param downloaders the file downloaders.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder addAll(final @NotNull Collection<@NotNull FileDownloader> downloaders) {
+      this.downloaders.addAll(downloaders);
+      return this;
+    }
+
+    /**
+     * Defines the executor used to perform the downloads, by default every
+     * download runs on their own virtual thread.
+     *
+     * @param executor the executor for the downloads.
+     * @return The current builder instance.
+     * @see IOUtils#VIRTUAL_THREAD_EXECUTOR
+     * @since 0.0.2
+     */
+    public @NotNull Builder executor(final @NotNull Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Defines the maximum amount of downloads performed at the same time.
+     *
+     * @param maxConcurrency the global concurrency limit.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder maxConcurrency(final int maxConcurrency) {
+      this.maxConcurrency = maxConcurrency;
+      return this;
+    }
+
+    /**
+     * Defines the maximum amount of downloads performed at the same time
+     * against the same host.
+     *
+     * @param maxConcurrencyPerHost the per-host concurrency limit.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder maxConcurrencyPerHost(final int maxConcurrencyPerHost) {
+      this.maxConcurrencyPerHost = maxConcurrencyPerHost;
+      return this;
+    }
+
+    /**
+     * Creates a new download batch object using the information given to
+     * the builder.
+     *
+     * @return The built {@link DownloadBatch}.
+     * @since 0.0.2
+     */
+    public @NotNull DownloadBatch build() {
+      if (this.maxConcurrency < 1 || this.maxConcurrencyPerHost < 1) {
+        throw new IllegalStateException("The concurrency limits must be at least one on DownloadBatch.Builder.");
+      }
+      return new DownloadBatch(List.copyOf(this.downloaders), this.executor, this.maxConcurrency, this.maxConcurrencyPerHost);
+    }
+  }
+}
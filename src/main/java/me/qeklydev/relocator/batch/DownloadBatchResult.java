@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.batch;
+
+import java.util.List;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.io.DownloadResult;
+import me.qeklydev.relocator.io.DownloadStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This record represents the result of a batch download, with the
+ * download status for every file of the batch.
+ *
+ * @param entries the result for every file, in the same order that these
+ *                were added to the batch.
+ * @since 0.0.2
+ */
+public record DownloadBatchResult(@NotNull List<@NotNull Entry> entries) {
+  /**
+   * Returns the amount of files that were downloaded correctly.
+   *
+   * @return The amount of downloaded files.
+   * @since 0.0.2
+   */
+  public long downloadedCount() {
+    return this.entries.stream().filter(Entry::downloaded).count();
+  }
+
+  /**
+   * Returns the entries for the files that could not be downloaded, the skipped
+   * files are not included since their destination already exists.
+   *
+   * @return The failed entries.
+   * @since 0.0.2
+   */
+  public @NotNull List<@NotNull Entry> failed() {
+    return this.entries.stream().filter(Entry::failed).toList();
+  }
+
+  /**
+   * Checks if every file of the batch was downloaded, placed since the cache, or
+   * skipped because their destination already exists.
+   *
+   * @return {@code true} if no file has failed. Otherwise {@code false}.
+   * @since 0.0.2
+   */
+  public boolean successful() {
+    return this.entries.stream().noneMatch(Entry::failed);
+  }
+
+  /**
+   * This record represents the download status for a file of the batch.
+   *
+   * @param downloader the file downloader.
+   * @param result the download result, with the time spent on every phase.
+   * @since 0.0.2
+   */
+  public record Entry(@NotNull FileDownloader downloader, @NotNull DownloadResult result) {
+    /**
+     * Checks if the file was downloaded, or placed since the cache, correctly.
+     *
+     * @return {@code true} if the file was downloaded. Otherwise {@code false}.
+     * @since 0.0.2
+     */
+    public boolean downloaded() {
+      return this.result.successful();
+    }
+
+    /**
+     * Returns the final status for the download of the file.
+     *
+     * @return The {@link DownloadStatus}.
+     * @since 0.0.2
+     */
+    public @NotNull DownloadStatus status() {
+      return this.result.status();
+    }
+
+    /**
+     * Checks if the download of the file has failed, the skipped files are not
+     * failures since their destination already exists.
+     *
+     * @return {@code true} if the download has failed. Otherwise {@code false}.
+     * @see DownloadStatus#failed()
+     * @since 0.0.2
+     */
+    public boolean failed() {
+      return this.result.status().failed();
+    }
+  }
+}
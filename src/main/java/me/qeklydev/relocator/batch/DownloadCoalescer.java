@@ -0,0 +1,226 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.batch;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.io.Checksum;
+import me.qeklydev.relocator.io.DownloadResult;
+import me.qeklydev.relocator.io.DownloadStatus;
+import me.qeklydev.relocator.io.IOUtils;
+import me.qeklydev.relocator.relocation.FilesRelocationUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class collapses the concurrent downloads of the same url onto a single
+ * transfer, the first download is performed, and the downloads requested while it's
+ * in progress share their result.
+ * <p>
+ * Once the file has been downloaded, it's placed on the destination of every other
+ * download using a hard link if it's possible, or a copy otherwise, so the file is
+ * transferred and written once. The downloads with the same url and destination
+ * share the same file. If the shared download fails, every other download is
+ * performed on their own.
+ * <p>
+ * The hard links share their content, so a file that is modified in place after the
+ * download is modified on every destination, the coalescer can be created without
+ * hard links if the files are modified.
+ *
+ * @since 0.0.2
+ */
+public final class DownloadCoalescer {
+  private static final DownloadCoalescer SHARED = new DownloadCoalescer(true);
+  private final Map<Key, CompletableFuture<DownloadResult>> inFlightDownloads = new ConcurrentHashMap<>();
+  private final boolean hardLinks;
+
+  private DownloadCoalescer(final boolean hardLinks) {
+    this.hardLinks = hardLinks;
+  }
+
+  /**
+   * Returns the coalescer shared by every download, which uses hard links.
+   *
+   * @return The shared {@link DownloadCoalescer}.
+   * @since 0.0.2
+   */
+  public static @NotNull DownloadCoalescer shared() {
+    return SHARED;
+  }
+
+  /**
+   * Creates a new coalescer.
+   *
+   * @param hardLinks indicates if the shared file is placed using hard links, or copies.
+   * @return A new {@link DownloadCoalescer}.
+   * @since 0.0.2
+   */
+  public static @NotNull DownloadCoalescer create(final boolean hardLinks) {
+    return new DownloadCoalescer(hardLinks);
+  }
+
+  /**
+   * Returns the amount of transfers in progress.
+   *
+   * @return The amount of transfers in progress.
+   * @since 0.0.2
+   */
+  public int inFlight() {
+    return this.inFlightDownloads.size();
+  }
+
+  /**
+   * Downloads the file of the given file downloader, or shares the transfer in
+   * progress for the same url, mirrors and checksum.
+   * <p>
+   * The archive extractions are not coalesced, because their destination is a directory.
+   *
+   * @param downloader the file downloader.
+   * @param executor the executor used to perform the download.
+   * @return The {@link CompletableFuture} with the {@link DownloadResult} for the
+   * destination of the given file downloader.
+   * @since 0.0.2
+   */
+  public @NotNull CompletableFuture<@NotNull DownloadResult> download(final @NotNull FileDownloader downloader,
+                                                                      final @NotNull Executor executor) {
+    if (downloader.extraction() != null) {
+      return CompletableFuture.supplyAsync(downloader::download, executor);
+    }
+    final var key = new Key(downloader.provider(), downloader.mirrors(), downloader.checksum());
+    final var transfer = new CompletableFuture<DownloadResult>();
+    final var inFlightTransfer = this.inFlightDownloads.putIfAbsent(key, transfer);
+    if (inFlightTransfer != null) {
+      // The file is being downloaded, so we wait for it, and place it on our destination.
+      return inFlightTransfer.handleAsync((result, throwable) ->
+          (result == null) ? downloader.download() : this.share(result, downloader), executor);
+    }
+    CompletableFuture.supplyAsync(downloader::download, executor).whenComplete((result, throwable) -> {
+      // The transfer is removed before it's completed, of this way, the downloads requested
+      // after it has finished perform a new transfer, instead of sharing a file that could
+      // have been modified since then.
+      this.inFlightDownloads.remove(key, transfer);
+      if (throwable != null) {
+        transfer.completeExceptionally(throwable);
+      } else {
+        transfer.complete(result);
+      }
+    });
+    return transfer;
+  }
+
+  /**
+   * Places the file of the shared download on the destination of the given file downloader.
+   *
+   * @param sharedResult the result of the shared download.
+   * @param downloader the file downloader.
+   * @return The {@link DownloadResult} for the destination of the file downloader.
+   */
+  private @NotNull DownloadResult share(final @NotNull DownloadResult sharedResult, final @NotNull FileDownloader downloader) {
+    // If the shared download has not placed their file, we don't have a file to share.
+    if (!sharedResult.successful()) {
+      return downloader.download();
+    }
+    final var sharedFile = Paths.get(sharedResult.fileName()).toAbsolutePath().normalize();
+    final var destination = Paths.get(downloader.fileName()).toAbsolutePath().normalize();
+    if (sharedFile.equals(destination)) {
+      return sharedResult;
+    }
+    final DownloadResult result;
+    if (!downloader.mustBeReplaced() && Files.exists(destination)) {
+      result = new DownloadResult(downloader.provider(), downloader.fileName(), DownloadStatus.SKIPPED, IOUtils.SINGLE_RETURN_VALUE,
+          DownloadResult.NO_STATUS_CODE, null, sharedResult.timings());
+    } else {
+      result = this.place(sharedFile, destination, sharedResult, downloader);
+    }
+    IOUtils.notify(downloader.listener(), result);
+    return result;
+  }
+
+  /**
+   * Places the shared file on the given destination, using a hard link if it's possible,
+   * or a copy otherwise.
+   *
+   * @param sharedFile the file of the shared download.
+   * @param destination the destination for the file.
+   * @param sharedResult the result of the shared download.
+   * @param downloader the file downloader.
+   * @return The {@link DownloadResult} for the destination.
+   */
+  private @NotNull DownloadResult place(final @NotNull Path sharedFile, final @NotNull Path destination,
+                                        final @NotNull DownloadResult sharedResult, final @NotNull FileDownloader downloader) {
+    // The file is placed on a temporary path on the destination directory, and then moved
+    // atomically to the destination, so the readers never see a partial copy.
+    final var temporaryFile = destination.resolveSibling(destination.getFileName() + "." + UUID.randomUUID() + ".tmp");
+    try {
+      var linked = false;
+      if (this.hardLinks) {
+        try {
+          Files.createLink(temporaryFile, sharedFile);
+          linked = true;
+        } catch (final IOException | UnsupportedOperationException exception) {
+          // The destination is on another file system, or the file system doesn't support
+          // hard links, so we copy the file instead.
+        }
+      }
+      if (!linked) {
+        Files.copy(sharedFile, temporaryFile, StandardCopyOption.REPLACE_EXISTING);
+        // The copy is flushed before being published, as the other written files.
+        downloader.writeStrategy().sync(temporaryFile);
+      }
+      if (!FilesRelocationUtils.relocateTo(temporaryFile, destination, downloader.mustBeReplaced(), false, true)) {
+        throw new IOException("The shared file could not be placed on " + destination);
+      }
+      return new DownloadResult(downloader.provider(), downloader.fileName(), sharedResult.status(), sharedResult.bytes(),
+          sharedResult.statusCode(), null, sharedResult.timings());
+    } catch (final IOException exception) {
+      return new DownloadResult(downloader.provider(), downloader.fileName(), DownloadStatus.FAILED, IOUtils.SINGLE_RETURN_VALUE,
+          sharedResult.statusCode(), exception, sharedResult.timings());
+    } finally {
+      try {
+        Files.deleteIfExists(temporaryFile);
+      } catch (final IOException exception) {
+        // The temporary file could not be deleted, there's nothing more to do.
+      }
+    }
+  }
+
+  /**
+   * This record identifies the transfers that can be shared.
+   *
+   * @param url the url for the download.
+   * @param mirrors the mirrors for the download.
+   * @param checksum the expected checksum for the file, or {@code null}.
+   */
+  private record Key(@NotNull String url, @NotNull List<String> mirrors, @Nullable Checksum checksum) {
+  }
+}
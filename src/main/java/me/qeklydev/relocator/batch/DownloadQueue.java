@@ -0,0 +1,273 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.batch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.io.DownloadListener;
+import me.qeklydev.relocator.io.DownloadResult;
+import me.qeklydev.relocator.io.DownloadStatus;
+import me.qeklydev.relocator.io.IOUtils;
+import me.qeklydev.relocator.journal.DownloadJob;
+import me.qeklydev.relocator.journal.DownloadJournal;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class is a download queue that persists their jobs on a journal, the jobs
+ * are recorded before they are downloaded, the result of every attempt is recorded
+ * as a checkpoint, and the jobs are completed once their file is on the destination.
+ * <p>
+ * If the JVM is stopped during the downloads, the queue created with the same journal
+ * recovers the unfinished jobs, which can be resumed without downloading again the
+ * completed files. The resumable jobs continue since their partial files.
+ *
+ * @since 0.0.2
+ */
+public final class DownloadQueue implements AutoCloseable {
+  private final DownloadJournal journal;
+  private final Executor executor;
+  private final Semaphore permits;
+  private final Function<DownloadJob, FileDownloader> downloaderFactory;
+  private final List<DownloadJob> recoveredJobs;
+
+  private DownloadQueue(final @NotNull DownloadJournal journal, final @NotNull Executor executor, final int maxConcurrency,
+                        final @NotNull Function<DownloadJob, FileDownloader> downloaderFactory) {
+    this.journal = journal;
+    this.executor = executor;
+    this.permits = new Semaphore(maxConcurrency);
+    this.downloaderFactory = downloaderFactory;
+    this.recoveredJobs = journal.unfinished();
+  }
+
+  /**
+   * Creates a new builder for the download queue.
+   *
+   * @return A new {@link Builder}.
+   * @since 0.0.2
+   */
+  public static @NotNull Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the jobs that were unfinished on the journal when this queue was created.
+   *
+   * @return The recovered jobs, in submission order.
+   * @since 0.0.2
+   */
+  public @NotNull List<@NotNull DownloadJob> recovered() {
+    return this.recoveredJobs;
+  }
+
+  /**
+   * Downloads the recovered jobs, the file downloaders are created by the downloader
+   * factory of this queue.
+   *
+   * @return The {@link CompletableFuture} that is completed once every recovered job
+   * has finished, with the result for every job.
+   * @since 0.0.2
+   */
+  public @NotNull CompletableFuture<@NotNull DownloadBatchResult> resume() {
+    final var futures = new ArrayList<CompletableFuture<DownloadBatchResult.Entry>>(this.recoveredJobs.size());
+    for (final var job : this.recoveredJobs) {
+      final var downloader = this.downloaderFactory.apply(job);
+      futures.add(this.run(job, downloader).thenApply(result -> new DownloadBatchResult.Entry(downloader, result)));
+    }
+    return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+        .thenApply(unused -> new DownloadBatchResult(futures.stream().map(CompletableFuture::join).toList()));
+  }
+
+  /**
+   * Records the given file downloader on the journal, and downloads it once there's
+   * a permit available.
+   *
+   * @param downloader the file downloader.
+   * @return The {@link CompletableFuture} with the {@link DownloadResult}, the future
+   * is completed exceptionally if the job could not be recorded.
+   * @since 0.0.2
+   */
+  public @NotNull CompletableFuture<@NotNull DownloadResult> submit(final @NotNull FileDownloader downloader) {
+    final DownloadJob job;
+    try {
+      job = this.journal.submit(downloader);
+    } catch (final IOException exception) {
+      return CompletableFuture.failedFuture(exception);
+    }
+    return this.run(job, downloader);
+  }
+
+  /**
+   * Returns the journal used by this queue.
+   *
+   * @return The {@link DownloadJournal}.
+   * @since 0.0.2
+   */
+  public @NotNull DownloadJournal journal() {
+    return this.journal;
+  }
+
+  /**
+   * Compacts and closes the journal of this queue, the downloads in progress are
+   * not recorded once the journal has been closed.
+   *
+   * @throws IOException if the journal could not be closed.
+   * @since 0.0.2
+   */
+  @Override
+  public void close() throws IOException {
+    this.journal.compact();
+    this.journal.close();
+  }
+
+  /**
+   * Downloads the given job, recording every attempt as a checkpoint, and the job as
+   * completed once the file is on the destination.
+   *
+   * @param job the download job.
+   * @param downloader the file downloader for the job.
+   * @return The {@link CompletableFuture} with the {@link DownloadResult}.
+   */
+  private @NotNull CompletableFuture<@NotNull DownloadResult> run(final @NotNull DownloadJob job, final @NotNull FileDownloader downloader) {
+    final var journaledDownloader = downloader.withListener(DownloadListener.composite(downloader.listener(),
+        result -> this.record(job, result, false)));
+    return CompletableFuture.supplyAsync(() -> {
+      this.permits.acquireUninterruptibly();
+      try {
+        final var result = journaledDownloader.download();
+        this.record(job, result, true);
+        return result;
+      } finally {
+        this.permits.release();
+      }
+    }, this.executor).exceptionally(throwable -> DownloadResult.failed(downloader.provider(), downloader.fileName(), throwable));
+  }
+
+  /**
+   * Records the given result of the job on the journal.
+   *
+   * @param job the download job.
+   * @param result the download result.
+   * @param last indicates if the result is the final result of the job.
+   */
+  private void record(final @NotNull DownloadJob job, final @NotNull DownloadResult result, final boolean last) {
+    try {
+      // A file that must not be replaced is already on the destination, so the job is completed.
+      if (last && (result.successful() || result.status() == DownloadStatus.SKIPPED)) {
+        this.journal.complete(job.id(), result.status(), result.bytes());
+      } else if (!last) {
+        this.journal.checkpoint(job.id(), result.status(), result.bytes());
+      }
+    } catch (final IOException exception) {
+      // The journal has been closed or could not be written, so the job is downloaded again
+      // on the next recovery, which doesn't change this result.
+    }
+  }
+
+  /**
+   * This class is used to build instances of the download queue.
+   *
+   * @since 0.0.2
+   */
+  public static class Builder {
+    private DownloadJournal journal;
+    private Executor executor = IOUtils.VIRTUAL_THREAD_EXECUTOR;
+    private int maxConcurrency = 64;
+    private Function<DownloadJob, FileDownloader> downloaderFactory = job -> job.downloader().build();
+
+    /**
+     * Defines the journal used to persist the jobs, the unfinished jobs of the journal
+     * are recovered by the queue.
+     *
+     * @param journal the opened journal.
+     * @return The current builder instance.
+     * @see DownloadJournal#open(java.nio.file.Path)
+     * @since 0.0.2
+     */
+    public @NotNull Builder journal(final @NotNull DownloadJournal journal) {
+      this.journal = journal;
+      return this;
+    }
+
+    /**
+     * Defines the executor used to perform the downloads, by default every
+     * download runs on their own virtual thread.
+     *
+     * @param executor the executor for the downloads.
+     * @return The current builder instance.
+     * @see IOUtils#VIRTUAL_THREAD_EXECUTOR
+     * @since 0.0.2
+     */
+    public @NotNull Builder executor(final @NotNull Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Defines the maximum amount of downloads performed at the same time.
+     *
+     * @param maxConcurrency the concurrency limit.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder maxConcurrency(final int maxConcurrency) {
+      this.maxConcurrency = maxConcurrency;
+      return this;
+    }
+
+    /**
+     * Defines the factory that creates the file downloaders for the recovered jobs, e.g.
+     * to define the transport or the cache, which are not persisted on the journal.
+     *
+     * @param downloaderFactory the factory for the recovered jobs.
+     * @return The current builder instance.
+     * @see DownloadJob#downloader()
+     * @since 0.0.2
+     */
+    public @NotNull Builder downloaderFactory(final @NotNull Function<@NotNull DownloadJob, @NotNull FileDownloader> downloaderFactory) {
+      this.downloaderFactory = downloaderFactory;
+      return this;
+    }
+
+    /**
+     * Creates a new download queue using the information given to the builder.
+     *
+     * @return The built {@link DownloadQueue}.
+     * @since 0.0.2
+     */
+    public @NotNull DownloadQueue build() {
+      if (this.journal == null) {
+        throw new IllegalStateException("The journal has not been defined on DownloadQueue.Builder.");
+      }
+      if (this.maxConcurrency < 1) {
+        throw new IllegalStateException("The concurrency limit must be at least one on DownloadQueue.Builder.");
+      }
+      return new DownloadQueue(this.journal, this.executor, this.maxConcurrency, this.downloaderFactory);
+    }
+  }
+}
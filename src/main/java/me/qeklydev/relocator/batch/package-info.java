@@ -0,0 +1,6 @@
+/**
+ * Provides the batch download engine.
+ *
+ * @since 0.0.2
+ */
+package me.qeklydev.relocator.batch;
\ No newline at end of file
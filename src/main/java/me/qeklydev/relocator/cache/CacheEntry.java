@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This record represents a file stored on the download cache, the entries are
+ * identified by the file url, and their content is stored by the SHA-256 hash.
+ *
+ * @param url the url for the cached file.
+ * @param sha256 the SHA-256 hash for the file content, as hexadecimal.
+ * @param entityTag the ETag given by the server for the file, or {@code null}.
+ * @param lastModified the Last-Modified date given by the server, or {@code null}.
+ * @param size the file size.
+ * @param lastAccess the last time (epoch millis) that the entry was used.
+ * @param validatedAt the last time (epoch millis) that the server confirmed the entry.
+ * @since 0.0.2
+ */
+public record CacheEntry(@NotNull String url, @NotNull String sha256, @Nullable String entityTag, @Nullable String lastModified,
+                         long size, long lastAccess, long validatedAt) {
+  /**
+   * Reads the entry stored on the given file.
+   *
+   * @param file the entry file.
+   * @return The {@link CacheEntry}, or {@code null} if the file could not be read.
+   * @since 0.0.2
+   */
+  public static @Nullable CacheEntry load(final @NotNull Path file) {
+    final var properties = new Properties();
+    try (final var reader = Files.newBufferedReader(file)) {
+      properties.load(reader);
+      final var url = properties.getProperty("url");
+      final var sha256 = properties.getProperty("sha256");
+      if (url == null || sha256 == null) {
+        return null;
+      }
+      return new CacheEntry(url, sha256, properties.getProperty("etag"), properties.getProperty("last-modified"),
+          Long.parseLong(properties.getProperty("size", "0")),
+          Long.parseLong(properties.getProperty("last-access", "0")),
+          Long.parseLong(properties.getProperty("validated-at", "0")));
+    } catch (final IOException | NumberFormatException exception) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns a copy of this entry with the given last access time.
+   *
+   * @param lastAccess the new last access time.
+   * @return A new {@link CacheEntry}.
+   * @since 0.0.2
+   */
+  public @NotNull CacheEntry withLastAccess(final long lastAccess) {
+    return new CacheEntry(this.url, this.sha256, this.entityTag, this.lastModified, this.size, lastAccess, this.validatedAt);
+  }
+
+  /**
+   * Returns a copy of this entry validated by the server at the given time.
+   *
+   * @param validatedAt the validation time.
+   * @return A new {@link CacheEntry}.
+   * @since 0.0.2
+   */
+  public @NotNull CacheEntry withValidatedAt(final long validatedAt) {
+    return new CacheEntry(this.url, this.sha256, this.entityTag, this.lastModified, this.size, validatedAt, validatedAt);
+  }
+
+  /**
+   * Stores this entry on the given file.
+   *
+   * @param file the entry file.
+   * @throws IOException if the file could not be written.
+   * @since 0.0.2
+   */
+  public void store(final @NotNull Path file) throws IOException {
+    final var properties = new Properties();
+    properties.setProperty("url", this.url);
+    properties.setProperty("sha256", this.sha256);
+    if (this.entityTag != null) {
+      properties.setProperty("etag", this.entityTag);
+    }
+    if (this.lastModified != null) {
+      properties.setProperty("last-modified", this.lastModified);
+    }
+    properties.setProperty("size", String.valueOf(this.size));
+    properties.setProperty("last-access", String.valueOf(this.lastAccess));
+    properties.setProperty("validated-at", String.valueOf(this.validatedAt));
+    try (final var writer = Files.newBufferedWriter(file)) {
+      properties.store(writer, null);
+    }
+  }
+}
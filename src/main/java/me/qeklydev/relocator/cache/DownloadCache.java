@@ -0,0 +1,573 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.cache;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import me.qeklydev.relocator.io.Checksum;
+import me.qeklydev.relocator.io.ChecksumAlgorithm;
+import me.qeklydev.relocator.io.DownloadResult;
+import me.qeklydev.relocator.io.DownloadStatus;
+import me.qeklydev.relocator.io.DownloadTimer;
+import me.qeklydev.relocator.io.IOUtils;
+import me.qeklydev.relocator.io.TransferOptions;
+import me.qeklydev.relocator.relocation.FilesRelocationUtils;
+import me.qeklydev.relocator.transport.TransportRequest;
+import me.qeklydev.relocator.transport.TransportResponse;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class is a local cache for the downloaded files, the files are stored by their
+ * SHA-256 hash, and the entries are revalidated with the server using conditional
+ * requests (If-None-Match/If-Modified-Since), if the server confirms that the file
+ * has not been modified, the cached file is placed on the destination without
+ * downloading it again.
+ * <p>
+ * The cached files are placed using hard links when the file system supports it, so
+ * the placed files must not be modified in-place.
+ * <p>
+ * If the transfer options have an expected checksum, the cached file is verified before
+ * placing it, the SHA-256 checksums are compared with the hash computed when the file was
+ * stored, so these don't require to read the file again.
+ *
+ * @since 0.0.2
+ */
+public final class DownloadCache {
+  private static final String OBJECTS_DIRECTORY = "objects";
+  private static final String ENTRIES_DIRECTORY = "entries";
+  private static final String ENTRY_FILE_EXTENSION = ".properties";
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private final Path directory;
+  private final long maximumSize;
+  private final Duration freshness;
+  private final boolean hardLinks;
+  private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+
+  private DownloadCache(final @NotNull Path directory, final long maximumSize, final @NotNull Duration freshness,
+                        final boolean hardLinks) throws IOException {
+    this.directory = directory;
+    this.maximumSize = maximumSize;
+    this.freshness = freshness;
+    this.hardLinks = hardLinks;
+    Files.createDirectories(directory.resolve(OBJECTS_DIRECTORY));
+    Files.createDirectories(directory.resolve(ENTRIES_DIRECTORY));
+    // We load the entries stored by previous executions, the entries whose file has been
+    // deleted are discarded.
+    try (final var entryFiles = Files.list(directory.resolve(ENTRIES_DIRECTORY))) {
+      entryFiles.forEach(entryFile -> {
+        final var entry = CacheEntry.load(entryFile);
+        if (entry != null && Files.isRegularFile(this.objectFile(entry.sha256()))) {
+          this.entries.put(entry.url(), entry);
+        }
+      });
+    }
+  }
+
+  /**
+   * Creates a new builder for the download cache object.
+   *
+   * @return A new {@link Builder}.
+   * @since 0.0.2
+   */
+  public static @NotNull Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the directory where the cache stores their files.
+   *
+   * @return The cache directory.
+   * @since 0.0.2
+   */
+  public @NotNull Path directory() {
+    return this.directory;
+  }
+
+  /**
+   * Returns the entry stored for the given url.
+   *
+   * @param provider the file url.
+   * @return The {@link CacheEntry}, or {@code null} if the file is not cached.
+   * @since 0.0.2
+   */
+  public @Nullable CacheEntry entry(final @NotNull String provider) {
+    return this.entries.get(provider);
+  }
+
+  /**
+   * Returns the total size of the cached files.
+   *
+   * @return The cache size.
+   * @since 0.0.2
+   */
+  public long size() {
+    return this.entries.values().stream()
+        .map(CacheEntry::sha256)
+        .distinct()
+        .mapToLong(sha256 -> this.objectFile(sha256).toFile().length())
+        .sum();
+  }
+
+  /**
+   * Places the file for the given url on the destination, if the file is cached and
+   * still fresh, it's placed without any request, otherwise, the cached file is revalidated
+   * with the server, and the file is downloaded only if it has been modified.
+   *
+   * @param fileNameWithExtension the name that will receive the file.
+   * @param provider the provider (URL) used to read the file information.
+   * @param options the options for the file transfer.
+   * @return The amount of bytes of the placed file, will return {@code 0} if the file
+   * could not be placed, the file doesn't match the expected checksum, or an exception
+   * was triggered.
+   * @see IOUtils#SINGLE_RETURN_VALUE
+   * @see DownloadCache#transfer(String, String, TransferOptions)
+   * @since 0.0.2
+   */
+  public long write(final @NotNull String fileNameWithExtension, final @NotNull String provider, final @NotNull TransferOptions options) {
+    return this.transfer(fileNameWithExtension, provider, options).writtenBytes();
+  }
+
+  /**
+   * Places the file for the given url on the destination, and returns the result with
+   * the time spent on every phase. The files placed since the cache (without request, or
+   * confirmed by the server) have the {@link DownloadStatus#CACHED} status.
+   *
+   * @param fileNameWithExtension the name that will receive the file.
+   * @param provider the provider (URL) used to read the file information.
+   * @param options the options for the file transfer.
+   * @return The {@link DownloadResult} for this download.
+   * @see DownloadCache#write(String, String, TransferOptions)
+   * @since 0.0.2
+   */
+  public @NotNull DownloadResult transfer(final @NotNull String fileNameWithExtension, final @NotNull String provider,
+                                          final @NotNull TransferOptions options) {
+    final var timer = new DownloadTimer();
+    final var destination = Paths.get(fileNameWithExtension);
+    final var checksum = options.checksum();
+    if (!options.replaceExisting() && Files.exists(destination)) {
+      return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.SKIPPED, IOUtils.SINGLE_RETURN_VALUE,
+          DownloadResult.NO_STATUS_CODE, null);
+    }
+    var statusCode = DownloadResult.NO_STATUS_CODE;
+    try {
+      final var now = System.currentTimeMillis();
+      var entry = this.entries.get(provider);
+      // The entries that were validated recently are placed without any request.
+      if (entry != null && now - entry.validatedAt() < this.freshness.toMillis()
+          && this.matches(entry, checksum) && this.place(entry, destination, options.replaceExisting(), now)) {
+        timer.markFlushed();
+        return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.CACHED, entry.size(), statusCode, null);
+      }
+      final var uri = URI.create(provider);
+      if (options.preResolve()) {
+        timer.resolve(uri);
+      }
+      CacheEntry storedEntry = null;
+      while (storedEntry == null) {
+        var request = TransportRequest.get(uri);
+        if (entry != null) {
+          if (entry.entityTag() != null) {
+            request = request.withHeader("If-None-Match", entry.entityTag());
+          }
+          if (entry.lastModified() != null) {
+            request = request.withHeader("If-Modified-Since", entry.lastModified());
+          }
+        }
+        try (final var response = options.transport().open(request)) {
+          timer.markConnected();
+          statusCode = response.statusCode();
+          if (entry != null && statusCode == TransportResponse.NOT_MODIFIED) {
+            entry = entry.withValidatedAt(now);
+            if (this.matches(entry, checksum) && this.place(entry, destination, options.replaceExisting(), now)) {
+              timer.markFlushed();
+              return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.CACHED, entry.size(), statusCode, null);
+            }
+            // The cached file has been lost or modified, we need to request the file
+            // again without the validators once this response is closed.
+            this.remove(entry);
+            entry = null;
+            continue;
+          }
+          if (statusCode != TransportResponse.OK) {
+            return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.HTTP_ERROR, IOUtils.SINGLE_RETURN_VALUE, statusCode, null);
+          }
+          final var digest = (checksum == null || checksum.algorithm() == ChecksumAlgorithm.SHA_256)
+              ? null : checksum.algorithm().newDigest();
+          storedEntry = this.store(provider, options.throttle(response.body(), uri), response, timer, now, digest);
+          timer.markTransferred();
+          // A file that doesn't match the expected checksum is not kept on the cache, and the
+          // previous entry for the url is still used.
+          if (checksum != null && !((digest == null) ? checksum.matches(storedEntry.sha256()) : checksum.matches(digest))) {
+            this.removeObject(storedEntry.sha256());
+            return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.CHECKSUM_MISMATCH, storedEntry.size(), statusCode, null);
+          }
+        }
+      }
+      this.commit(storedEntry);
+      this.evict(storedEntry);
+      if (!this.place(storedEntry, destination, options.replaceExisting(), now)) {
+        throw new IOException("The cached file for " + provider + " has been lost.");
+      }
+      timer.markFlushed();
+      return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.SUCCESSFUL, storedEntry.size(), statusCode, null);
+    } catch (final Exception exception) {
+      return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.FAILED, IOUtils.SINGLE_RETURN_VALUE, statusCode, exception);
+    }
+  }
+
+  /**
+   * Creates the result for a download, and notifies it to the listener of the
+   * transfer options.
+   *
+   * @param options the options for the file transfer.
+   * @param timer the timer for the download.
+   * @param provider the provider (URL) used to read the file information.
+   * @param fileNameWithExtension the name that will receive the file.
+   * @param status the final status for the download.
+   * @param bytes the amount of bytes for the file.
+   * @param statusCode the status code given by the server.
+   * @param cause the exception that has failed the download, or {@code null}.
+   * @return The {@link DownloadResult}.
+   */
+  private static @NotNull DownloadResult finish(final @NotNull TransferOptions options, final @NotNull DownloadTimer timer,
+                                                final @NotNull String provider, final @NotNull String fileNameWithExtension,
+                                                final @NotNull DownloadStatus status, final long bytes, final int statusCode,
+                                                final @Nullable Throwable cause) {
+    final var result = new DownloadResult(provider, fileNameWithExtension, status, bytes, statusCode, cause, timer.timings());
+    IOUtils.notify(options.listener(), result);
+    return result;
+  }
+
+  /**
+   * Stores the response body on the cache, the SHA-256 hash is computed while
+   * the body is written, so the file doesn't need to be read again. The returned
+   * entry is not recorded until it's committed, so the previous entry for the url
+   * is kept if the stored file is discarded.
+   *
+   * @param provider the file url.
+   * @param body the channel for the response body.
+   * @param response the response with the file headers.
+   * @param timer the timer for the download.
+   * @param now the current time.
+   * @param extraDigest another digest updated with the file content, or {@code null}.
+   * @return The {@link CacheEntry} for the stored file.
+   * @throws IOException if the file could not be stored.
+   * @throws NoSuchAlgorithmException if the SHA-256 algorithm is not available.
+   */
+  private @NotNull CacheEntry store(final @NotNull String provider, final @NotNull ReadableByteChannel body,
+                                    final @NotNull TransportResponse response,
+                                    final @NotNull DownloadTimer timer, final long now, final @Nullable MessageDigest extraDigest) throws IOException, NoSuchAlgorithmException {
+    final var digest = MessageDigest.getInstance("SHA-256");
+    final var temporaryFile = Files.createTempFile(this.directory.resolve(OBJECTS_DIRECTORY), "download-", ".tmp");
+    try {
+      var size = IOUtils.SINGLE_RETURN_VALUE;
+      try (final var readableByteChannel = timer.firstByteChannel(body);
+           final var fileChannel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+        final var buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        while (readableByteChannel.read(buffer) != -1) {
+          buffer.flip();
+          // The digest consumes the buffer, so we reset their position before writing it.
+          digest.update(buffer.duplicate());
+          if (extraDigest != null) {
+            extraDigest.update(buffer.duplicate());
+          }
+          while (buffer.hasRemaining()) {
+            size += fileChannel.write(buffer);
+          }
+          buffer.clear();
+        }
+        // The file is flushed before being moved, so a crash never leaves a partial file
+        // stored with a valid hash.
+        fileChannel.force(true);
+      }
+      final var sha256 = HexFormat.of().formatHex(digest.digest());
+      final var objectFile = this.objectFile(sha256);
+      Files.createDirectories(objectFile.getParent());
+      // If the same content is already stored (e.g. the same file on another url), we keep
+      // the existing file.
+      if (Files.exists(objectFile)) {
+        Files.delete(temporaryFile);
+      } else {
+        Files.move(temporaryFile, objectFile, StandardCopyOption.ATOMIC_MOVE);
+      }
+      return new CacheEntry(provider, sha256, response.header("ETag"), response.header("Last-Modified"), size, now, now);
+    } finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+  }
+
+  /**
+   * Records the given entry, replacing the previous entry for their url. If the content
+   * of the url has changed, the previous file is deleted once no other entry uses it,
+   * otherwise it would never be counted or evicted.
+   *
+   * @param entry the entry to record.
+   * @throws IOException if the entry could not be recorded.
+   */
+  private void commit(final @NotNull CacheEntry entry) throws IOException {
+    entry.store(this.entryFile(entry.url()));
+    final var previousEntry = this.entries.put(entry.url(), entry);
+    if (previousEntry != null && !previousEntry.sha256().equals(entry.sha256())) {
+      this.removeObject(previousEntry.sha256());
+    }
+  }
+
+  /**
+   * Checks if the cached file matches the given checksum, the SHA-256 checksums
+   * are compared with the stored hash, the other algorithms require to read the
+   * cached file.
+   *
+   * @param entry the cache entry.
+   * @param checksum the expected checksum, or {@code null}.
+   * @return {@code true} if the file matches, or there's no checksum. Otherwise {@code false}.
+   * @throws IOException if the cached file could not be read.
+   */
+  private boolean matches(final @NotNull CacheEntry entry, final @Nullable Checksum checksum) throws IOException {
+    if (checksum == null) {
+      return true;
+    }
+    if (checksum.algorithm() == ChecksumAlgorithm.SHA_256) {
+      return checksum.matches(entry.sha256());
+    }
+    final var objectFile = this.objectFile(entry.sha256());
+    return Files.isRegularFile(objectFile) && checksum.matches(objectFile);
+  }
+
+  /**
+   * Places the cached file on the given destination, using a hard link if
+   * it's possible, or a copy otherwise.
+   *
+   * @param entry the cache entry.
+   * @param destination the destination for the file.
+   * @param replaceExisting indicates if an existing file must be replaced.
+   * @param now the current time.
+   * @return {@code true} if the file was placed, or {@code false} if the cached
+   * file has been lost.
+   * @throws IOException if the file could not be placed.
+   */
+  private boolean place(final @NotNull CacheEntry entry, final @NotNull Path destination, final boolean replaceExisting,
+                        final long now) throws IOException {
+    final var objectFile = this.objectFile(entry.sha256());
+    // A cached file with a different size has been modified or lost, so it cannot be used.
+    if (!Files.isRegularFile(objectFile) || Files.size(objectFile) != entry.size()) {
+      return false;
+    }
+    // The file is placed on a temporary path on the destination directory, and then moved
+    // atomically to the destination, so the readers never see a partial copy.
+    final var absoluteDestination = destination.toAbsolutePath();
+    final var temporaryFile = absoluteDestination.resolveSibling(absoluteDestination.getFileName() + "." + UUID.randomUUID() + ".tmp");
+    try {
+      var linked = false;
+      if (this.hardLinks) {
+        try {
+          Files.createLink(temporaryFile, objectFile);
+          linked = true;
+        } catch (final IOException | UnsupportedOperationException exception) {
+          // The destination is on another file system, or the file system doesn't support
+          // hard links, so we copy the file instead.
+        }
+      }
+      if (!linked) {
+        Files.copy(objectFile, temporaryFile, StandardCopyOption.REPLACE_EXISTING);
+        // The copy is flushed before being published, as the other written files.
+        try (final var fileChannel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+          fileChannel.force(true);
+        }
+      }
+      if (!FilesRelocationUtils.relocateTo(temporaryFile, destination, replaceExisting, false, true)) {
+        throw new IOException("The cached file could not be placed on " + destination);
+      }
+    } finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+    final var accessedEntry = entry.withLastAccess(now);
+    accessedEntry.store(this.entryFile(entry.url()));
+    this.entries.put(entry.url(), accessedEntry);
+    return true;
+  }
+
+  /**
+   * Removes the least recently used entries until the cache size is lower than
+   * the maximum size, the given entry is never removed.
+   *
+   * @param keep the entry that must be kept.
+   * @throws IOException if an entry could not be removed.
+   */
+  private synchronized void evict(final @NotNull CacheEntry keep) throws IOException {
+    var size = this.size();
+    if (size <= this.maximumSize) {
+      return;
+    }
+    final var candidates = new ArrayList<>(this.entries.values());
+    candidates.sort(Comparator.comparingLong(CacheEntry::lastAccess));
+    for (final var entry : candidates) {
+      if (size <= this.maximumSize) {
+        break;
+      }
+      if (entry.url().equals(keep.url())) {
+        continue;
+      }
+      final var objectFile = this.objectFile(entry.sha256());
+      final var objectSize = Files.exists(objectFile) ? Files.size(objectFile) : 0L;
+      if (this.remove(entry)) {
+        size -= objectSize;
+      }
+    }
+  }
+
+  /**
+   * Removes the given entry, and their file if any other entry uses it.
+   *
+   * @param entry the entry to remove.
+   * @return {@code true} if the entry file was deleted. Otherwise {@code false}.
+   * @throws IOException if the entry could not be removed.
+   */
+  private boolean remove(final @NotNull CacheEntry entry) throws IOException {
+    this.entries.remove(entry.url());
+    Files.deleteIfExists(this.entryFile(entry.url()));
+    return this.removeObject(entry.sha256());
+  }
+
+  /**
+   * Removes the file with the given hash if any entry uses it.
+   *
+   * @param sha256 the SHA-256 hash of the file.
+   * @return {@code true} if the file was deleted. Otherwise {@code false}.
+   * @throws IOException if the file could not be deleted.
+   */
+  private boolean removeObject(final @NotNull String sha256) throws IOException {
+    final var shared = this.entries.values().stream().anyMatch(other -> other.sha256().equals(sha256));
+    return !shared && Files.deleteIfExists(this.objectFile(sha256));
+  }
+
+  private @NotNull Path objectFile(final @NotNull String sha256) {
+    return this.directory.resolve(OBJECTS_DIRECTORY).resolve(sha256.substring(0, 2)).resolve(sha256);
+  }
+
+  private @NotNull Path entryFile(final @NotNull String provider) {
+    try {
+      final var digest = MessageDigest.getInstance("SHA-256").digest(provider.getBytes(StandardCharsets.UTF_8));
+      return this.directory.resolve(ENTRIES_DIRECTORY).resolve(HexFormat.of().formatHex(digest) + ENTRY_FILE_EXTENSION);
+    } catch (final NoSuchAlgorithmException exception) {
+      // Every Java platform must support SHA-256.
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  /**
+   * This class is used to build instances of the download cache.
+   *
+   * @since 0.0.2
+   */
+  public static class Builder {
+    private Path directory;
+    private long maximumSize = Long.MAX_VALUE;
+    private Duration freshness = Duration.ZERO;
+    private boolean hardLinks = true;
+
+    /**
+     * Defines the directory where the cache stores their files.
+     *
+     * @param directory the cache directory.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder directory(final @NotNull Path directory) {
+      this.directory = directory;
+      return this;
+    }
+
+    /**
+     * Defines the maximum size for the cached files, once the cache exceeds this
+     * size, the least recently used files are removed.
+     *
+     * @param maximumSize the maximum size in bytes.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder maximumSize(final long maximumSize) {
+      this.maximumSize = maximumSize;
+      return this;
+    }
+
+    /**
+     * Defines the time while a validated entry is placed without revalidating it
+     * with the server, by default, every entry is revalidated.
+     *
+     * @param freshness the time while the entries are fresh.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder freshFor(final @NotNull Duration freshness) {
+      this.freshness = freshness;
+      return this;
+    }
+
+    /**
+     * Defines if the cached files must be placed using hard links, if it's
+     * disabled, or the file system doesn't support them, the files are copied.
+     *
+     * @param hardLinks indicates if hard links must be used.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder hardLinks(final boolean hardLinks) {
+      this.hardLinks = hardLinks;
+      return this;
+    }
+
+    /**
+     * Creates a new download cache object using the information given to the
+     * builder, loading the entries stored on the directory.
+     *
+     * @return The built {@link DownloadCache}.
+     * @throws IOException if the cache directory could not be created or read.
+     * @since 0.0.2
+     */
+    public @NotNull DownloadCache build() throws IOException {
+      if (this.directory == null) {
+        throw new IllegalStateException("The cache directory has not been defined on DownloadCache.Builder.");
+      }
+      return new DownloadCache(this.directory, this.maximumSize, this.freshness, this.hardLinks);
+    }
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * Provides the local cache for the downloaded files.
+ *
+ * @since 0.0.2
+ */
+package me.qeklydev.relocator.cache;
\ No newline at end of file
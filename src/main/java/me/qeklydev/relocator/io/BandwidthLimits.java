@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.io;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class holds the rate limiters shared by every transfer, a global limiter
+ * that applies to all the transfers, and a limiter for every host.
+ * <p>
+ * Every limit is unlimited by default, and can be adjusted at runtime, e.g. to
+ * reduce the bandwidth used by the downloads during the peak hours.
+ *
+ * @since 0.0.2
+ */
+public final class BandwidthLimits {
+  private static final BandwidthLimits SHARED = new BandwidthLimits();
+  private final RateLimiter globalLimiter = RateLimiter.unlimited();
+  private final Map<String, RateLimiter> hostLimiters = new ConcurrentHashMap<>();
+  private volatile long defaultHostRate = RateLimiter.UNLIMITED;
+
+  /**
+   * Returns the limits shared by every transfer that doesn't define their own limits.
+   *
+   * @return The shared {@link BandwidthLimits}.
+   * @since 0.0.2
+   */
+  public static @NotNull BandwidthLimits shared() {
+    return SHARED;
+  }
+
+  /**
+   * Creates new limits, independent from the shared limits.
+   *
+   * @return A new {@link BandwidthLimits}.
+   * @since 0.0.2
+   */
+  public static @NotNull BandwidthLimits create() {
+    return new BandwidthLimits();
+  }
+
+  /**
+   * Returns the limiter for every transfer that uses these limits.
+   *
+   * @return The global {@link RateLimiter}.
+   * @since 0.0.2
+   */
+  public @NotNull RateLimiter global() {
+    return this.globalLimiter;
+  }
+
+  /**
+   * Returns the limiter for the given host, the limiter is created with the
+   * default host rate if the host has not a limiter yet.
+   *
+   * @param host the host.
+   * @return The {@link RateLimiter} for the host.
+   * @since 0.0.2
+   */
+  public @NotNull RateLimiter host(final @NotNull String host) {
+    return this.hostLimiters.computeIfAbsent(host.toLowerCase(Locale.ROOT), unused -> RateLimiter.of(this.defaultHostRate));
+  }
+
+  /**
+   * Defines the rate for the hosts that have not a limiter yet.
+   *
+   * @param bytesPerSecond the maximum amount of bytes per second, or {@link RateLimiter#UNLIMITED}.
+   * @since 0.0.2
+   */
+  public void defaultHostRate(final long bytesPerSecond) {
+    // The rate is validated before being used by a new limiter.
+    RateLimiter.of(bytesPerSecond);
+    this.defaultHostRate = bytesPerSecond;
+  }
+
+  /**
+   * Returns the limiters that apply to a transfer from the given uri, the
+   * download limiter is acquired first, then the host, and then the global.
+   *
+   * @param uri the provider uri.
+   * @param downloadLimiter the limiter for the download, or {@code null}.
+   * @return The {@link RateLimiter}s for the transfer.
+   * @since 0.0.2
+   */
+  public @NotNull List<@NotNull RateLimiter> limitersFor(final @NotNull URI uri, final @Nullable RateLimiter downloadLimiter) {
+    final var host = uri.getHost();
+    final var hostLimiter = (host == null) ? null : this.host(host);
+    if (downloadLimiter == null) {
+      return (hostLimiter == null) ? List.of(this.globalLimiter) : List.of(hostLimiter, this.globalLimiter);
+    }
+    return (hostLimiter == null) ? List.of(downloadLimiter, this.globalLimiter) : List.of(downloadLimiter, hostLimiter, this.globalLimiter);
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.io;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class is a pool of direct byte buffers, the direct buffers are expensive to
+ * allocate and are only released by the garbage collector, so the downloads reuse
+ * them instead of allocating a buffer for every file.
+ * <p>
+ * The buffers are aligned to {@link #ALIGNMENT} bytes, so they can be used for
+ * direct I/O, which requires the memory of the buffer to be aligned to the block
+ * size of the file system.
+ *
+ * @since 0.0.2
+ */
+public final class BufferPool {
+  /**
+   * The alignment of the pooled buffers, the usual block size of the file systems.
+   *
+   * @since 0.0.2
+   */
+  public static final int ALIGNMENT = 4096;
+  /**
+   * The default amount of buffers kept for every capacity.
+   */
+  private static final int DEFAULT_MAX_POOLED_BUFFERS = 64;
+  /**
+   * The pool shared by the downloads that don't define their own pool.
+   */
+  private static final BufferPool SHARED = new BufferPool(DEFAULT_MAX_POOLED_BUFFERS);
+
+  private final Map<Integer, Queue<ByteBuffer>> buffers = new ConcurrentHashMap<>();
+  private final int maxPooledBuffers;
+
+  private BufferPool(final int maxPooledBuffers) {
+    this.maxPooledBuffers = maxPooledBuffers;
+  }
+
+  /**
+   * Returns the pool shared by the downloads, which keeps up to 64 buffers for
+   * every capacity.
+   *
+   * @return The shared {@link BufferPool}.
+   * @since 0.0.2
+   */
+  public static @NotNull BufferPool shared() {
+    return SHARED;
+  }
+
+  /**
+   * Creates a new pool, which keeps up to the given amount of buffers for every
+   * capacity, the buffers released once the pool is full are left to the garbage
+   * collector.
+   *
+   * @param maxPooledBuffers the maximum amount of buffers kept for every capacity.
+   * @return A new {@link BufferPool}.
+   * @since 0.0.2
+   */
+  public static @NotNull BufferPool create(final int maxPooledBuffers) {
+    if (maxPooledBuffers < 1) {
+      throw new IllegalArgumentException("The pool must keep at least one buffer.");
+    }
+    return new BufferPool(maxPooledBuffers);
+  }
+
+  /**
+   * Takes a buffer with the given capacity from the pool, or allocates a new
+   * buffer if there's none available. The buffer must be released once it's
+   * not used anymore.
+   *
+   * @param capacity the capacity of the buffer.
+   * @return A cleared direct buffer, aligned to {@link #ALIGNMENT} bytes.
+   * @since 0.0.2
+   */
+  public @NotNull ByteBuffer acquire(final int capacity) {
+    final var pooledBuffers = this.buffers.get(capacity);
+    final var pooledBuffer = (pooledBuffers == null) ? null : pooledBuffers.poll();
+    if (pooledBuffer != null) {
+      return pooledBuffer;
+    }
+    // We allocate an extra alignment unit, of this way the aligned slice of the buffer
+    // has always the required capacity.
+    return ByteBuffer.allocateDirect(capacity + ALIGNMENT).alignedSlice(ALIGNMENT).slice(0, capacity);
+  }
+
+  /**
+   * Returns the given buffer to the pool.
+   *
+   * @param buffer the buffer taken from this pool.
+   * @since 0.0.2
+   */
+  public void release(final @NotNull ByteBuffer buffer) {
+    if (!buffer.isDirect()) {
+      return;
+    }
+    buffer.clear();
+    this.buffers.computeIfAbsent(buffer.capacity(), capacity -> new ArrayBlockingQueue<>(this.maxPooledBuffers)).offer(buffer);
+  }
+
+  /**
+   * Returns the amount of buffers with the given capacity that are available on
+   * the pool.
+   *
+   * @param capacity the capacity of the buffers.
+   * @return The amount of available buffers.
+   * @since 0.0.2
+   */
+  public int available(final int capacity) {
+    final var pooledBuffers = this.buffers.get(capacity);
+    return (pooledBuffers == null) ? 0 : pooledBuffers.size();
+  }
+}
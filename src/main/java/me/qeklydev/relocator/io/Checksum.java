@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This record represents the expected checksum for a downloaded file.
+ *
+ * @param algorithm the algorithm used to compute the checksum.
+ * @param value the expected checksum as hexadecimal.
+ * @since 0.0.2
+ */
+public record Checksum(@NotNull ChecksumAlgorithm algorithm, @NotNull String value) {
+  /**
+   * Creates a new SHA-1 checksum with the given value.
+   *
+   * @param value the expected checksum as hexadecimal.
+   * @return A new {@link Checksum}.
+   * @since 0.0.2
+   */
+  public static @NotNull Checksum sha1(final @NotNull String value) {
+    return new Checksum(ChecksumAlgorithm.SHA_1, value);
+  }
+
+  /**
+   * Creates a new SHA-256 checksum with the given value.
+   *
+   * @param value the expected checksum as hexadecimal.
+   * @return A new {@link Checksum}.
+   * @since 0.0.2
+   */
+  public static @NotNull Checksum sha256(final @NotNull String value) {
+    return new Checksum(ChecksumAlgorithm.SHA_256, value);
+  }
+
+  /**
+   * Creates a new SHA-512 checksum with the given value.
+   *
+   * @param value the expected checksum as hexadecimal.
+   * @return A new {@link Checksum}.
+   * @since 0.0.2
+   */
+  public static @NotNull Checksum sha512(final @NotNull String value) {
+    return new Checksum(ChecksumAlgorithm.SHA_512, value);
+  }
+
+  /**
+   * Checks if the given digest has computed this checksum.
+   *
+   * @param digest the digest that has read the file.
+   * @return {@code true} if the checksum matches. Otherwise {@code false}.
+   * @since 0.0.2
+   */
+  public boolean matches(final @NotNull MessageDigest digest) {
+    return this.matches(HexFormat.of().formatHex(digest.digest()));
+  }
+
+  /**
+   * Checks if the given hexadecimal value is this checksum.
+   *
+   * @param hexValue the computed checksum as hexadecimal.
+   * @return {@code true} if the checksum matches. Otherwise {@code false}.
+   * @since 0.0.2
+   */
+  public boolean matches(final @NotNull String hexValue) {
+    return this.value.equalsIgnoreCase(hexValue);
+  }
+
+  /**
+   * Reads the given file and checks if their content has this checksum, this
+   * method is only used when the checksum could not be computed during the
+   * file transfer.
+   *
+   * @param file the file to verify.
+   * @return {@code true} if the checksum matches. Otherwise {@code false}.
+   * @throws IOException if the file could not be read.
+   * @since 0.0.2
+   */
+  public boolean matches(final @NotNull Path file) throws IOException {
+    final var digest = this.algorithm.newDigest();
+    try (final var fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final var buffer = ByteBuffer.allocateDirect(64 * 1024);
+      while (fileChannel.read(buffer) != -1) {
+        digest.update(buffer.flip());
+        buffer.clear();
+      }
+    }
+    return this.matches(digest);
+  }
+}
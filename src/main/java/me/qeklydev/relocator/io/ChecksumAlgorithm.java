@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.io;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This enum represents the algorithms that can be used to verify the
+ * downloaded files, these are the algorithms published by the providers
+ * as Modrinth.
+ *
+ * @since 0.0.2
+ */
+public enum ChecksumAlgorithm {
+  /**
+   * The SHA-1 algorithm.
+   *
+   * @since 0.0.2
+   */
+  SHA_1("SHA-1"),
+  /**
+   * The SHA-256 algorithm.
+   *
+   * @since 0.0.2
+   */
+  SHA_256("SHA-256"),
+  /**
+   * The SHA-512 algorithm.
+   *
+   * @since 0.0.2
+   */
+  SHA_512("SHA-512");
+
+  private final String algorithmName;
+
+  ChecksumAlgorithm(final @NotNull String algorithmName) {
+    this.algorithmName = algorithmName;
+  }
+
+  /**
+   * Returns the name of this algorithm for the {@link MessageDigest} API.
+   *
+   * @return The algorithm name.
+   * @since 0.0.2
+   */
+  public @NotNull String algorithmName() {
+    return this.algorithmName;
+  }
+
+  /**
+   * Creates a new message digest for this algorithm.
+   *
+   * @return A new {@link MessageDigest}.
+   * @since 0.0.2
+   */
+  public @NotNull MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance(this.algorithmName);
+    } catch (final NoSuchAlgorithmException exception) {
+      // Every Java platform must support these algorithms.
+      throw new IllegalStateException(exception);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.security.MessageDigest;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class is a readable byte channel that updates the given digest with every
+ * byte read, of this way the checksum is computed while the file is transferred.
+ *
+ * @since 0.0.2
+ */
+public final class DigestReadableByteChannel implements ReadableByteChannel {
+  private final ReadableByteChannel delegate;
+  private final MessageDigest digest;
+
+  /**
+   * Creates a new digest channel for the given channel.
+   *
+   * @param delegate the channel to read.
+   * @param digest the digest updated with the read bytes.
+   * @since 0.0.2
+   */
+  public DigestReadableByteChannel(final @NotNull ReadableByteChannel delegate, final @NotNull MessageDigest digest) {
+    this.delegate = delegate;
+    this.digest = digest;
+  }
+
+  /**
+   * Returns the digest updated by this channel.
+   *
+   * @return The {@link MessageDigest}.
+   * @since 0.0.2
+   */
+  public @NotNull MessageDigest digest() {
+    return this.digest;
+  }
+
+  @Override
+  public int read(final @NotNull ByteBuffer buffer) throws IOException {
+    final var start = buffer.position();
+    final var bytesRead = this.delegate.read(buffer);
+    if (bytesRead > 0) {
+      // We update the digest with the bytes that were just read, without moving the
+      // buffer position.
+      this.digest.update(buffer.duplicate().flip().position(start));
+    }
+    return bytesRead;
+  }
+
+  @Override
+  public boolean isOpen() {
+    return this.delegate.isOpen();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.delegate.close();
+  }
+}
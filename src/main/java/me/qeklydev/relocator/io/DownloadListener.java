@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.io;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This interface is used to observe the result of every download, e.g. to
+ * export the download metrics.
+ *
+ * @since 0.0.2
+ */
+@FunctionalInterface
+public interface DownloadListener {
+  /**
+   * The listener that doesn't perform any action.
+   *
+   * @since 0.0.2
+   */
+  DownloadListener NOOP = result -> {};
+
+  /**
+   * Returns a listener that notifies every given listener, in the same order.
+   *
+   * @param listeners the listeners to notify.
+   * @return A new {@link DownloadListener}.
+   * @since 0.0.2
+   */
+  static @NotNull DownloadListener composite(final @NotNull DownloadListener... listeners) {
+    final var copiedListeners = listeners.clone();
+    return result -> {
+      for (final var listener : copiedListeners) {
+        listener.onDownload(result);
+      }
+    };
+  }
+
+  /**
+   * Called once the download has finished, whatever their status.
+   *
+   * @param result the download result.
+   * @since 0.0.2
+   */
+  void onDownload(final @NotNull DownloadResult result);
+}
@@ -0,0 +1,252 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.io;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import me.qeklydev.relocator.transport.TransportRequest;
+import me.qeklydev.relocator.transport.TransportResponse;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class is a publisher that streams the body of a file as chunks, without
+ * writing it on the disk, e.g. to unpack, hash or forward the file while it's
+ * downloaded.
+ * <p>
+ * The body is only read when the subscriber has demand for it, so the amount of
+ * chunks on memory is limited by the subscriber requests. The publisher is unicast,
+ * it can be subscribed only once, since every subscription would need another request.
+ * If the transfer options have an expected checksum, the subscriber receives an error
+ * instead of the completion signal when the streamed body doesn't match it.
+ *
+ * @since 0.0.2
+ */
+public final class DownloadPublisher implements Flow.Publisher<ByteBuffer> {
+  /**
+   * The default size for every chunk given to the subscriber.
+   *
+   * @since 0.0.2
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+  private final URI uri;
+  private final TransferOptions options;
+  private final ProgressListener progressListener;
+  private final Executor executor;
+  private final int chunkSize;
+  private final AtomicBoolean subscribed = new AtomicBoolean();
+
+  /**
+   * Creates a new download publisher.
+   *
+   * @param uri the provider uri.
+   * @param options the options for the file transfer.
+   * @param progressListener the listener for the transfer progress.
+   * @param executor the executor where the body is read.
+   * @param chunkSize the maximum size for every chunk.
+   * @since 0.0.2
+   */
+  public DownloadPublisher(final @NotNull URI uri, final @NotNull TransferOptions options, final @NotNull ProgressListener progressListener,
+                           final @NotNull Executor executor, final int chunkSize) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("The chunk size must be at least one byte.");
+    }
+    this.uri = uri;
+    this.options = options;
+    this.progressListener = progressListener;
+    this.executor = executor;
+    this.chunkSize = chunkSize;
+  }
+
+  @Override
+  public void subscribe(final Flow.Subscriber<? super ByteBuffer> subscriber) {
+    Objects.requireNonNull(subscriber, "subscriber");
+    if (!this.subscribed.compareAndSet(false, true)) {
+      // The body can only be read once, so the next subscribers receive an error.
+      subscriber.onSubscribe(new Flow.Subscription() {
+        @Override
+        public void request(final long n) {}
+
+        @Override
+        public void cancel() {}
+      });
+      subscriber.onError(new IllegalStateException("The download publisher for " + this.uri + " has already been subscribed."));
+      return;
+    }
+    final var subscription = new DownloadSubscription(subscriber);
+    subscriber.onSubscribe(subscription);
+    try {
+      this.executor.execute(subscription::run);
+    } catch (final RejectedExecutionException exception) {
+      subscription.cancel();
+      subscriber.onError(exception);
+    }
+  }
+
+  /**
+   * This class is the subscription for the subscriber of the publisher, the
+   * body is read and given to the subscriber on the executor thread.
+   */
+  private final class DownloadSubscription implements Flow.Subscription {
+    private final Flow.Subscriber<? super ByteBuffer> subscriber;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition demandAvailable = this.lock.newCondition();
+    private long demand;
+    private boolean cancelled;
+    private Throwable requestError;
+
+    private DownloadSubscription(final @NotNull Flow.Subscriber<? super ByteBuffer> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(final long n) {
+      this.lock.lock();
+      try {
+        if (n <= 0L) {
+          // A non-positive request is a protocol error, the subscriber receives an
+          // error and the body is not read anymore.
+          this.requestError = new IllegalArgumentException("The requested chunks amount must be positive, but was " + n);
+        } else {
+          // The demand is not bounded, so we prevent an overflow of the accumulated requests.
+          this.demand = (this.demand + n < 0L) ? Long.MAX_VALUE : this.demand + n;
+        }
+        this.demandAvailable.signalAll();
+      } finally {
+        this.lock.unlock();
+      }
+    }
+
+    @Override
+    public void cancel() {
+      this.lock.lock();
+      try {
+        this.cancelled = true;
+        this.demandAvailable.signalAll();
+      } finally {
+        this.lock.unlock();
+      }
+    }
+
+    private void run() {
+      final var checksum = DownloadPublisher.this.options.checksum();
+      try {
+        // The request is performed once there's demand for the first chunk, a subscriber
+        // that cancels before requesting doesn't start any request.
+        if (!this.awaitDemand()) {
+          return;
+        }
+        try (final var response = DownloadPublisher.this.options.transport().open(TransportRequest.get(DownloadPublisher.this.uri))) {
+          if (response.statusCode() != TransportResponse.OK) {
+            throw new IOException("The server has responded with the status code " + response.statusCode() + " for " + DownloadPublisher.this.uri);
+          }
+          final var totalBytes = response.contentLength();
+          final var digest = (checksum == null) ? null : checksum.algorithm().newDigest();
+          try (final var readableByteChannel = (digest == null) ? DownloadPublisher.this.options.throttle(response.body(), DownloadPublisher.this.uri)
+              : new DigestReadableByteChannel(DownloadPublisher.this.options.throttle(response.body(), DownloadPublisher.this.uri), digest)) {
+            var transferredBytes = IOUtils.SINGLE_RETURN_VALUE;
+            var demanded = true;
+            while (true) {
+              if (!demanded && !this.awaitDemand()) {
+                return;
+              }
+              // Every chunk is a new buffer, since the subscriber could keep it after onNext(...).
+              final var buffer = ByteBuffer.allocate(DownloadPublisher.this.chunkSize);
+              final var bytesRead = readableByteChannel.read(buffer);
+              if (bytesRead == -1) {
+                break;
+              }
+              if (bytesRead == 0) {
+                demanded = true;
+                continue;
+              }
+              transferredBytes += bytesRead;
+              this.subscriber.onNext(buffer.flip());
+              DownloadPublisher.this.progressListener.onProgress(transferredBytes,
+                  (totalBytes < IOUtils.SINGLE_RETURN_VALUE) ? ProgressListener.UNKNOWN_LENGTH : totalBytes);
+              demanded = false;
+            }
+            if (checksum != null && !checksum.matches(digest)) {
+              throw new IOException("The streamed file for " + DownloadPublisher.this.uri + " doesn't match the expected checksum.");
+            }
+          }
+        }
+        if (!this.isCancelled()) {
+          this.subscriber.onComplete();
+        }
+      } catch (final Throwable throwable) {
+        if (!this.isCancelled()) {
+          this.subscriber.onError(throwable);
+        }
+      }
+    }
+
+    /**
+     * Waits until the subscriber has demand for a chunk, and consumes it.
+     *
+     * @return {@code true} if there's a chunk to give, or {@code false} if the
+     * subscription has been cancelled.
+     * @throws InterruptedException if the thread was interrupted while waiting.
+     */
+    private boolean awaitDemand() throws InterruptedException {
+      this.lock.lock();
+      try {
+        while (this.demand == 0L && !this.cancelled && this.requestError == null) {
+          this.demandAvailable.await();
+        }
+        if (this.requestError != null) {
+          // The subscription is cancelled, so the subscriber doesn't receive any other signal.
+          final var error = this.requestError;
+          this.cancelled = true;
+          this.subscriber.onError(error);
+          return false;
+        }
+        if (this.cancelled) {
+          return false;
+        }
+        if (this.demand != Long.MAX_VALUE) {
+          this.demand--;
+        }
+        return true;
+      } finally {
+        this.lock.unlock();
+      }
+    }
+
+    private boolean isCancelled() {
+      this.lock.lock();
+      try {
+        return this.cancelled;
+      } finally {
+        this.lock.unlock();
+      }
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.io;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This record represents the result of a download, with the bytes transferred,
+ * the final status and the time spent on every phase.
+ *
+ * @param provider the provider (URL) used to read the file information.
+ * @param fileName the name that has received the file.
+ * @param status the final status for the download.
+ * @param bytes the amount of bytes of the file, or the bytes transferred before the
+ *              download failed.
+ * @param statusCode the status code given by the server, or {@code -1} if there was
+ *                   no response.
+ * @param cause the exception that has failed the download, or {@code null}.
+ * @param timings the time spent on every phase.
+ * @since 0.0.2
+ */
+public record DownloadResult(@NotNull String provider, @NotNull String fileName, @NotNull DownloadStatus status, long bytes,
+                             int statusCode, @Nullable Throwable cause, @NotNull DownloadTimings timings) {
+  /**
+   * The status code used when there was no response for the download.
+   *
+   * @since 0.0.2
+   */
+  public static final int NO_STATUS_CODE = -1;
+
+  /**
+   * Creates a new result for a download that has failed before any phase, e.g.
+   * because it could not be started.
+   *
+   * @param provider the provider (URL) used to read the file information.
+   * @param fileName the name that would receive the file.
+   * @param cause the exception that has failed the download.
+   * @return A new {@link DownloadResult}.
+   * @since 0.0.2
+   */
+  public static @NotNull DownloadResult failed(final @NotNull String provider, final @NotNull String fileName,
+                                               final @NotNull Throwable cause) {
+    return new DownloadResult(provider, fileName, DownloadStatus.FAILED, IOUtils.SINGLE_RETURN_VALUE, NO_STATUS_CODE, cause, DownloadTimings.EMPTY);
+  }
+
+  /**
+   * Checks if the file is on the destination.
+   *
+   * @return {@code true} if the download was successful. Otherwise {@code false}.
+   * @see DownloadStatus#successful()
+   * @since 0.0.2
+   */
+  public boolean successful() {
+    return this.status.successful();
+  }
+
+  /**
+   * Returns the amount of bytes for the downloaded file, following the convention
+   * of the write methods of the I/O utils.
+   *
+   * @return The amount of bytes, or {@code 0} if the download was not successful.
+   * @see IOUtils#SINGLE_RETURN_VALUE
+   * @since 0.0.2
+   */
+  public long writtenBytes() {
+    return this.successful() ? this.bytes : IOUtils.SINGLE_RETURN_VALUE;
+  }
+
+  /**
+   * Returns the throughput of the transfer phase, in bytes per second.
+   *
+   * @return The throughput, or {@code 0} if there was no transfer.
+   * @since 0.0.2
+   */
+  public double throughput() {
+    final var transferNanos = this.timings.firstByte().plus(this.timings.transfer()).toNanos();
+    return (transferNanos <= 0L) ? 0D : this.bytes * 1_000_000_000D / transferNanos;
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.io;
+
+/**
+ * This enum represents the final status of a download.
+ *
+ * @since 0.0.2
+ */
+public enum DownloadStatus {
+  /**
+   * The file was downloaded and placed on the destination.
+   *
+   * @since 0.0.2
+   */
+  SUCCESSFUL,
+  /**
+   * The file was placed on the destination since the local cache.
+   *
+   * @since 0.0.2
+   */
+  CACHED,
+  /**
+   * The destination already exists and must not be replaced, so the
+   * file was not downloaded.
+   *
+   * @since 0.0.2
+   */
+  SKIPPED,
+  /**
+   * The server responded with an unexpected status code.
+   *
+   * @since 0.0.2
+   */
+  HTTP_ERROR,
+  /**
+   * The downloaded file doesn't match the expected checksum.
+   *
+   * @since 0.0.2
+   */
+  CHECKSUM_MISMATCH,
+  /**
+   * The download has failed due to an exception.
+   *
+   * @since 0.0.2
+   */
+  FAILED;
+
+  /**
+   * Checks if this status indicates that the file is on the destination.
+   *
+   * @return {@code true} if the file was placed. Otherwise {@code false}.
+   * @since 0.0.2
+   */
+  public boolean successful() {
+    return this == SUCCESSFUL || this == CACHED;
+  }
+
+  /**
+   * Checks if this status indicates that the download has failed, the skipped
+   * downloads keep the existing file, so they're not failures.
+   *
+   * @return {@code true} if the download has failed. Otherwise {@code false}.
+   * @since 0.0.2
+   */
+  public boolean failed() {
+    return !this.successful() && this != SKIPPED;
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.io;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class is used to record the time when every phase of a download has
+ * been reached, the marks can be recorded from different threads.
+ *
+ * @since 0.0.2
+ */
+public final class DownloadTimer {
+  private static final long NOT_REACHED = 0L;
+  private final long startedAt = System.nanoTime();
+  private final AtomicLong resolvedAt = new AtomicLong(NOT_REACHED);
+  private final AtomicLong connectedAt = new AtomicLong(NOT_REACHED);
+  private final AtomicLong firstByteAt = new AtomicLong(NOT_REACHED);
+  private final AtomicLong transferredAt = new AtomicLong(NOT_REACHED);
+  private final AtomicLong flushedAt = new AtomicLong(NOT_REACHED);
+
+  /**
+   * Resolves the host of the given uri, and records the resolve phase. If the
+   * host cannot be resolved, the transport will report the failure.
+   * <p>
+   * This is an advisory pre-resolution, the transport resolves the host again when it
+   * opens the connection, usually from the cache of the resolver that this lookup has
+   * filled. So this lookup is only performed by the transfers that enable it, otherwise
+   * the resolution is part of the connect phase.
+   *
+   * @param uri the provider uri.
+   * @since 0.0.2
+   */
+  public void resolve(final @NotNull URI uri) {
+    final var host = uri.getHost();
+    if (host != null) {
+      try {
+        InetAddress.getAllByName(host);
+      } catch (final UnknownHostException exception) {
+        // The transport will fail with the same exception, so we don't need to
+        // handle it here.
+      }
+    }
+    mark(this.resolvedAt);
+  }
+
+  /**
+   * Records that the response headers have been received.
+   *
+   * @since 0.0.2
+   */
+  public void markConnected() {
+    mark(this.connectedAt);
+  }
+
+  /**
+   * Records that the body has been transferred completely.
+   *
+   * @since 0.0.2
+   */
+  public void markTransferred() {
+    mark(this.transferredAt);
+  }
+
+  /**
+   * Records that the file has been flushed and published.
+   *
+   * @since 0.0.2
+   */
+  public void markFlushed() {
+    mark(this.flushedAt);
+  }
+
+  /**
+   * Returns a channel that records the first byte read from the given channel,
+   * this channel can be used from many threads for the same download.
+   *
+   * @param channel the channel for the response body.
+   * @return The channel that records the first byte.
+   * @since 0.0.2
+   */
+  public @NotNull ReadableByteChannel firstByteChannel(final @NotNull ReadableByteChannel channel) {
+    return new ReadableByteChannel() {
+      @Override
+      public int read(final ByteBuffer buffer) throws IOException {
+        final var bytesRead = channel.read(buffer);
+        if (bytesRead > 0) {
+          mark(DownloadTimer.this.firstByteAt);
+        }
+        return bytesRead;
+      }
+
+      @Override
+      public boolean isOpen() {
+        return channel.isOpen();
+      }
+
+      @Override
+      public void close() throws IOException {
+        channel.close();
+      }
+    };
+  }
+
+  /**
+   * Returns the time spent on every phase, the phases that were not reached
+   * have a zero duration.
+   *
+   * @return The {@link DownloadTimings}.
+   * @since 0.0.2
+   */
+  public @NotNull DownloadTimings timings() {
+    var previous = this.startedAt;
+    final var phases = new Duration[5];
+    final AtomicLong[] marks = {this.resolvedAt, this.connectedAt, this.firstByteAt, this.transferredAt, this.flushedAt};
+    for (var phase = 0; phase < marks.length; phase++) {
+      final var reachedAt = marks[phase].get();
+      if (reachedAt == NOT_REACHED) {
+        phases[phase] = Duration.ZERO;
+        continue;
+      }
+      phases[phase] = Duration.ofNanos(Math.max(0L, reachedAt - previous));
+      previous = reachedAt;
+    }
+    return new DownloadTimings(phases[0], phases[1], phases[2], phases[3], phases[4]);
+  }
+
+  private static void mark(final @NotNull AtomicLong mark) {
+    // Only the first time that a phase is reached is recorded.
+    mark.compareAndSet(NOT_REACHED, System.nanoTime());
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.io;
+
+import java.time.Duration;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This record represents the time spent on every phase of a download, the
+ * phases that were not reached have a zero duration.
+ *
+ * @param resolve the time spent on the pre-resolution of the provider host, zero if the
+ *                transfer has not enabled it.
+ * @param connect the time since the request was sent until the response headers were
+ *                received, this includes the host resolution performed by the transport,
+ *                the connection, the TLS handshake and the server latency, which are not
+ *                exposed separately by the transports.
+ * @param firstByte the time since the response headers until the first body byte.
+ * @param transfer the time since the first body byte until the last one.
+ * @param flush the time spent flushing the file to the disk, verifying and publishing it.
+ * @since 0.0.2
+ */
+public record DownloadTimings(@NotNull Duration resolve, @NotNull Duration connect, @NotNull Duration firstByte,
+                              @NotNull Duration transfer, @NotNull Duration flush) {
+  /**
+   * The timings for a download that has not reached any phase.
+   *
+   * @since 0.0.2
+   */
+  public static final DownloadTimings EMPTY = new DownloadTimings(Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+
+  /**
+   * Returns the total time spent by the download.
+   *
+   * @return The total time.
+   * @since 0.0.2
+   */
+  public @NotNull Duration total() {
+    return this.resolve.plus(this.connect).plus(this.firstByte).plus(this.transfer).plus(this.flush);
+  }
+}
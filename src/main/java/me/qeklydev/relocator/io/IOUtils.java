@@ -22,11 +22,26 @@
  */
 package me.qeklydev.relocator.io;
 
-import java.io.FileOutputStream;
+import java.io.IOException;
 import java.net.URI;
-import java.nio.channels.Channels;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import me.qeklydev.relocator.relocation.FilesRelocationUtils;
+import me.qeklydev.relocator.transport.TransportRequest;
+import me.qeklydev.relocator.transport.TransportResponse;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * This class is used to give I/O utils for files.
@@ -41,6 +56,31 @@ public final class IOUtils {
    * @since 0.0.1
    */
   public static final long SINGLE_RETURN_VALUE = 0L;
+  /**
+   * The executor used by default for the async operations, every operation runs
+   * on their own virtual thread, so the blocking network I/O doesn't starve the
+   * common fork-join pool.
+   *
+   * @since 0.0.2
+   */
+  public static final Executor VIRTUAL_THREAD_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+  /**
+   * The minimum amount of bytes that a single segment must have during a
+   * segmented download, files smaller than this are not split.
+   *
+   * @since 0.0.2
+   */
+  public static final long MINIMUM_SEGMENT_SIZE = 1024L * 1024L;
+  /**
+   * The size of the buffer used by every segment to transfer their bytes
+   * range into the file.
+   */
+  private static final int SEGMENT_BUFFER_SIZE = 64 * 1024;
+  /**
+   * The amount of bytes written between every update of the sidecar file
+   * during a resumable download.
+   */
+  private static final long CHECKPOINT_INTERVAL = 4L * 1024L * 1024L;
 
   /**
    * This method is used when we need to download files with a lower weight
@@ -52,36 +92,112 @@ public final class IOUtils {
    * @return The amount of bytes read for the downloaded file, will return {@code 0}
    * if the file was not downloaded successfully, or an exception was triggered.
    * @see IOUtils#SINGLE_RETURN_VALUE
+   * @see TransferOptions#defaults()
    * @since 0.0.1
    */
   public static long writeSync(final @NotNull String fileNameWithExtension, final @NotNull String provider) {
-    // Using the given url as string by the user, we try to parse it and use it to create
-    // a new [URI] object (Java 20 has deprecated URL constructors, now for get a URL reference
-    // we need to invoke URI#toURL() method).
-    //
-    // If the given URL is not valid, the method will throw an exception indicating a bad
-    // syntax given for the URL.
-    final var uri = URI.create(provider);
-    // If the url is valid and the URI object was created, we can proceed with the process
-    // for the file download. We obtain a URL object since the URI object created, and we
-    // create a [FileOutputStream] using the given file name with his full extension.
-    try (final var readableByteChannel = Channels.newChannel(uri.toURL().openStream());
-         final var fileOutputStream = new FileOutputStream(fileNameWithExtension)) {
-      // If the readable byte channel for bytes information transfer is not opened,
-      // we return the [SINGLE_RETURN_VALUE] that aims to a value -> 0L.
+    return writeSync(fileNameWithExtension, provider, TransferOptions.defaults());
+  }
+
+  /**
+   * This method is used when we need to download files with a lower weight
+   * and that doesn't require much processing, the file is requested using the
+   * given transfer options.
+   *
+   * @param fileNameWithExtension the name that will receive the file.
+   * @param provider the provider (URL) used to read the file information.
+   * @param options the options for the file transfer.
+   * @return The amount of bytes read for the downloaded file, will return {@code 0}
+   * if the file was not downloaded successfully, the destination already exists and
+   * must not be replaced, or an exception was triggered.
+   * @see IOUtils#SINGLE_RETURN_VALUE
+   * @see IOUtils#transferSync(String, String, TransferOptions)
+   * @since 0.0.2
+   */
+  public static long writeSync(final @NotNull String fileNameWithExtension, final @NotNull String provider,
+                               final @NotNull TransferOptions options) {
+    return transferSync(fileNameWithExtension, provider, options).writtenBytes();
+  }
+
+  /**
+   * This method downloads the file using a single stream, and returns the result
+   * of the download with the time spent on every phase.
+   * <p>
+   * The file is transferred into a temporary file on the same directory, which is
+   * flushed to the disk and then atomically moved to the destination, so the readers
+   * never see a partial file, and a failed download doesn't destroy the previous file.
+   * If the options have an expected checksum, the checksum is computed while the
+   * file is transferred, and the destination is only replaced if it matches.
+   *
+   * @param fileNameWithExtension the name that will receive the file.
+   * @param provider the provider (URL) used to read the file information.
+   * @param options the options for the file transfer.
+   * @return The {@link DownloadResult} for this download.
+   * @since 0.0.2
+   */
+  public static @NotNull DownloadResult transferSync(final @NotNull String fileNameWithExtension, final @NotNull String provider,
+                                                     final @NotNull TransferOptions options) {
+    final var timer = new DownloadTimer();
+    final var destination = Paths.get(fileNameWithExtension);
+    final var checksum = options.checksum();
+    // If the existing file must not be replaced, there's no reason to download it.
+    if (!options.replaceExisting() && Files.exists(destination)) {
+      return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.SKIPPED, SINGLE_RETURN_VALUE,
+          DownloadResult.NO_STATUS_CODE, null);
+    }
+    var statusCode = DownloadResult.NO_STATUS_CODE;
+    var bytesWritten = SINGLE_RETURN_VALUE;
+    Path target = null;
+    try {
+      // Using the given url as string by the user, we try to parse it and use it to create
+      // a new [URI] object.
       //
-      // Otherwise, we can proceed with the bytes information transfer for the specified
-      // file, and be downloaded.
-      if (!readableByteChannel.isOpen()) {
-        return SINGLE_RETURN_VALUE;
+      // If the given URL is not valid, the method will throw an exception indicating a bad
+      // syntax given for the URL.
+      final var uri = URI.create(provider);
+      if (options.preResolve()) {
+        timer.resolve(uri);
+      }
+      // If the url is valid and the URI object was created, we can proceed with the process
+      // for the file download. We request the file using the transport, and we write it on
+      // a temporary file that will receive the given file name once the transfer has been
+      // completed.
+      try (final var response = options.transport().open(TransportRequest.get(uri))) {
+        timer.markConnected();
+        statusCode = response.statusCode();
+        // If the server has not given the file, there's nothing to write.
+        //
+        // Otherwise, we can proceed with the bytes information transfer for the specified
+        // file, and be downloaded.
+        if (statusCode != TransportResponse.OK) {
+          return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.HTTP_ERROR, SINGLE_RETURN_VALUE, statusCode, null);
+        }
+        target = temporaryFileFor(destination);
+        final var digest = (checksum == null) ? null : checksum.algorithm().newDigest();
+        try (final var readableByteChannel = digestChannel(timer.firstByteChannel(options.throttle(response.body(), uri)), digest)) {
+          // We start the bytes information transfer to the temporary file using the write strategy
+          // of the options, by default, the bytes are transferred between the channels using the
+          // zero-copy transfer.
+          bytesWritten = options.writeStrategy().write(readableByteChannel, target, response.contentLength());
+          timer.markTransferred();
+        }
+        // The digest has read every transferred byte, so we can verify the file without
+        // reading it again.
+        if (checksum != null && !checksum.matches(digest)) {
+          return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.CHECKSUM_MISMATCH, bytesWritten, statusCode, null);
+        }
+        // The file content is flushed to the disk before it's published, otherwise, a crash could
+        // leave an empty file on the destination. The flush is part of the flush phase, not of the
+        // transfer.
+        options.writeStrategy().sync(target);
+        publish(target, destination, options.replaceExisting());
+        timer.markFlushed();
+        return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.SUCCESSFUL, bytesWritten, statusCode, null);
       }
-      // We start the bytes information transfer to the channel of the [FileOutputStream] object,
-      // we indicate the value of [SINGLE_RETURN_VALUE] as initial position for start the information
-      // transfer between the channels.
-      return fileOutputStream.getChannel().transferFrom(
-          readableByteChannel, /* The initial position taken for start bytes transfers. */ SINGLE_RETURN_VALUE, Long.MAX_VALUE);
     } catch (final Exception exception) {
-      return SINGLE_RETURN_VALUE;
+      return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.FAILED, bytesWritten, statusCode, exception);
+    } finally {
+      deleteTemporaryFile(target);
     }
   }
 
@@ -95,11 +211,565 @@ public final class IOUtils {
    * if the file was not downloaded successfully, or an exception was triggered.
    * @see IOUtils#SINGLE_RETURN_VALUE
    * @see IOUtils#writeSync(String, String)
+   * @see IOUtils#VIRTUAL_THREAD_EXECUTOR
    * @since 0.0.1
    */
   public static @NotNull CompletableFuture<@NotNull Long> writeAsync(final @NotNull String fileNameWithExtension, final @NotNull String provider) {
+    return writeAsync(fileNameWithExtension, provider, VIRTUAL_THREAD_EXECUTOR);
+  }
+
+  /**
+   * This method meets the same function that writeSync(...), with the only
+   * difference that the writing is performed async way using the given executor.
+   *
+   * @param fileNameWithExtension the name that will receive the file.
+   * @param provider the provider (URL) used to read the file information.
+   * @param executor the executor used to perform the writing.
+   * @return The amount of bytes read for the downloaded file, will return {@code 0}
+   * if the file was not downloaded successfully, or an exception was triggered.
+   * @see IOUtils#SINGLE_RETURN_VALUE
+   * @see IOUtils#writeSync(String, String)
+   * @since 0.0.2
+   */
+  public static @NotNull CompletableFuture<@NotNull Long> writeAsync(final @NotNull String fileNameWithExtension, final @NotNull String provider,
+                                                                     final @NotNull Executor executor) {
     // The execution for writeSync(...) is the same, there's the case that we will process the
     // operation of async way.
-    return CompletableFuture.supplyAsync(() -> writeSync(fileNameWithExtension, provider));
+    return CompletableFuture.supplyAsync(() -> writeSync(fileNameWithExtension, provider), executor);
+  }
+
+  /**
+   * This method streams the file since the given provider as chunks, without writing
+   * it on the disk, the body is only read when the subscriber has demand for it.
+   *
+   * @param provider the provider (URL) used to read the file information.
+   * @param progressListener the listener for the transfer progress.
+   * @return The {@link Flow.Publisher} for the file chunks, it can be subscribed once.
+   * @see IOUtils#stream(String, TransferOptions, ProgressListener, Executor)
+   * @since 0.0.2
+   */
+  public static Flow.@NotNull Publisher<@NotNull ByteBuffer> stream(final @NotNull String provider,
+                                                                    final @NotNull ProgressListener progressListener) {
+    return stream(provider, TransferOptions.defaults(), progressListener, VIRTUAL_THREAD_EXECUTOR);
+  }
+
+  /**
+   * This method streams the file since the given provider as chunks, using the given
+   * transfer options, the body is read on the given executor when the subscriber has
+   * demand for it, so the amount of chunks on memory is limited by the subscriber.
+   * <p>
+   * The chunks are given while the file is transferred, so if the options have an
+   * expected checksum, a subscriber that needs a verified file must wait for the
+   * completion signal, a mismatch is signaled as an error.
+   *
+   * @param provider the provider (URL) used to read the file information.
+   * @param options the options for the file transfer.
+   * @param progressListener the listener for the transfer progress.
+   * @param executor the executor where the body is read.
+   * @return The {@link Flow.Publisher} for the file chunks, it can be subscribed once.
+   * @see DownloadPublisher
+   * @since 0.0.2
+   */
+  public static Flow.@NotNull Publisher<@NotNull ByteBuffer> stream(final @NotNull String provider, final @NotNull TransferOptions options,
+                                                                    final @NotNull ProgressListener progressListener,
+                                                                    final @NotNull Executor executor) {
+    return new DownloadPublisher(URI.create(provider), options, progressListener, executor, DownloadPublisher.DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * This method is used when we need to download files with a bigger weight, the
+   * file is split into the given amount of bytes ranges, which are requested at
+   * the same time and written at their own offset into a pre-allocated file.
+   * <p>
+   * If the server doesn't provide the file length, or doesn't support bytes ranges,
+   * the download is performed using a single stream through writeSync(...).
+   *
+   * @param fileNameWithExtension the name that will receive the file.
+   * @param provider the provider (URL) used to read the file information.
+   * @param segments the amount of bytes ranges requested at the same time.
+   * @return The amount of bytes read for the downloaded file, will return {@code 0}
+   * if the file was not downloaded successfully, or an exception was triggered.
+   * @see IOUtils#SINGLE_RETURN_VALUE
+   * @see IOUtils#writeSync(String, String)
+   * @since 0.0.2
+   */
+  public static long writeSegmented(final @NotNull String fileNameWithExtension, final @NotNull String provider, final int segments) {
+    return writeSegmented(fileNameWithExtension, provider, segments, TransferOptions.defaults());
+  }
+
+  /**
+   * This method meets the same function that writeSegmented(...), requesting
+   * every bytes range using the given transfer options.
+   *
+   * @param fileNameWithExtension the name that will receive the file.
+   * @param provider the provider (URL) used to read the file information.
+   * @param segments the amount of bytes ranges requested at the same time.
+   * @param options the options for the file transfer.
+   * @return The amount of bytes read for the downloaded file, will return {@code 0}
+   * if the file was not downloaded successfully, or an exception was triggered.
+   * @see IOUtils#writeSegmented(String, String, int)
+   * @see IOUtils#transferSegmented(String, String, int, TransferOptions)
+   * @since 0.0.2
+   */
+  public static long writeSegmented(final @NotNull String fileNameWithExtension, final @NotNull String provider, final int segments,
+                                    final @NotNull TransferOptions options) {
+    return transferSegmented(fileNameWithExtension, provider, segments, options).writtenBytes();
+  }
+
+  /**
+   * This method downloads the file requesting their bytes ranges at the same time,
+   * and returns the result of the download with the time spent on every phase.
+   * <p>
+   * The ranges are written into a temporary file that is atomically moved to the
+   * destination once completed. The ranges are not received in order, so if the options
+   * have an expected checksum, the file is verified once every range has been written,
+   * before replacing the destination.
+   *
+   * @param fileNameWithExtension the name that will receive the file.
+   * @param provider the provider (URL) used to read the file information.
+   * @param segments the amount of bytes ranges requested at the same time.
+   * @param options the options for the file transfer.
+   * @return The {@link DownloadResult} for this download.
+   * @see IOUtils#writeSegmented(String, String, int)
+   * @since 0.0.2
+   */
+  public static @NotNull DownloadResult transferSegmented(final @NotNull String fileNameWithExtension, final @NotNull String provider,
+                                                          final int segments, final @NotNull TransferOptions options) {
+    final var timer = new DownloadTimer();
+    final var destination = Paths.get(fileNameWithExtension);
+    final var transport = options.transport();
+    final var checksum = options.checksum();
+    if (!options.replaceExisting() && Files.exists(destination)) {
+      return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.SKIPPED, SINGLE_RETURN_VALUE,
+          DownloadResult.NO_STATUS_CODE, null);
+    }
+    var statusCode = DownloadResult.NO_STATUS_CODE;
+    Path target = null;
+    try {
+      final var uri = URI.create(provider);
+      if (options.preResolve()) {
+        timer.resolve(uri);
+      }
+      // We probe the provider with a HEAD request to know the file length and if the server
+      // accepts bytes ranges, the probe also follows the redirections, so the segments can
+      // request the final URI directly instead of going through them again.
+      final long contentLength;
+      final String acceptRanges;
+      final URI resolvedUri;
+      try (final var probe = transport.open(TransportRequest.head(uri))) {
+        timer.markConnected();
+        statusCode = probe.statusCode();
+        contentLength = (statusCode == TransportResponse.OK) ? probe.contentLength() : -1L;
+        acceptRanges = probe.header("Accept-Ranges");
+        resolvedUri = probe.uri();
+      }
+      // The amount of segments is limited by the file length, so every segment has at least
+      // [MINIMUM_SEGMENT_SIZE] bytes, if this gives a single segment, or the server doesn't
+      // support ranges, there's no benefit on split the file, so we use a single stream.
+      final var effectiveSegments = (int) Math.min(segments, contentLength / MINIMUM_SEGMENT_SIZE);
+      if (contentLength <= SINGLE_RETURN_VALUE || !"bytes".equalsIgnoreCase(acceptRanges) || effectiveSegments <= 1) {
+        return transferSync(fileNameWithExtension, provider, options);
+      }
+      target = temporaryFileFor(destination);
+      final var bytesWritten = writeRanges(target, resolvedUri, contentLength, effectiveSegments, options, timer);
+      if (checksum != null && !checksum.matches(target)) {
+        return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.CHECKSUM_MISMATCH, bytesWritten, statusCode, null);
+      }
+      publish(target, destination, options.replaceExisting());
+      timer.markFlushed();
+      return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.SUCCESSFUL, bytesWritten, statusCode, null);
+    } catch (final Exception exception) {
+      return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.FAILED, SINGLE_RETURN_VALUE, statusCode, exception);
+    } finally {
+      deleteTemporaryFile(target);
+    }
+  }
+
+  /**
+   * Downloads every bytes range of the file at the same time, and writes them
+   * at their own offset into the file channel.
+   *
+   * @param file the file where the ranges are written.
+   * @param uri the resolved uri for the file.
+   * @param contentLength the file length.
+   * @param segments the amount of ranges to request.
+   * @param options the options for the file transfer.
+   * @param timer the timer for the download.
+   * @return The amount of bytes written.
+   * @throws Exception if any range could not be downloaded.
+   */
+  private static long writeRanges(final @NotNull Path file, final @NotNull URI uri, final long contentLength, final int segments,
+                                  final @NotNull TransferOptions options, final @NotNull DownloadTimer timer) throws Exception {
+    // Every segment is performed by a virtual thread, the segments block on the transport and
+    // the disk, so a platform thread per segment is not required. The executor is closed once
+    // every segment has finished.
+    try (final var executor = Executors.newVirtualThreadPerTaskExecutor();
+         final var fileChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+             StandardOpenOption.TRUNCATE_EXISTING)) {
+      // We pre-allocate the file writing its last byte, of this way every segment can write
+      // at their own offset without growing the file at every write.
+      fileChannel.write(ByteBuffer.allocate(1), contentLength - 1);
+      final var segmentLength = contentLength / segments;
+      final var completionService = new ExecutorCompletionService<Long>(executor);
+      var bytesWritten = SINGLE_RETURN_VALUE;
+      try {
+        for (var segment = 0; segment < segments; segment++) {
+          final var start = segment * segmentLength;
+          // The last segment takes the remaining bytes of the file.
+          final var end = (segment == segments - 1) ? contentLength - 1 : start + segmentLength - 1;
+          completionService.submit(() -> writeRange(fileChannel, uri, start, end, options, timer));
+        }
+        // The segments are collected as they complete, so a failed segment fails the download
+        // without waiting for the previous segments.
+        for (var segment = 0; segment < segments; segment++) {
+          bytesWritten += completionService.take().get();
+        }
+      } finally {
+        // If any segment has failed, the remaining segments are interrupted since the
+        // file cannot be completed anyway.
+        executor.shutdownNow();
+      }
+      timer.markTransferred();
+      fileChannel.force(true);
+      return bytesWritten;
+    }
+  }
+
+  /**
+   * Requests the given bytes range of the file, and writes it at the start
+   * position into the file channel.
+   *
+   * @param fileChannel the channel for the destination file.
+   * @param uri the resolved uri for the file.
+   * @param start the first byte of the range.
+   * @param end the last byte of the range (inclusive).
+   * @param options the options for the file transfer.
+   * @param timer the timer for the download.
+   * @return The amount of bytes written for this range.
+   * @throws IOException if the range could not be downloaded.
+   */
+  private static long writeRange(final @NotNull FileChannel fileChannel, final @NotNull URI uri, final long start, final long end,
+                                 final @NotNull TransferOptions options, final @NotNull DownloadTimer timer) throws IOException {
+    try (final var response = options.transport().open(TransportRequest.get(uri).withHeader("Range", "bytes=" + start + "-" + end))) {
+      // If the server ignores the range and sends the full file, writing it at this offset
+      // would corrupt the file, so we fail the segment and the whole download.
+      if (response.statusCode() != TransportResponse.PARTIAL_CONTENT) {
+        throw new IOException("The server has not responded with partial content for range " + start + "-" + end);
+      }
+      try (final var readableByteChannel = timer.firstByteChannel(options.throttle(response.body(), uri))) {
+        final var buffer = ByteBuffer.allocate(SEGMENT_BUFFER_SIZE);
+        var position = start;
+        while (readableByteChannel.read(buffer) != -1) {
+          buffer.flip();
+          while (buffer.hasRemaining()) {
+            position += fileChannel.write(buffer, position);
+          }
+          buffer.clear();
+        }
+        if (position != end + 1) {
+          throw new IOException("The range " + start + "-" + end + " was not fully downloaded.");
+        }
+        return position - start;
+      }
+    }
+  }
+
+  /**
+   * This method downloads the file into a partial file ({@code .part}) with a sidecar
+   * file that records the bytes written and the validators given by the server, if the
+   * download fails, the partial state is kept, and the next invocation continues the
+   * download since the last written byte using a Range/If-Range request.
+   * <p>
+   * Once the file has been completed, the partial file is flushed to the disk and
+   * atomically moved to the given name, and the sidecar file is deleted.
+   *
+   * @param fileNameWithExtension the name that will receive the file.
+   * @param provider the provider (URL) used to read the file information.
+   * @return The amount of bytes of the downloaded file, will return {@code 0} if the
+   * file was not downloaded successfully, or an exception was triggered.
+   * @see IOUtils#SINGLE_RETURN_VALUE
+   * @see PartialDownloadState
+   * @since 0.0.2
+   */
+  public static long writeResumable(final @NotNull String fileNameWithExtension, final @NotNull String provider) {
+    return writeResumable(fileNameWithExtension, provider, TransferOptions.defaults());
+  }
+
+  /**
+   * This method meets the same function that writeResumable(...), requesting
+   * the file using the given transfer options.
+   *
+   * @param fileNameWithExtension the name that will receive the file.
+   * @param provider the provider (URL) used to read the file information.
+   * @param options the options for the file transfer.
+   * @return The amount of bytes of the downloaded file, will return {@code 0} if the
+   * file was not downloaded successfully, or an exception was triggered.
+   * @see IOUtils#writeResumable(String, String)
+   * @see IOUtils#transferResumable(String, String, TransferOptions)
+   * @since 0.0.2
+   */
+  public static long writeResumable(final @NotNull String fileNameWithExtension, final @NotNull String provider,
+                                    final @NotNull TransferOptions options) {
+    return transferResumable(fileNameWithExtension, provider, options).writtenBytes();
+  }
+
+  /**
+   * This method downloads the file into a partial file that can be continued by the
+   * next invocation if this one fails, and returns the result of the download with the
+   * time spent on every phase.
+   * <p>
+   * If the options have an expected checksum, the checksum is computed while the
+   * file is transferred (the bytes written by a previous attempt are read once), and
+   * the partial state is discarded if the completed file doesn't match it.
+   *
+   * @param fileNameWithExtension the name that will receive the file.
+   * @param provider the provider (URL) used to read the file information.
+   * @param options the options for the file transfer.
+   * @return The {@link DownloadResult} for this download, the bytes of a failed download
+   * are the bytes kept on the partial file.
+   * @see IOUtils#writeResumable(String, String)
+   * @since 0.0.2
+   */
+  public static @NotNull DownloadResult transferResumable(final @NotNull String fileNameWithExtension, final @NotNull String provider,
+                                                          final @NotNull TransferOptions options) {
+    final var timer = new DownloadTimer();
+    final var checksum = options.checksum();
+    final var destination = Paths.get(fileNameWithExtension);
+    if (!options.replaceExisting() && Files.exists(destination)) {
+      return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.SKIPPED, SINGLE_RETURN_VALUE,
+          DownloadResult.NO_STATUS_CODE, null);
+    }
+    final var partialFile = Paths.get(fileNameWithExtension + PartialDownloadState.PARTIAL_FILE_EXTENSION);
+    final var sidecarFile = Paths.get(fileNameWithExtension + PartialDownloadState.SIDECAR_FILE_EXTENSION);
+    var statusCode = DownloadResult.NO_STATUS_CODE;
+    try {
+      final var uri = URI.create(provider);
+      if (options.preResolve()) {
+        timer.resolve(uri);
+      }
+      // We can only continue the download if there's a partial file with a validator for it,
+      // without a validator the server could give us the bytes of a different file version.
+      var state = PartialDownloadState.load(sidecarFile);
+      var resumeFrom = SINGLE_RETURN_VALUE;
+      var request = TransportRequest.get(uri);
+      if (state != null && state.validator() != null && Files.isRegularFile(partialFile)) {
+        // The sidecar is updated on checkpoints, so the partial file could have more bytes
+        // than the recorded, we only trust the recorded bytes.
+        resumeFrom = Math.min(state.bytesWritten(), Files.size(partialFile));
+        if (resumeFrom > SINGLE_RETURN_VALUE) {
+          request = request.withHeader("Range", "bytes=" + resumeFrom + "-").withHeader("If-Range", state.validator());
+        }
+      }
+      try (final var response = options.transport().open(request)) {
+        timer.markConnected();
+        statusCode = response.statusCode();
+        if (statusCode == TransportResponse.RANGE_NOT_SATISFIABLE) {
+          // The recorded range is not satisfiable anymore, we discard the partial state so
+          // the next attempt starts again since the first byte.
+          Files.deleteIfExists(partialFile);
+          Files.deleteIfExists(sidecarFile);
+          return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.HTTP_ERROR, SINGLE_RETURN_VALUE, statusCode, null);
+        }
+        // If the server responds with the full file (the file has changed, or it doesn't support
+        // ranges), we need to start again since the first byte.
+        if (statusCode == TransportResponse.OK) {
+          resumeFrom = SINGLE_RETURN_VALUE;
+        } else if (statusCode != TransportResponse.PARTIAL_CONTENT) {
+          return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.HTTP_ERROR, resumeFrom, statusCode, null);
+        }
+        state = new PartialDownloadState(resumeFrom, response.header("ETag"), response.header("Last-Modified"));
+        state.store(sidecarFile);
+        final var digest = (checksum == null) ? null : checksum.algorithm().newDigest();
+        if (digest != null && resumeFrom > SINGLE_RETURN_VALUE) {
+          // The bytes written by the previous attempt are not transferred again, so we need
+          // to read them to compute the checksum.
+          updateDigest(digest, partialFile, resumeFrom);
+        }
+        final var bytesWritten = writePartial(digestChannel(timer.firstByteChannel(options.throttle(response.body(), uri)), digest), partialFile, sidecarFile, state);
+        timer.markTransferred();
+        if (checksum != null && !checksum.matches(digest)) {
+          // The completed file is corrupted, so it cannot be continued, we discard the
+          // partial state and the next attempt starts again since the first byte.
+          Files.deleteIfExists(partialFile);
+          Files.deleteIfExists(sidecarFile);
+          return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.CHECKSUM_MISMATCH, bytesWritten, statusCode, null);
+        }
+        // The file has been completed, so we can give it their final name and delete the sidecar.
+        options.writeStrategy().sync(partialFile);
+        publish(partialFile, destination, options.replaceExisting());
+        Files.deleteIfExists(sidecarFile);
+        timer.markFlushed();
+        return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.SUCCESSFUL, bytesWritten, statusCode, null);
+      }
+    } catch (final Exception exception) {
+      final var partialState = PartialDownloadState.load(sidecarFile);
+      final var bytesKept = (partialState == null) ? SINGLE_RETURN_VALUE : partialState.bytesWritten();
+      return finish(options, timer, provider, fileNameWithExtension, DownloadStatus.FAILED, bytesKept, statusCode, exception);
+    }
+  }
+
+  /**
+   * Writes the response body into the partial file since the bytes recorded by
+   * the given state, updating the sidecar file on every checkpoint and when the
+   * transfer fails.
+   *
+   * @param body the channel for the response body.
+   * @param partialFile the partial file.
+   * @param sidecarFile the sidecar file.
+   * @param state the current partial state.
+   * @return The amount of bytes of the partial file once completed.
+   * @throws IOException if the transfer could not be completed.
+   */
+  private static long writePartial(final @NotNull ReadableByteChannel body, final @NotNull Path partialFile,
+                                   final @NotNull Path sidecarFile, final @NotNull PartialDownloadState state) throws IOException {
+    var position = state.bytesWritten();
+    try (final var readableByteChannel = body;
+         final var fileChannel = FileChannel.open(partialFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      // We discard any byte after the recorded position, these bytes were not confirmed
+      // on the sidecar file.
+      fileChannel.truncate(position);
+      final var buffer = ByteBuffer.allocate(SEGMENT_BUFFER_SIZE);
+      var nextCheckpoint = position + CHECKPOINT_INTERVAL;
+      try {
+        while (readableByteChannel.read(buffer) != -1) {
+          buffer.flip();
+          while (buffer.hasRemaining()) {
+            position += fileChannel.write(buffer, position);
+          }
+          buffer.clear();
+          if (position >= nextCheckpoint) {
+            state.withBytesWritten(position).store(sidecarFile);
+            nextCheckpoint = position + CHECKPOINT_INTERVAL;
+          }
+        }
+      } finally {
+        // Whatever the transfer result, we record the bytes written so a failed download
+        // can continue since this position.
+        state.withBytesWritten(position).store(sidecarFile);
+      }
+    }
+    return position;
+  }
+
+  /**
+   * Creates the result for a download, and notifies it to the listener of the
+   * transfer options.
+   *
+   * @param options the options for the file transfer.
+   * @param timer the timer for the download.
+   * @param provider the provider (URL) used to read the file information.
+   * @param fileNameWithExtension the name that will receive the file.
+   * @param status the final status for the download.
+   * @param bytes the amount of bytes for the file.
+   * @param statusCode the status code given by the server.
+   * @param cause the exception that has failed the download, or {@code null}.
+   * @return The {@link DownloadResult}.
+   */
+  private static @NotNull DownloadResult finish(final @NotNull TransferOptions options, final @NotNull DownloadTimer timer,
+                                                final @NotNull String provider, final @NotNull String fileNameWithExtension,
+                                                final @NotNull DownloadStatus status, final long bytes, final int statusCode,
+                                                final @Nullable Throwable cause) {
+    final var result = new DownloadResult(provider, fileNameWithExtension, status, bytes, statusCode, cause, timer.timings());
+    notify(options.listener(), result);
+    return result;
+  }
+
+  /**
+   * Notifies the given result to the listener, an exception triggered by the
+   * listener doesn't change the download result.
+   *
+   * @param listener the listener to notify.
+   * @param result the download result.
+   * @since 0.0.2
+   */
+  public static void notify(final @NotNull DownloadListener listener, final @NotNull DownloadResult result) {
+    try {
+      listener.onDownload(result);
+    } catch (final RuntimeException exception) {
+      // The listeners are only observers, so their failures are ignored.
+    }
+  }
+
+  /**
+   * Returns a channel that updates the given digest with every byte read from
+   * the given channel.
+   *
+   * @param channel the channel to read.
+   * @param digest the digest to update, or {@code null} if the checksum is not required.
+   * @return The digest channel, or the same channel if there's no digest.
+   */
+  private static @NotNull ReadableByteChannel digestChannel(final @NotNull ReadableByteChannel channel, final @Nullable MessageDigest digest) {
+    return (digest == null) ? channel : new DigestReadableByteChannel(channel, digest);
+  }
+
+  /**
+   * Updates the given digest with the first bytes of the given file.
+   *
+   * @param digest the digest to update.
+   * @param file the file to read.
+   * @param length the amount of bytes to read.
+   * @throws IOException if the file could not be read.
+   */
+  private static void updateDigest(final @NotNull MessageDigest digest, final @NotNull Path file, final long length) throws IOException {
+    try (final var fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final var buffer = ByteBuffer.allocate(SEGMENT_BUFFER_SIZE);
+      var position = SINGLE_RETURN_VALUE;
+      while (position < length) {
+        buffer.limit((int) Math.min(buffer.capacity(), length - position));
+        final var bytesRead = fileChannel.read(buffer, position);
+        if (bytesRead == -1) {
+          throw new IOException("The file " + file + " is shorter than expected.");
+        }
+        position += bytesRead;
+        digest.update(buffer.flip());
+        buffer.clear();
+      }
+    }
+  }
+
+  /**
+   * Creates a temporary file on the same directory that the given destination, of
+   * this way, it can be atomically moved to the destination once completed.
+   *
+   * @param destination the destination for the file.
+   * @return The temporary file.
+   * @throws IOException if the file could not be created.
+   */
+  private static @NotNull Path temporaryFileFor(final @NotNull Path destination) throws IOException {
+    final var absoluteDestination = destination.toAbsolutePath();
+    return Files.createTempFile(absoluteDestination.getParent(), absoluteDestination.getFileName() + ".", ".tmp");
+  }
+
+  /**
+   * Publishes the completed file on the destination, the file is moved atomically,
+   * so the readers see the previous file or the new one, never a partial file.
+   *
+   * @param file the completed file.
+   * @param destination the destination for the file.
+   * @param replaceExisting indicates if an existing file must be replaced.
+   * @throws IOException if the file could not be published.
+   * @see FilesRelocationUtils#relocateTo(Path, Path, boolean, boolean, boolean)
+   */
+  private static void publish(final @NotNull Path file, final @NotNull Path destination, final boolean replaceExisting) throws IOException {
+    if (!FilesRelocationUtils.relocateTo(file, destination, replaceExisting, /* The file is moved. */ false, /* Atomic. */ true)) {
+      throw new IOException("The downloaded file could not be published on " + destination);
+    }
+  }
+
+  /**
+   * Deletes the given temporary file if it was created, this is used to leave
+   * no file behind when the download has failed.
+   *
+   * @param target the temporary file where the download was written, or {@code null}.
+   */
+  private static void deleteTemporaryFile(final @Nullable Path target) {
+    if (target == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(target);
+    } catch (final IOException exception) {
+      // The temporary file could not be deleted, there's nothing more to do.
+    }
   }
 }
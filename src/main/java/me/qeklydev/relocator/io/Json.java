@@ -0,0 +1,245 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.io;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class is a minimal JSON parser for the resolvers metadata and the manifests, the objects are
+ * parsed as maps, the arrays as lists, the numbers as {@link Long} or {@link Double},
+ * and the literals as booleans or {@code null}.
+ *
+ * @since 0.0.2
+ */
+public final class Json {
+  private final String text;
+  private int position;
+
+  private Json(final @NotNull String text) {
+    this.text = text;
+  }
+
+  /**
+   * Parses the given JSON text.
+   *
+   * @param text the JSON text.
+   * @return The parsed value.
+   * @throws IllegalArgumentException if the text is not valid JSON.
+   * @since 0.0.2
+   */
+  public static @Nullable Object parse(final @NotNull String text) {
+    final var parser = new Json(text);
+    final var value = parser.value();
+    parser.skipWhitespace();
+    if (parser.position != text.length()) {
+      throw parser.error("Unexpected content after the JSON value");
+    }
+    return value;
+  }
+
+  /**
+   * Returns the given value as an object, or an empty object if it's not an object.
+   *
+   * @param value the parsed value.
+   * @return The object members.
+   * @since 0.0.2
+   */
+  @SuppressWarnings("unchecked")
+  public static @NotNull Map<String, Object> object(final @Nullable Object value) {
+    return (value instanceof Map<?, ?>) ? (Map<String, Object>) value : Map.of();
+  }
+
+  /**
+   * Returns the given value as an array, or an empty array if it's not an array.
+   *
+   * @param value the parsed value.
+   * @return The array elements.
+   * @since 0.0.2
+   */
+  @SuppressWarnings("unchecked")
+  public static @NotNull List<Object> array(final @Nullable Object value) {
+    return (value instanceof List<?>) ? (List<Object>) value : List.of();
+  }
+
+  /**
+   * Returns the given value as a string, or {@code null} if it's not a string.
+   *
+   * @param value the parsed value.
+   * @return The string, or {@code null}.
+   * @since 0.0.2
+   */
+  public static @Nullable String string(final @Nullable Object value) {
+    return (value instanceof String string) ? string : null;
+  }
+
+  private @Nullable Object value() {
+    this.skipWhitespace();
+    if (this.position >= this.text.length()) {
+      throw this.error("Unexpected end of the JSON text");
+    }
+    final var character = this.text.charAt(this.position);
+    return switch (character) {
+      case '{' -> this.parseObject();
+      case '[' -> this.parseArray();
+      case '"' -> this.parseString();
+      case 't' -> this.literal("true", Boolean.TRUE);
+      case 'f' -> this.literal("false", Boolean.FALSE);
+      case 'n' -> this.literal("null", null);
+      default -> this.parseNumber();
+    };
+  }
+
+  private @NotNull Map<String, Object> parseObject() {
+    final var members = new LinkedHashMap<String, Object>();
+    this.position++;
+    this.skipWhitespace();
+    if (this.consume('}')) {
+      return members;
+    }
+    do {
+      this.skipWhitespace();
+      if (this.position >= this.text.length() || this.text.charAt(this.position) != '"') {
+        throw this.error("Expected a member name");
+      }
+      final var name = this.parseString();
+      this.skipWhitespace();
+      if (!this.consume(':')) {
+        throw this.error("Expected ':'");
+      }
+      members.put(name, this.value());
+      this.skipWhitespace();
+    } while (this.consume(','));
+    if (!this.consume('}')) {
+      throw this.error("Expected '}'");
+    }
+    return members;
+  }
+
+  private @NotNull List<Object> parseArray() {
+    final var elements = new ArrayList<>();
+    this.position++;
+    this.skipWhitespace();
+    if (this.consume(']')) {
+      return elements;
+    }
+    do {
+      elements.add(this.value());
+      this.skipWhitespace();
+    } while (this.consume(','));
+    if (!this.consume(']')) {
+      throw this.error("Expected ']'");
+    }
+    return elements;
+  }
+
+  private @NotNull String parseString() {
+    final var builder = new StringBuilder();
+    this.position++;
+    while (this.position < this.text.length()) {
+      final var character = this.text.charAt(this.position++);
+      if (character == '"') {
+        return builder.toString();
+      }
+      if (character != '\\') {
+        builder.append(character);
+        continue;
+      }
+      if (this.position >= this.text.length()) {
+        break;
+      }
+      final var escaped = this.text.charAt(this.position++);
+      switch (escaped) {
+        case '"', '\\', '/' -> builder.append(escaped);
+        case 'b' -> builder.append('\b');
+        case 'f' -> builder.append('\f');
+        case 'n' -> builder.append('\n');
+        case 'r' -> builder.append('\r');
+        case 't' -> builder.append('\t');
+        case 'u' -> {
+          if (this.position + 4 > this.text.length()) {
+            throw this.error("Invalid unicode escape");
+          }
+          try {
+            builder.append((char) Integer.parseInt(this.text.substring(this.position, this.position + 4), 16));
+          } catch (final NumberFormatException exception) {
+            throw this.error("Invalid unicode escape");
+          }
+          this.position += 4;
+        }
+        default -> throw this.error("Invalid escape '\\" + escaped + "'");
+      }
+    }
+    throw this.error("Unterminated string");
+  }
+
+  private @NotNull Number parseNumber() {
+    final var start = this.position;
+    var decimal = false;
+    while (this.position < this.text.length()) {
+      final var character = this.text.charAt(this.position);
+      if (character == '.' || character == 'e' || character == 'E') {
+        decimal = true;
+      } else if (!Character.isDigit(character) && character != '-' && character != '+') {
+        break;
+      }
+      this.position++;
+    }
+    final var number = this.text.substring(start, this.position);
+    try {
+      return decimal ? Double.parseDouble(number) : Long.parseLong(number);
+    } catch (final NumberFormatException exception) {
+      throw this.error("Invalid number '" + number + "'");
+    }
+  }
+
+  private @Nullable Object literal(final @NotNull String literal, final @Nullable Object value) {
+    if (!this.text.startsWith(literal, this.position)) {
+      throw this.error("Invalid literal");
+    }
+    this.position += literal.length();
+    return value;
+  }
+
+  private boolean consume(final char expected) {
+    if (this.position < this.text.length() && this.text.charAt(this.position) == expected) {
+      this.position++;
+      return true;
+    }
+    return false;
+  }
+
+  private void skipWhitespace() {
+    while (this.position < this.text.length() && Character.isWhitespace(this.text.charAt(this.position))) {
+      this.position++;
+    }
+  }
+
+  private @NotNull IllegalArgumentException error(final @NotNull String message) {
+    return new IllegalArgumentException(message + " at position " + this.position + ".");
+  }
+}
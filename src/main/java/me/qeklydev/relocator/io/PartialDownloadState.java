@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.io;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This record represents the state stored on the sidecar file of a partial
+ * download, it's used to continue the download since the last written byte.
+ *
+ * @param bytesWritten the amount of bytes written into the partial file.
+ * @param entityTag the ETag given by the server for the file, or {@code null}.
+ * @param lastModified the Last-Modified date given by the server, or {@code null}.
+ * @since 0.0.2
+ */
+public record PartialDownloadState(long bytesWritten, @Nullable String entityTag, @Nullable String lastModified) {
+  /**
+   * The extension used for the files that are being downloaded.
+   *
+   * @since 0.0.2
+   */
+  public static final String PARTIAL_FILE_EXTENSION = ".part";
+  /**
+   * The extension used for the sidecar files of the partial downloads.
+   *
+   * @since 0.0.2
+   */
+  public static final String SIDECAR_FILE_EXTENSION = ".part.meta";
+
+  /**
+   * Reads the state stored on the given sidecar file.
+   *
+   * @param sidecar the sidecar file.
+   * @return The {@link PartialDownloadState}, or {@code null} if the file doesn't
+   * exist or could not be read.
+   * @since 0.0.2
+   */
+  public static @Nullable PartialDownloadState load(final @NotNull Path sidecar) {
+    if (!Files.isRegularFile(sidecar)) {
+      return null;
+    }
+    final var properties = new Properties();
+    try (final var reader = Files.newBufferedReader(sidecar)) {
+      properties.load(reader);
+      return new PartialDownloadState(
+          Long.parseLong(properties.getProperty("bytes", "0")),
+          properties.getProperty("etag"),
+          properties.getProperty("last-modified"));
+    } catch (final IOException | NumberFormatException exception) {
+      // A corrupted sidecar is the same that not having it, the download will
+      // start again since the first byte.
+      return null;
+    }
+  }
+
+  /**
+   * Returns the validator that must be sent on the If-Range header to continue
+   * the download, the ETag is preferred over the Last-Modified date.
+   *
+   * @return The validator, or {@code null} if the server didn't give any.
+   * @since 0.0.2
+   */
+  public @Nullable String validator() {
+    return (this.entityTag != null) ? this.entityTag : this.lastModified;
+  }
+
+  /**
+   * Returns a copy of this state with the given amount of bytes written.
+   *
+   * @param bytesWritten the new amount of bytes written.
+   * @return A new {@link PartialDownloadState}.
+   * @since 0.0.2
+   */
+  public @NotNull PartialDownloadState withBytesWritten(final long bytesWritten) {
+    return new PartialDownloadState(bytesWritten, this.entityTag, this.lastModified);
+  }
+
+  /**
+   * Stores this state on the given sidecar file.
+   *
+   * @param sidecar the sidecar file.
+   * @throws IOException if the file could not be written.
+   * @since 0.0.2
+   */
+  public void store(final @NotNull Path sidecar) throws IOException {
+    final var properties = new Properties();
+    properties.setProperty("bytes", String.valueOf(this.bytesWritten));
+    if (this.entityTag != null) {
+      properties.setProperty("etag", this.entityTag);
+    }
+    if (this.lastModified != null) {
+      properties.setProperty("last-modified", this.lastModified);
+    }
+    try (final var writer = Files.newBufferedWriter(sidecar)) {
+      properties.store(writer, null);
+    }
+  }
+}
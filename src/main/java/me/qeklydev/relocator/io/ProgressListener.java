@@ -0,0 +1,55 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.io;
+
+/**
+ * This interface is used to observe the progress of a streamed download or a
+ * file copy, the listener is called from the thread that performs the transfer,
+ * every time that a chunk has been transferred.
+ *
+ * @since 0.0.2
+ */
+@FunctionalInterface
+public interface ProgressListener {
+  /**
+   * The listener that doesn't perform any action.
+   *
+   * @since 0.0.2
+   */
+  ProgressListener NOOP = (transferredBytes, totalBytes) -> {};
+  /**
+   * The total bytes given when the server has not provided the file length.
+   *
+   * @since 0.0.2
+   */
+  long UNKNOWN_LENGTH = -1L;
+
+  /**
+   * Called every time that a chunk of the file has been transferred.
+   *
+   * @param transferredBytes the amount of bytes transferred until now.
+   * @param totalBytes the file length, or {@link #UNKNOWN_LENGTH} if it's not known.
+   * @since 0.0.2
+   */
+  void onProgress(final long transferredBytes, final long totalBytes);
+}
@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.io;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class is a token-bucket rate limiter for the transferred bytes, the bucket
+ * is refilled at the configured rate and can hold up to one second of bytes, so a
+ * transfer can burst after being idle, but never exceeds the rate on average.
+ * <p>
+ * The transfers acquire the bytes of every chunk after reading it, if the bucket
+ * doesn't have enough bytes, the transfer is paused until the debt has been refilled.
+ * The rate can be adjusted at runtime, and applies to the next acquired chunks of
+ * every transfer that shares this limiter.
+ *
+ * @since 0.0.2
+ */
+public final class RateLimiter {
+  /**
+   * The rate used by the unlimited rate limiters.
+   *
+   * @since 0.0.2
+   */
+  public static final long UNLIMITED = 0L;
+  private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1L);
+  private final ReentrantLock lock = new ReentrantLock();
+  private volatile long bytesPerSecond;
+  private double availableBytes;
+  private long refilledAt = System.nanoTime();
+
+  private RateLimiter(final long bytesPerSecond) {
+    this.bytesPerSecond = bytesPerSecond;
+    this.availableBytes = bytesPerSecond;
+  }
+
+  /**
+   * Creates a new rate limiter with the given rate.
+   *
+   * @param bytesPerSecond the maximum amount of bytes per second, or {@link #UNLIMITED}.
+   * @return A new {@link RateLimiter}.
+   * @since 0.0.2
+   */
+  public static @NotNull RateLimiter of(final long bytesPerSecond) {
+    checkRate(bytesPerSecond);
+    return new RateLimiter(bytesPerSecond);
+  }
+
+  /**
+   * Creates a new rate limiter without limit, the limit can be defined later.
+   *
+   * @return A new {@link RateLimiter}.
+   * @since 0.0.2
+   */
+  public static @NotNull RateLimiter unlimited() {
+    return new RateLimiter(UNLIMITED);
+  }
+
+  /**
+   * Returns the current rate for this limiter.
+   *
+   * @return The maximum amount of bytes per second, or {@link #UNLIMITED}.
+   * @since 0.0.2
+   */
+  public long rate() {
+    return this.bytesPerSecond;
+  }
+
+  /**
+   * Defines the rate for this limiter, the bytes acquired until now are refilled
+   * using the previous rate.
+   *
+   * @param bytesPerSecond the maximum amount of bytes per second, or {@link #UNLIMITED}.
+   * @since 0.0.2
+   */
+  public void rate(final long bytesPerSecond) {
+    checkRate(bytesPerSecond);
+    this.lock.lock();
+    try {
+      this.refill(System.nanoTime());
+      // A limiter that was unlimited starts with a full bucket, and the bucket never holds
+      // more than one second of bytes for the new rate.
+      this.availableBytes = (this.bytesPerSecond == UNLIMITED) ? bytesPerSecond : Math.min(this.availableBytes, bytesPerSecond);
+      this.bytesPerSecond = bytesPerSecond;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Acquires the given amount of bytes, pausing the current thread until the
+   * bytes are available if it's required.
+   *
+   * @param bytes the amount of bytes to acquire.
+   * @throws InterruptedException if the thread was interrupted while paused.
+   * @since 0.0.2
+   */
+  public void acquire(final long bytes) throws InterruptedException {
+    if (bytes <= 0L || this.bytesPerSecond == UNLIMITED) {
+      return;
+    }
+    final long waitNanos;
+    this.lock.lock();
+    try {
+      final var rate = this.bytesPerSecond;
+      if (rate == UNLIMITED) {
+        return;
+      }
+      this.refill(System.nanoTime());
+      // The bytes are acquired even if there're not enough, the bucket gets a debt that
+      // the next transfers must wait too, of this way the waiting transfers are served in
+      // the order that they have acquired their bytes.
+      this.availableBytes -= bytes;
+      waitNanos = (this.availableBytes >= 0D) ? 0L : (long) (-this.availableBytes * NANOS_PER_SECOND / rate);
+    } finally {
+      this.lock.unlock();
+    }
+    // The thread is paused outside the lock, so the other transfers can acquire their
+    // bytes and the rate can be adjusted meanwhile.
+    final var deadline = System.nanoTime() + waitNanos;
+    var remainingNanos = waitNanos;
+    while (remainingNanos > 0L) {
+      LockSupport.parkNanos(this, remainingNanos);
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      remainingNanos = deadline - System.nanoTime();
+    }
+  }
+
+  private void refill(final long now) {
+    final var rate = this.bytesPerSecond;
+    if (rate != UNLIMITED) {
+      // The elapsed time is computed as a double, the product of the nanoseconds and the
+      // rate overflows a long after a few minutes of being idle.
+      this.availableBytes = Math.min(rate, this.availableBytes + (double) (now - this.refilledAt) * rate / NANOS_PER_SECOND);
+    }
+    this.refilledAt = now;
+  }
+
+  private static void checkRate(final long bytesPerSecond) {
+    if (bytesPerSecond < UNLIMITED) {
+      throw new IllegalArgumentException("The rate must be positive, or unlimited (0), but was " + bytesPerSecond);
+    }
+  }
+}
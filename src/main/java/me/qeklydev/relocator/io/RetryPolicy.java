@@ -0,0 +1,271 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.io;
+
+import java.io.IOException;
+import java.nio.file.FileSystemException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This record represents the policy used to retry the failed downloads, the
+ * retries are delayed using an exponential backoff with jitter, and stop once the
+ * attempts or the maximum elapsed time have been exhausted. The policy only limits
+ * the retries of every url, the mirrors are attempted once the previous url has
+ * failed, even if the maximum elapsed time has been exceeded.
+ * <p>
+ * By default, only the transient failures are retried, which are the network
+ * errors and the status codes that indicate that the server could respond later,
+ * e.g. {@code 503}. A missing file, a checksum mismatch or a local file-system
+ * error fails on the same way on every attempt, so they are not retried.
+ *
+ * @param maxAttempts the maximum amount of attempts for every url, including the first one.
+ * @param initialDelay the delay before the first retry.
+ * @param maxDelay the maximum delay between two attempts.
+ * @param multiplier the factor applied to the delay after every retry.
+ * @param jitter the fraction of the delay that is randomized, between {@code 0} and {@code 1}.
+ * @param maxElapsedTime the maximum time spent on the download, including the delays, after which no retry is performed.
+ * @param retryable the predicate that indicates if a failed download can be retried.
+ * @since 0.0.2
+ */
+public record RetryPolicy(int maxAttempts, @NotNull Duration initialDelay, @NotNull Duration maxDelay, double multiplier,
+                          double jitter, @NotNull Duration maxElapsedTime, @NotNull Predicate<@NotNull DownloadResult> retryable) {
+  /**
+   * The status codes considered transient, the request could be successful if it's
+   * performed again later.
+   *
+   * @since 0.0.2
+   */
+  public static final Set<Integer> TRANSIENT_STATUS_CODES = Set.of(408, 425, 429, 500, 502, 503, 504);
+  /**
+   * The policy that doesn't retry the downloads.
+   *
+   * @since 0.0.2
+   */
+  public static final RetryPolicy NONE = builder().maxAttempts(1).build();
+
+  /**
+   * Returns the default policy, which attempts every url up to four times, starting
+   * with a delay of 250 milliseconds that is doubled on every retry, and gives up
+   * after two minutes.
+   *
+   * @return The default {@link RetryPolicy}.
+   * @since 0.0.2
+   */
+  public static @NotNull RetryPolicy defaults() {
+    return builder().build();
+  }
+
+  /**
+   * Creates a new builder for the retry policy.
+   *
+   * @return A new {@link Builder}.
+   * @since 0.0.2
+   */
+  public static @NotNull Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Checks if the given download has failed due to a transient error.
+   *
+   * @param result the download result.
+   * @return {@code true} if the server responded with a transient status code, or
+   * the request has failed due to a network error. Otherwise {@code false}.
+   * @see #TRANSIENT_STATUS_CODES
+   * @since 0.0.2
+   */
+  public static boolean transientFailure(final @NotNull DownloadResult result) {
+    return switch (result.status()) {
+      case HTTP_ERROR -> TRANSIENT_STATUS_CODES.contains(result.statusCode());
+      // The file-system errors are local, e.g. a denied access, so they would happen again.
+      case FAILED -> result.cause() instanceof IOException && !(result.cause() instanceof FileSystemException);
+      default -> false;
+    };
+  }
+
+  /**
+   * Checks if the given failed download can be retried using this policy.
+   *
+   * @param result the download result.
+   * @return {@code true} if the download can be retried. Otherwise {@code false}.
+   * @since 0.0.2
+   */
+  public boolean retryable(final @NotNull DownloadResult result) {
+    return !result.successful() && this.retryable.test(result);
+  }
+
+  /**
+   * Returns the delay before the given retry, the delay grows exponentially since
+   * the initial delay up to the maximum delay, and a random fraction defined by the
+   * jitter is subtracted from it, of this way, the clients that have failed at the
+   * same time don't retry at the same time.
+   *
+   * @param retry the retry number, starting with {@code 1}.
+   * @return The delay before the retry.
+   * @since 0.0.2
+   */
+  public @NotNull Duration delay(final int retry) {
+    final var backoffNanos = Math.min(this.initialDelay.toNanos() * Math.pow(this.multiplier, retry - 1), this.maxDelay.toNanos());
+    final var jitteredNanos = backoffNanos * (1D - this.jitter * ThreadLocalRandom.current().nextDouble());
+    return Duration.ofNanos((long) jitteredNanos);
+  }
+
+  /**
+   * Checks if the given delay can be waited without exceeding the maximum elapsed time.
+   *
+   * @param startNanos the {@link System#nanoTime()} when the download was started.
+   * @param delay the delay before the next attempt.
+   * @return {@code true} if the next attempt can be performed. Otherwise {@code false}.
+   * @since 0.0.2
+   */
+  public boolean allows(final long startNanos, final @NotNull Duration delay) {
+    return Duration.ofNanos(System.nanoTime() - startNanos).plus(delay).compareTo(this.maxElapsedTime) <= 0;
+  }
+
+  /**
+   * This class is used to build instances of the retry policy.
+   *
+   * @since 0.0.2
+   */
+  public static class Builder {
+    private int maxAttempts = 4;
+    private Duration initialDelay = Duration.ofMillis(250L);
+    private Duration maxDelay = Duration.ofSeconds(10L);
+    private double multiplier = 2D;
+    private double jitter = 0.5D;
+    private Duration maxElapsedTime = Duration.ofMinutes(2L);
+    private Predicate<DownloadResult> retryable = RetryPolicy::transientFailure;
+
+    /**
+     * Defines the maximum amount of attempts for every url, including the first one.
+     *
+     * @param maxAttempts the maximum amount of attempts.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder maxAttempts(final int maxAttempts) {
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    /**
+     * Defines the delay before the first retry.
+     *
+     * @param initialDelay the initial delay.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder initialDelay(final @NotNull Duration initialDelay) {
+      this.initialDelay = initialDelay;
+      return this;
+    }
+
+    /**
+     * Defines the maximum delay between two attempts.
+     *
+     * @param maxDelay the maximum delay.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder maxDelay(final @NotNull Duration maxDelay) {
+      this.maxDelay = maxDelay;
+      return this;
+    }
+
+    /**
+     * Defines the factor applied to the delay after every retry.
+     *
+     * @param multiplier the delay multiplier, at least {@code 1}.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder multiplier(final double multiplier) {
+      this.multiplier = multiplier;
+      return this;
+    }
+
+    /**
+     * Defines the fraction of the delay that is randomized, a jitter of {@code 0}
+     * uses the exact delays, and a jitter of {@code 1} uses a random delay between
+     * zero and the backoff delay.
+     *
+     * @param jitter the jitter, between {@code 0} and {@code 1}.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder jitter(final double jitter) {
+      this.jitter = jitter;
+      return this;
+    }
+
+    /**
+     * Defines the maximum time spent on the download, including the delays, no retry
+     * is performed once it has elapsed.
+     *
+     * @param maxElapsedTime the maximum elapsed time.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder maxElapsedTime(final @NotNull Duration maxElapsedTime) {
+      this.maxElapsedTime = maxElapsedTime;
+      return this;
+    }
+
+    /**
+     * Defines the predicate that indicates if a failed download can be retried, by
+     * default only the transient failures are retried.
+     *
+     * @param retryable the predicate for the failed downloads.
+     * @return The current builder instance.
+     * @see RetryPolicy#transientFailure(DownloadResult)
+     * @since 0.0.2
+     */
+    public @NotNull Builder retryIf(final @NotNull Predicate<@NotNull DownloadResult> retryable) {
+      this.retryable = retryable;
+      return this;
+    }
+
+    /**
+     * Creates a new retry policy using the information given to the builder.
+     *
+     * @return The built {@link RetryPolicy}.
+     * @since 0.0.2
+     */
+    public @NotNull RetryPolicy build() {
+      if (this.maxAttempts < 1) {
+        throw new IllegalStateException("The attempts amount must be at least one on RetryPolicy.Builder.");
+      }
+      if (this.initialDelay.isNegative() || this.maxDelay.isNegative() || this.maxElapsedTime.isNegative()) {
+        throw new IllegalStateException("The delays and the maximum elapsed time must not be negative on RetryPolicy.Builder.");
+      }
+      if (this.multiplier < 1D || this.jitter < 0D || this.jitter > 1D) {
+        throw new IllegalStateException("The multiplier must be at least one, and the jitter between zero and one on RetryPolicy.Builder.");
+      }
+      return new RetryPolicy(this.maxAttempts, this.initialDelay, this.maxDelay, this.multiplier, this.jitter, this.maxElapsedTime, this.retryable);
+    }
+  }
+}
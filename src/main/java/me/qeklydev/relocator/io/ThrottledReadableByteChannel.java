@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class is a readable byte channel that acquires every read chunk from the
+ * given rate limiters, of this way the transfer is paced by the slowest limiter.
+ *
+ * @since 0.0.2
+ */
+public final class ThrottledReadableByteChannel implements ReadableByteChannel {
+  private final ReadableByteChannel delegate;
+  private final List<RateLimiter> limiters;
+
+  /**
+   * Creates a new throttled channel for the given channel.
+   *
+   * @param delegate the channel to read.
+   * @param limiters the limiters that pace the read bytes.
+   * @since 0.0.2
+   */
+  public ThrottledReadableByteChannel(final @NotNull ReadableByteChannel delegate, final @NotNull List<@NotNull RateLimiter> limiters) {
+    this.delegate = delegate;
+    this.limiters = List.copyOf(limiters);
+  }
+
+  @Override
+  public int read(final @NotNull ByteBuffer buffer) throws IOException {
+    final var bytesRead = this.delegate.read(buffer);
+    if (bytesRead > 0) {
+      try {
+        // The limiters are refilled while the previous ones are paused, so the transfer
+        // waits as much as the slowest limiter.
+        for (final var limiter : this.limiters) {
+          limiter.acquire(bytesRead);
+        }
+      } catch (final InterruptedException exception) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("The transfer was interrupted while throttled.");
+      }
+    }
+    return bytesRead;
+  }
+
+  @Override
+  public boolean isOpen() {
+    return this.delegate.isOpen();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.delegate.close();
+  }
+}
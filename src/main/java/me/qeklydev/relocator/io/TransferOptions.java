@@ -0,0 +1,180 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.io;
+
+import java.net.URI;
+import java.nio.channels.ReadableByteChannel;
+import me.qeklydev.relocator.transport.Transport;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This record represents the options used by the I/O utils to transfer
+ * a file since their provider.
+ *
+ * @param transport the transport used to request the file.
+ * @param checksum the expected checksum for the file, or {@code null} if
+ *                 the file must not be verified.
+ * @param replaceExisting indicates if an existing file on the destination must
+ *                        be replaced by the downloaded file.
+ * @param listener the listener notified with the result of the download.
+ * @param bandwidthLimits the global and per-host limits for the transfer.
+ * @param rateLimiter the limiter for this transfer only, or {@code null}.
+ * @param writeStrategy the strategy used to write the file on the disk.
+ * @param preResolve indicates if the provider host is resolved before the request,
+ *                   to record the resolve phase separately from the connect phase.
+ * @see DownloadTimer#resolve(URI)
+ * @since 0.0.2
+ */
+public record TransferOptions(@NotNull Transport transport, @Nullable Checksum checksum, boolean replaceExisting,
+                              @NotNull DownloadListener listener, @NotNull BandwidthLimits bandwidthLimits,
+                              @Nullable RateLimiter rateLimiter, @NotNull WriteStrategy writeStrategy, boolean preResolve) {
+  /**
+   * Returns the default options, which use the default transport, don't
+   * verify the files, replace the existing files, don't notify any listener, and
+   * use the shared bandwidth limits, write the files using the zero-copy transfer, and
+   * don't pre-resolve the provider host.
+   *
+   * @return The default {@link TransferOptions}.
+   * @see Transport#defaultTransport()
+   * @see BandwidthLimits#shared()
+   * @see WriteStrategy#ZERO_COPY
+   * @since 0.0.2
+   */
+  public static @NotNull TransferOptions defaults() {
+    return new TransferOptions(Transport.defaultTransport(), null, true, DownloadListener.NOOP, BandwidthLimits.shared(), null,
+        WriteStrategy.ZERO_COPY, false);
+  }
+
+  /**
+   * Returns a copy of these options with the given transport.
+   *
+   * @param transport the transport used to request the file.
+   * @return A new {@link TransferOptions}.
+   * @since 0.0.2
+   */
+  public @NotNull TransferOptions withTransport(final @NotNull Transport transport) {
+    return new TransferOptions(transport, this.checksum, this.replaceExisting, this.listener, this.bandwidthLimits, this.rateLimiter,
+        this.writeStrategy, this.preResolve);
+  }
+
+  /**
+   * Returns a copy of these options with the given expected checksum.
+   *
+   * @param checksum the expected checksum, or {@code null}.
+   * @return A new {@link TransferOptions}.
+   * @since 0.0.2
+   */
+  public @NotNull TransferOptions withChecksum(final @Nullable Checksum checksum) {
+    return new TransferOptions(this.transport, checksum, this.replaceExisting, this.listener, this.bandwidthLimits, this.rateLimiter,
+        this.writeStrategy, this.preResolve);
+  }
+
+  /**
+   * Returns a copy of these options with the given replacement preference.
+   *
+   * @param replaceExisting indicates if an existing file must be replaced.
+   * @return A new {@link TransferOptions}.
+   * @since 0.0.2
+   */
+  public @NotNull TransferOptions withReplaceExisting(final boolean replaceExisting) {
+    return new TransferOptions(this.transport, this.checksum, replaceExisting, this.listener, this.bandwidthLimits, this.rateLimiter,
+        this.writeStrategy, this.preResolve);
+  }
+
+  /**
+   * Returns a copy of these options with the given listener.
+   *
+   * @param listener the listener notified with the result of the download.
+   * @return A new {@link TransferOptions}.
+   * @since 0.0.2
+   */
+  public @NotNull TransferOptions withListener(final @NotNull DownloadListener listener) {
+    return new TransferOptions(this.transport, this.checksum, this.replaceExisting, listener, this.bandwidthLimits, this.rateLimiter,
+        this.writeStrategy, this.preResolve);
+  }
+
+  /**
+   * Returns a copy of these options with the given bandwidth limits.
+   *
+   * @param bandwidthLimits the global and per-host limits for the transfer.
+   * @return A new {@link TransferOptions}.
+   * @since 0.0.2
+   */
+  public @NotNull TransferOptions withBandwidthLimits(final @NotNull BandwidthLimits bandwidthLimits) {
+    return new TransferOptions(this.transport, this.checksum, this.replaceExisting, this.listener, bandwidthLimits, this.rateLimiter,
+        this.writeStrategy, this.preResolve);
+  }
+
+  /**
+   * Returns a copy of these options with the given rate limiter for the transfer.
+   *
+   * @param rateLimiter the limiter for this transfer only, or {@code null}.
+   * @return A new {@link TransferOptions}.
+   * @since 0.0.2
+   */
+  public @NotNull TransferOptions withRateLimiter(final @Nullable RateLimiter rateLimiter) {
+    return new TransferOptions(this.transport, this.checksum, this.replaceExisting, this.listener, this.bandwidthLimits, rateLimiter,
+        this.writeStrategy, this.preResolve);
+  }
+
+  /**
+   * Returns a copy of these options with the given write strategy.
+   *
+   * @param writeStrategy the strategy used to write the file on the disk.
+   * @return A new {@link TransferOptions}.
+   * @since 0.0.2
+   */
+  public @NotNull TransferOptions withWriteStrategy(final @NotNull WriteStrategy writeStrategy) {
+    return new TransferOptions(this.transport, this.checksum, this.replaceExisting, this.listener, this.bandwidthLimits, this.rateLimiter,
+        writeStrategy, this.preResolve);
+  }
+
+  /**
+   * Returns a copy of these options with the given pre-resolution preference.
+   *
+   * @param preResolve indicates if the provider host is resolved before the request.
+   * @return A new {@link TransferOptions}.
+   * @see DownloadTimer#resolve(URI)
+   * @since 0.0.2
+   */
+  public @NotNull TransferOptions withPreResolve(final boolean preResolve) {
+    return new TransferOptions(this.transport, this.checksum, this.replaceExisting, this.listener, this.bandwidthLimits, this.rateLimiter,
+        this.writeStrategy, preResolve);
+  }
+
+  /**
+   * Returns a channel that paces the given channel using the limits of these options,
+   * the limits are checked for every chunk, so the changes on their rates apply to the
+   * transfers in progress.
+   *
+   * @param channel the channel for the response body.
+   * @param uri the provider uri.
+   * @return The throttled channel.
+   * @see BandwidthLimits#limitersFor(URI, RateLimiter)
+   * @since 0.0.2
+   */
+  public @NotNull ReadableByteChannel throttle(final @NotNull ReadableByteChannel channel, final @NotNull URI uri) {
+    return new ThrottledReadableByteChannel(channel, this.bandwidthLimits.limitersFor(uri, this.rateLimiter));
+  }
+}
@@ -0,0 +1,333 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.io;
+
+import com.sun.nio.file.ExtendedOpenOption;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This record represents the strategy used to write the downloaded files on the disk.
+ * <p>
+ * By default, the file is written using the zero-copy transfer, and flushed to the disk
+ * by {@link #sync(Path)} once completed. When many large files are downloaded at the same time, the written
+ * pages that are not flushed yet grow until the operating system flushes them at once,
+ * stalling the other processes that use the disk. The other strategies write the file
+ * by chunks using pooled buffers, and can:
+ * <ul>
+ *   <li>preallocate the file to their {@code Content-Length}, so the file doesn't
+ *   grow on every write.</li>
+ *   <li>flush the written bytes periodically, so the pages pending of flush never
+ *   exceed the sync interval.</li>
+ *   <li>use direct I/O, which writes the chunks without passing through the page
+ *   cache. If the file system doesn't support direct I/O, the file is written using
+ *   the page cache.</li>
+ * </ul>
+ *
+ * @param preallocate indicates if the file is preallocated to their content length.
+ * @param syncInterval the amount of bytes written between two flushes, or {@code 0}
+ *                     if the file is only flushed once completed.
+ * @param directIo indicates if the file is written using direct I/O.
+ * @param bufferSize the size of the chunks, a multiple of {@link BufferPool#ALIGNMENT}.
+ * @param bufferPool the pool of the buffers used for the chunks.
+ * @since 0.0.2
+ */
+public record WriteStrategy(boolean preallocate, long syncInterval, boolean directIo, int bufferSize,
+                            @NotNull BufferPool bufferPool) {
+  /**
+   * The strategy that writes the file using the zero-copy transfer, without any
+   * flush until it's synced.
+   *
+   * @since 0.0.2
+   */
+  public static final WriteStrategy ZERO_COPY = new WriteStrategy(false, 0L, false, 64 * 1024, BufferPool.shared());
+
+  /**
+   * Creates a new builder for the write strategy, by default the built strategy
+   * preallocates the file, and flushes it every 8 MiB using chunks of 1 MiB.
+   *
+   * @return A new {@link Builder}.
+   * @since 0.0.2
+   */
+  public static @NotNull Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Checks if this strategy writes the file using the zero-copy transfer.
+   *
+   * @return {@code true} if the file is not written by chunks. Otherwise {@code false}.
+   * @since 0.0.2
+   */
+  public boolean zeroCopy() {
+    return !this.preallocate && this.syncInterval == 0L && !this.directIo;
+  }
+
+  /**
+   * Writes the content of the given channel on the file, replacing their previous
+   * content. The file is not flushed once completed, so {@link #sync(Path)} must be
+   * called before the file is published.
+   *
+   * @param source the channel for the content.
+   * @param file the file to write.
+   * @param contentLength the expected length of the content, or {@code -1} if it's unknown.
+   * @return The amount of bytes written.
+   * @throws IOException if the content could not be read or written.
+   * @since 0.0.2
+   */
+  public long write(final @NotNull ReadableByteChannel source, final @NotNull Path file, final long contentLength) throws IOException {
+    if (this.zeroCopy()) {
+      try (final var fileChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+          StandardOpenOption.TRUNCATE_EXISTING)) {
+        // The transfer returns the bytes transferred until a read fails, instead of the
+        // exception, so it's continued until the end of the content, and the failed read
+        // is performed again.
+        var bytesWritten = 0L;
+        long transferred;
+        while ((transferred = fileChannel.transferFrom(source, bytesWritten, Long.MAX_VALUE - bytesWritten)) > 0L) {
+          bytesWritten += transferred;
+        }
+        return bytesWritten;
+      }
+    }
+    final var preallocated = this.preallocate && contentLength > 0L;
+    // The direct I/O only accepts aligned writes, so the file is preallocated using a
+    // regular channel before it's opened for direct I/O.
+    try (final var fileChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      if (preallocated) {
+        fileChannel.write(ByteBuffer.allocate(1), contentLength - 1L);
+      }
+      final var directChannel = this.directIo ? openDirect(file) : null;
+      if (directChannel == null) {
+        return this.write(source, fileChannel, false);
+      }
+      try (directChannel) {
+        return this.write(source, directChannel, true);
+      }
+    }
+  }
+
+  /**
+   * Flushes the content and metadata of the given file to the disk, otherwise, a crash
+   * could leave an empty file once it's published.
+   *
+   * @param file the file to flush.
+   * @throws IOException if the file could not be flushed.
+   * @since 0.0.2
+   */
+  public void sync(final @NotNull Path file) throws IOException {
+    try (final var fileChannel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      fileChannel.force(true);
+    }
+  }
+
+  /**
+   * Writes the content of the given channel by chunks.
+   *
+   * @param source the channel for the content.
+   * @param fileChannel the channel for the file.
+   * @param direct indicates if the channel uses direct I/O.
+   * @return The amount of bytes written.
+   * @throws IOException if the content could not be read or written.
+   */
+  private long write(final @NotNull ReadableByteChannel source, final @NotNull FileChannel fileChannel, final boolean direct)
+      throws IOException {
+    final var buffer = this.bufferPool.acquire(this.bufferSize);
+    try {
+      var position = 0L;
+      var unflushedBytes = 0L;
+      while (source.read(buffer) != -1) {
+        // We only write full chunks, of this way, the writes are large and aligned to the
+        // block size, as the direct I/O requires.
+        if (buffer.hasRemaining()) {
+          continue;
+        }
+        buffer.flip();
+        position += writeFully(fileChannel, buffer, position);
+        unflushedBytes += this.bufferSize;
+        buffer.clear();
+        if (this.syncInterval > 0L && unflushedBytes >= this.syncInterval) {
+          fileChannel.force(false);
+          unflushedBytes = 0L;
+        }
+      }
+      final var remainingBytes = buffer.position();
+      if (remainingBytes > 0) {
+        // The last chunk is padded to the block size for the direct I/O, the padding
+        // is removed once the file is truncated to their length.
+        if (direct) {
+          buffer.position((remainingBytes + BufferPool.ALIGNMENT - 1) / BufferPool.ALIGNMENT * BufferPool.ALIGNMENT);
+        }
+        buffer.flip();
+        writeFully(fileChannel, buffer, position);
+        position += remainingBytes;
+      }
+      // The preallocated length could be different to the received content, and the
+      // padding of the direct I/O must not be part of the file.
+      if (fileChannel.size() != position) {
+        fileChannel.truncate(position);
+      }
+      return position;
+    } finally {
+      this.bufferPool.release(buffer);
+    }
+  }
+
+  /**
+   * Writes every remaining byte of the buffer at the given position.
+   *
+   * @param fileChannel the channel for the file.
+   * @param buffer the buffer to write.
+   * @param position the position on the file.
+   * @return The amount of bytes written.
+   * @throws IOException if the buffer could not be written.
+   */
+  private static long writeFully(final @NotNull FileChannel fileChannel, final @NotNull ByteBuffer buffer, final long position)
+      throws IOException {
+    var bytesWritten = 0L;
+    while (buffer.hasRemaining()) {
+      bytesWritten += fileChannel.write(buffer, position + bytesWritten);
+    }
+    return bytesWritten;
+  }
+
+  /**
+   * Opens the given file for direct I/O.
+   *
+   * @param file the file to open.
+   * @return The channel for the file, or {@code null} if the file system doesn't
+   * support direct I/O, or their block size is not compatible with the pooled buffers.
+   */
+  private static @Nullable FileChannel openDirect(final @NotNull Path file) {
+    try {
+      final var blockSize = Files.getFileStore(file).getBlockSize();
+      if (blockSize <= 0L || BufferPool.ALIGNMENT % blockSize != 0L) {
+        return null;
+      }
+      return FileChannel.open(file, StandardOpenOption.WRITE, ExtendedOpenOption.DIRECT);
+    } catch (final IOException | UnsupportedOperationException exception) {
+      return null;
+    }
+  }
+
+  /**
+   * This class is used to build instances of the write strategy.
+   *
+   * @since 0.0.2
+   */
+  public static class Builder {
+    private boolean preallocate = true;
+    private long syncInterval = 8L * 1024L * 1024L;
+    private boolean directIo;
+    private int bufferSize = 1024 * 1024;
+    private BufferPool bufferPool = BufferPool.shared();
+
+    /**
+     * Defines if the file is preallocated to the {@code Content-Length} given by
+     * the server.
+     *
+     * @param preallocate indicates if the file is preallocated.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder preallocate(final boolean preallocate) {
+      this.preallocate = preallocate;
+      return this;
+    }
+
+    /**
+     * Defines the amount of bytes written between two flushes.
+     *
+     * @param syncInterval the sync interval, or {@code 0} to flush the file
+     *                     only once completed.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder syncEvery(final long syncInterval) {
+      this.syncInterval = syncInterval;
+      return this;
+    }
+
+    /**
+     * Defines if the file is written using direct I/O, without passing through the
+     * page cache.
+     *
+     * @param directIo indicates if direct I/O is used.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder directIo(final boolean directIo) {
+      this.directIo = directIo;
+      return this;
+    }
+
+    /**
+     * Defines the size of the chunks written on the file.
+     *
+     * @param bufferSize the chunks size, a multiple of {@link BufferPool#ALIGNMENT}.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder bufferSize(final int bufferSize) {
+      this.bufferSize = bufferSize;
+      return this;
+    }
+
+    /**
+     * Defines the pool of the buffers used for the chunks.
+     *
+     * @param bufferPool the buffer pool.
+     * @return The current builder instance.
+     * @see BufferPool#shared()
+     * @since 0.0.2
+     */
+    public @NotNull Builder bufferPool(final @NotNull BufferPool bufferPool) {
+      this.bufferPool = bufferPool;
+      return this;
+    }
+
+    /**
+     * Creates a new write strategy using the information given to the builder.
+     *
+     * @return The built {@link WriteStrategy}.
+     * @since 0.0.2
+     */
+    public @NotNull WriteStrategy build() {
+      if (this.bufferSize < BufferPool.ALIGNMENT || this.bufferSize % BufferPool.ALIGNMENT != 0) {
+        throw new IllegalStateException("The buffer size must be a multiple of " + BufferPool.ALIGNMENT + " on WriteStrategy.Builder.");
+      }
+      if (this.syncInterval < 0L) {
+        throw new IllegalStateException("The sync interval must not be negative on WriteStrategy.Builder.");
+      }
+      return new WriteStrategy(this.preallocate, this.syncInterval, this.directIo, this.bufferSize, this.bufferPool);
+    }
+  }
+}
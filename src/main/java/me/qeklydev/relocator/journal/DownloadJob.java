@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.journal;
+
+import java.util.List;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.archive.ArchiveExtraction;
+import me.qeklydev.relocator.io.Checksum;
+import me.qeklydev.relocator.transport.DecompressingTransport;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This record represents a download job persisted by the journal, the job has the
+ * information of the file downloader that can be stored, the transport, cache and
+ * listeners are given again when the job is resumed.
+ *
+ * @param id the job identifier, unique on the journal.
+ * @param fileName the name that will receive the file.
+ * @param url the url for the download.
+ * @param mirrors the mirrors for the download.
+ * @param checksum the expected checksum for the file, or {@code null}.
+ * @param segments the amount of segments for the download.
+ * @param resumable indicates if the download keeps their partial state on disk.
+ * @param replaceExisting indicates if an existing file must be replaced.
+ * @param decompress indicates if the file is requested compressed and decompressed while
+ *                   it's downloaded.
+ * @param extraction the options to extract the file, or {@code null} if it's not an archive
+ *                   that must be extracted on the directory given by the file name.
+ * @since 0.0.2
+ */
+public record DownloadJob(long id, @NotNull String fileName, @NotNull String url, @NotNull List<@NotNull String> mirrors,
+                          @Nullable Checksum checksum, int segments, boolean resumable, boolean replaceExisting,
+                          boolean decompress, @Nullable ArchiveExtraction extraction) {
+  /**
+   * Creates a new job with the information of the given file downloader.
+   *
+   * @param id the job identifier.
+   * @param downloader the file downloader.
+   * @return A new {@link DownloadJob}.
+   * @since 0.0.2
+   */
+  public static @NotNull DownloadJob of(final long id, final @NotNull FileDownloader downloader) {
+    return new DownloadJob(id, downloader.fileName(), downloader.provider(), downloader.mirrors(), downloader.checksum(),
+        downloader.segments(), downloader.resumable(), downloader.mustBeReplaced(),
+        downloader.transport() instanceof DecompressingTransport, downloader.extraction());
+  }
+
+  /**
+   * Returns a new file downloader builder with the information of this job, the
+   * builder can be configured with the information that is not persisted, e.g.
+   * the transport.
+   *
+   * @return A new {@link FileDownloader.Builder}.
+   * @since 0.0.2
+   */
+  public @NotNull FileDownloader.Builder downloader() {
+    final var builder = FileDownloader.builder()
+        .name(this.fileName)
+        .url(this.url)
+        .mirrors(this.mirrors)
+        .segments(this.segments)
+        .resume(this.resumable)
+        .replaceExisting(this.replaceExisting)
+        .decompress(this.decompress);
+    if (this.checksum != null) {
+      builder.checksum(this.checksum);
+    }
+    if (this.extraction != null) {
+      builder.extract(this.extraction);
+    }
+    return builder;
+  }
+}
@@ -0,0 +1,621 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.journal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.archive.ArchiveExtraction;
+import me.qeklydev.relocator.archive.ArchiveFormat;
+import me.qeklydev.relocator.io.Checksum;
+import me.qeklydev.relocator.io.ChecksumAlgorithm;
+import me.qeklydev.relocator.io.DownloadStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class is an append-only journal for the download jobs, the journal records
+ * when a job is submitted, the result of every attempt, and when the job has been
+ * completed, so the unfinished jobs can be resumed after the JVM has been killed.
+ * <p>
+ * The journal file is memory-mapped, of this way, a record is on the operating system
+ * page cache once it has been appended, and survives the process. The submissions
+ * and completions are forced to the disk, the checkpoints are not, because losing
+ * one only loses information about an attempt. Every record has a CRC-32, so a
+ * record that was being written during a crash is ignored when the journal is opened.
+ * <p>
+ * The completed jobs are removed from the journal by the compaction, which rewrites
+ * the unfinished jobs into a new file that atomically replaces the journal.
+ *
+ * @since 0.0.2
+ */
+public final class DownloadJournal implements AutoCloseable {
+  /**
+   * The journal size after which the journal is compacted when a job is completed,
+   * if most of their records are no longer required.
+   *
+   * @since 0.0.2
+   */
+  public static final long DEFAULT_COMPACTION_THRESHOLD = 1024L * 1024L;
+  private static final int INITIAL_CAPACITY = 64 * 1024;
+  private static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES + Byte.BYTES;
+  private static final byte SUBMITTED = 1;
+  private static final byte CHECKPOINT = 2;
+  private static final byte COMPLETED = 3;
+  private static final int JOB_VERSION = 1;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Path file;
+  private final long compactionThreshold;
+  private final Map<Long, DownloadJob> unfinishedJobs = new LinkedHashMap<>();
+  private final Map<Long, Checkpoint> checkpoints = new HashMap<>();
+  private FileChannel channel;
+  private MappedByteBuffer buffer;
+  private int position;
+  private int records;
+  private long nextId = 1L;
+
+  private DownloadJournal(final @NotNull Path file, final long compactionThreshold) {
+    this.file = file;
+    this.compactionThreshold = compactionThreshold;
+  }
+
+  /**
+   * Opens the journal on the given file, creating it if it doesn't exist, and replays
+   * their records to know the unfinished jobs.
+   *
+   * @param file the journal file.
+   * @return The opened {@link DownloadJournal}.
+   * @throws IOException if the journal could not be opened.
+   * @see #DEFAULT_COMPACTION_THRESHOLD
+   * @since 0.0.2
+   */
+  public static @NotNull DownloadJournal open(final @NotNull Path file) throws IOException {
+    return open(file, DEFAULT_COMPACTION_THRESHOLD);
+  }
+
+  /**
+   * Opens the journal on the given file, creating it if it doesn't exist, and replays
+   * their records to know the unfinished jobs.
+   *
+   * @param file the journal file.
+   * @param compactionThreshold the journal size, in bytes, after which the journal is compacted.
+   * @return The opened {@link DownloadJournal}.
+   * @throws IOException if the journal could not be opened.
+   * @since 0.0.2
+   */
+  public static @NotNull DownloadJournal open(final @NotNull Path file, final long compactionThreshold) throws IOException {
+    final var journal = new DownloadJournal(file.toAbsolutePath(), compactionThreshold);
+    journal.replay();
+    return journal;
+  }
+
+  /**
+   * Records the submission of the given file downloader, the record is forced to the
+   * disk before this method returns.
+   *
+   * @param downloader the file downloader.
+   * @return The {@link DownloadJob} for the file downloader.
+   * @throws IOException if the record could not be written.
+   * @since 0.0.2
+   */
+  public @NotNull DownloadJob submit(final @NotNull FileDownloader downloader) throws IOException {
+    this.lock.lock();
+    try {
+      final var job = DownloadJob.of(this.nextId++, downloader);
+      this.append(SUBMITTED, encodeJob(job), true);
+      this.unfinishedJobs.put(job.id(), job);
+      return job;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Records the result of an attempt of the given job, the record is not forced
+   * to the disk.
+   *
+   * @param id the job identifier.
+   * @param status the status of the attempt.
+   * @param bytes the bytes transferred by the attempt.
+   * @throws IOException if the record could not be written.
+   * @since 0.0.2
+   */
+  public void checkpoint(final long id, final @NotNull DownloadStatus status, final long bytes) throws IOException {
+    this.lock.lock();
+    try {
+      if (!this.unfinishedJobs.containsKey(id)) {
+        return;
+      }
+      this.append(CHECKPOINT, encodeResult(id, status, bytes), false);
+      this.checkpoints.put(id, new Checkpoint(status, bytes));
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Records the completion of the given job, the record is forced to the disk before
+   * this method returns, and the journal is compacted if it has exceeded the compaction
+   * threshold and most of their records are no longer required.
+   *
+   * @param id the job identifier.
+   * @param status the final status of the job.
+   * @param bytes the bytes of the downloaded file.
+   * @throws IOException if the record could not be written.
+   * @since 0.0.2
+   */
+  public void complete(final long id, final @NotNull DownloadStatus status, final long bytes) throws IOException {
+    this.lock.lock();
+    try {
+      if (this.unfinishedJobs.remove(id) == null) {
+        return;
+      }
+      this.checkpoints.remove(id);
+      this.append(COMPLETED, encodeResult(id, status, bytes), true);
+      final var requiredRecords = this.unfinishedJobs.size() + this.checkpoints.size();
+      if (this.position > this.compactionThreshold && this.records > requiredRecords * 2) {
+        this.compact();
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the jobs that have been submitted, and not completed.
+   *
+   * @return The unfinished jobs, in submission order.
+   * @since 0.0.2
+   */
+  public @NotNull List<@NotNull DownloadJob> unfinished() {
+    this.lock.lock();
+    try {
+      return List.copyOf(this.unfinishedJobs.values());
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the last checkpoint of the given unfinished job.
+   *
+   * @param id the job identifier.
+   * @return The last {@link Checkpoint}, or {@code null} if the job has not been attempted.
+   * @since 0.0.2
+   */
+  public @Nullable Checkpoint lastCheckpoint(final long id) {
+    this.lock.lock();
+    try {
+      return this.checkpoints.get(id);
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the amount of bytes used by the journal records.
+   *
+   * @return The journal size.
+   * @since 0.0.2
+   */
+  public long size() {
+    this.lock.lock();
+    try {
+      return this.position;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Rewrites the journal with only the records of the unfinished jobs, the records are
+   * written into a new file that atomically replaces the journal, so a crash during the
+   * compaction leaves the previous journal.
+   *
+   * @throws IOException if the journal could not be compacted.
+   * @since 0.0.2
+   */
+  public void compact() throws IOException {
+    this.lock.lock();
+    try {
+      this.ensureOpen();
+      final var compactedFile = this.file.resolveSibling(this.file.getFileName() + ".compact");
+      var compactedRecords = 0;
+      try (final var compactedChannel = FileChannel.open(compactedFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+          StandardOpenOption.WRITE)) {
+        for (final var job : this.unfinishedJobs.values()) {
+          writeFully(compactedChannel, record(SUBMITTED, encodeJob(job)));
+          compactedRecords++;
+          final var checkpoint = this.checkpoints.get(job.id());
+          if (checkpoint != null) {
+            writeFully(compactedChannel, record(CHECKPOINT, encodeResult(job.id(), checkpoint.status(), checkpoint.bytes())));
+            compactedRecords++;
+          }
+        }
+        compactedChannel.force(true);
+      }
+      this.channel.close();
+      Files.move(compactedFile, this.file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      this.channel = FileChannel.open(this.file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      this.position = (int) this.channel.size();
+      this.records = compactedRecords;
+      this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0L, Math.max(INITIAL_CAPACITY, this.position * 2L));
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Forces the records to the disk and closes the journal.
+   *
+   * @throws IOException if the journal could not be closed.
+   * @since 0.0.2
+   */
+  @Override
+  public void close() throws IOException {
+    this.lock.lock();
+    try {
+      if (this.channel == null) {
+        return;
+      }
+      this.buffer.force();
+      this.channel.close();
+      this.channel = null;
+      this.buffer = null;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Maps the journal file, and applies their valid records.
+   *
+   * @throws IOException if the journal could not be read.
+   */
+  private void replay() throws IOException {
+    this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    final var fileSize = this.channel.size();
+    if (fileSize > Integer.MAX_VALUE) {
+      throw new IOException("The journal " + this.file + " is too big to be mapped.");
+    }
+    this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0L, Math.max(INITIAL_CAPACITY, fileSize));
+    var offset = 0;
+    while (offset + RECORD_HEADER_SIZE <= this.buffer.capacity()) {
+      final var length = this.buffer.getInt(offset);
+      if (length <= 0 || length > this.buffer.capacity() - offset - RECORD_HEADER_SIZE) {
+        break;
+      }
+      final var type = this.buffer.get(offset + Integer.BYTES * 2);
+      final var payload = new byte[length];
+      this.buffer.get(offset + RECORD_HEADER_SIZE, payload);
+      // A record with a wrong checksum was being written when the process was stopped, so
+      // it's the end of the journal.
+      if (this.buffer.getInt(offset + Integer.BYTES) != checksumOf(type, payload)) {
+        break;
+      }
+      // A record with an unknown status was not written by this version, so it's handled
+      // as a corrupt record too.
+      if (!this.apply(type, payload)) {
+        break;
+      }
+      offset += RECORD_HEADER_SIZE + length;
+      this.records++;
+    }
+    this.position = offset;
+    // The incomplete record is cleared, so their bytes are not read after the next appended record.
+    if (offset + Integer.BYTES <= this.buffer.capacity() && this.buffer.getInt(offset) != 0) {
+      final var incompleteLength = Math.max(0, this.buffer.getInt(offset));
+      final var end = (int) Math.min(this.buffer.capacity(), (long) offset + RECORD_HEADER_SIZE + incompleteLength);
+      for (var index = offset; index < end; index++) {
+        this.buffer.put(index, (byte) 0);
+      }
+    }
+  }
+
+  /**
+   * Applies the given record to the journal state.
+   *
+   * @param type the record type.
+   * @param payload the record payload.
+   * @return {@code true} if the record was applied, or {@code false} if it has an
+   * unknown status or job version.
+   * @throws IOException if the payload is not valid.
+   */
+  private boolean apply(final byte type, final byte @NotNull [] payload) throws IOException {
+    final var input = new DataInputStream(new ByteArrayInputStream(payload));
+    if (type == SUBMITTED) {
+      final var job = decodeJob(input);
+      if (job == null) {
+        return false;
+      }
+      this.unfinishedJobs.put(job.id(), job);
+      this.nextId = Math.max(this.nextId, job.id() + 1L);
+      return true;
+    }
+    final var id = input.readLong();
+    final var status = statusOf(input.readUnsignedByte());
+    if (status == null) {
+      return false;
+    }
+    final var bytes = input.readLong();
+    if (type == CHECKPOINT && this.unfinishedJobs.containsKey(id)) {
+      this.checkpoints.put(id, new Checkpoint(status, bytes));
+    } else if (type == COMPLETED) {
+      this.unfinishedJobs.remove(id);
+      this.checkpoints.remove(id);
+    }
+    return true;
+  }
+
+  /**
+   * Appends a record to the journal, growing the mapped region if required.
+   *
+   * @param type the record type.
+   * @param payload the record payload.
+   * @param force indicates if the record must be forced to the disk.
+   * @throws IOException if the record could not be written.
+   */
+  private void append(final byte type, final byte @NotNull [] payload, final boolean force) throws IOException {
+    this.ensureOpen();
+    final var record = record(type, payload);
+    // The record is followed by the length of the next record, which must be zero.
+    final var requiredCapacity = (long) this.position + record.remaining() + Integer.BYTES;
+    if (requiredCapacity > this.buffer.capacity()) {
+      if (requiredCapacity > Integer.MAX_VALUE) {
+        throw new IOException("The journal " + this.file + " is too big to be mapped.");
+      }
+      this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0L,
+          Math.min(Integer.MAX_VALUE, Math.max(requiredCapacity, this.buffer.capacity() * 2L)));
+    }
+    final var length = record.remaining();
+    this.buffer.put(this.position, record, 0, length);
+    this.position += length;
+    this.records++;
+    if (force) {
+      this.buffer.force();
+    }
+  }
+
+  /**
+   * Checks that the journal has not been closed.
+   *
+   * @throws IOException if the journal has been closed.
+   */
+  private void ensureOpen() throws IOException {
+    if (this.channel == null) {
+      throw new IOException("The journal " + this.file + " has been closed.");
+    }
+  }
+
+  /**
+   * Creates a record with the given type and payload.
+   *
+   * @param type the record type.
+   * @param payload the record payload.
+   * @return The record, with their length, checksum and type before the payload.
+   */
+  private static @NotNull ByteBuffer record(final byte type, final byte @NotNull [] payload) {
+    return ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length)
+        .putInt(payload.length)
+        .putInt(checksumOf(type, payload))
+        .put(type)
+        .put(payload)
+        .flip();
+  }
+
+  /**
+   * Computes the checksum of a record.
+   *
+   * @param type the record type.
+   * @param payload the record payload.
+   * @return The CRC-32 of the type and the payload.
+   */
+  private static int checksumOf(final byte type, final byte @NotNull [] payload) {
+    final var crc = new CRC32();
+    crc.update(type);
+    crc.update(payload);
+    return (int) crc.getValue();
+  }
+
+  /**
+   * Writes the given buffer to the given channel.
+   *
+   * @param channel the channel to write.
+   * @param buffer the buffer to write.
+   * @throws IOException if the buffer could not be written.
+   */
+  private static void writeFully(final @NotNull FileChannel channel, final @NotNull ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  /**
+   * Encodes the given job as the payload of a submission record.
+   *
+   * @param job the download job.
+   * @return The payload.
+   * @throws IOException if the job could not be encoded.
+   */
+  private static byte @NotNull [] encodeJob(final @NotNull DownloadJob job) throws IOException {
+    final var payload = new ByteArrayOutputStream();
+    final var output = new DataOutputStream(payload);
+    output.writeLong(job.id());
+    output.writeUTF(job.fileName());
+    output.writeUTF(job.url());
+    output.writeInt(job.mirrors().size());
+    for (final var mirror : job.mirrors()) {
+      output.writeUTF(mirror);
+    }
+    output.writeBoolean(job.checksum() != null);
+    if (job.checksum() != null) {
+      output.writeUTF(job.checksum().algorithm().name());
+      output.writeUTF(job.checksum().value());
+    }
+    output.writeInt(job.segments());
+    output.writeBoolean(job.resumable());
+    output.writeBoolean(job.replaceExisting());
+    // The fields added after the first version are written after their version, the
+    // records written by the first version end before it.
+    output.writeByte(JOB_VERSION);
+    output.writeBoolean(job.decompress());
+    final var extraction = job.extraction();
+    output.writeBoolean(extraction != null);
+    if (extraction != null) {
+      output.writeUTF((extraction.format() == null) ? "" : extraction.format().name());
+      output.writeInt(extraction.stripComponents());
+      output.writeInt(extraction.includes().size());
+      for (final var include : extraction.includes()) {
+        output.writeUTF(include);
+      }
+    }
+    return payload.toByteArray();
+  }
+
+  /**
+   * Decodes a job since the payload of a submission record.
+   *
+   * @param input the payload.
+   * @return The {@link DownloadJob}, or {@code null} if the job was written by a newer
+   * version.
+   * @throws IOException if the payload is not valid.
+   */
+  private static @Nullable DownloadJob decodeJob(final @NotNull DataInputStream input) throws IOException {
+    final var id = input.readLong();
+    final var fileName = input.readUTF();
+    final var url = input.readUTF();
+    final var mirrorsAmount = input.readInt();
+    final var mirrors = new ArrayList<String>(mirrorsAmount);
+    for (var index = 0; index < mirrorsAmount; index++) {
+      mirrors.add(input.readUTF());
+    }
+    final var checksum = input.readBoolean() ? new Checksum(ChecksumAlgorithm.valueOf(input.readUTF()), input.readUTF()) : null;
+    final var segments = input.readInt();
+    final var resumable = input.readBoolean();
+    final var replaceExisting = input.readBoolean();
+    // The records written by the first version don't have the versioned fields.
+    if (input.available() == 0) {
+      return new DownloadJob(id, fileName, url, List.copyOf(mirrors), checksum, segments, resumable, replaceExisting, false, null);
+    }
+    if (input.readUnsignedByte() > JOB_VERSION) {
+      return null;
+    }
+    final var decompress = input.readBoolean();
+    ArchiveExtraction extraction = null;
+    if (input.readBoolean()) {
+      final var format = input.readUTF();
+      final var builder = ArchiveExtraction.builder().stripComponents(input.readInt());
+      if (!format.isEmpty()) {
+        builder.format(ArchiveFormat.valueOf(format));
+      }
+      final var includesAmount = input.readInt();
+      for (var index = 0; index < includesAmount; index++) {
+        builder.include(input.readUTF());
+      }
+      extraction = builder.build();
+    }
+    return new DownloadJob(id, fileName, url, List.copyOf(mirrors), checksum, segments, resumable, replaceExisting, decompress, extraction);
+  }
+
+  /**
+   * Encodes the given result as the payload of a checkpoint or completion record.
+   *
+   * @param id the job identifier.
+   * @param status the download status.
+   * @param bytes the transferred bytes.
+   * @return The payload.
+   * @throws IOException if the result could not be encoded.
+   */
+  private static byte @NotNull [] encodeResult(final long id, final @NotNull DownloadStatus status, final long bytes) throws IOException {
+    final var payload = new ByteArrayOutputStream();
+    final var output = new DataOutputStream(payload);
+    output.writeLong(id);
+    output.writeByte(codeOf(status));
+    output.writeLong(bytes);
+    return payload.toByteArray();
+  }
+
+  /**
+   * Returns the code persisted for the given status, the codes must never change, as
+   * they're read by the journals written by previous versions.
+   *
+   * @param status the download status.
+   * @return The status code.
+   */
+  private static int codeOf(final @NotNull DownloadStatus status) {
+    return switch (status) {
+      case SUCCESSFUL -> 0;
+      case CACHED -> 1;
+      case SKIPPED -> 2;
+      case HTTP_ERROR -> 3;
+      case CHECKSUM_MISMATCH -> 4;
+      case FAILED -> 5;
+    };
+  }
+
+  /**
+   * Returns the status for the given persisted code.
+   *
+   * @param code the status code.
+   * @return The {@link DownloadStatus}, or {@code null} if the code is unknown.
+   * @see #codeOf(DownloadStatus)
+   */
+  private static @Nullable DownloadStatus statusOf(final int code) {
+    return switch (code) {
+      case 0 -> DownloadStatus.SUCCESSFUL;
+      case 1 -> DownloadStatus.CACHED;
+      case 2 -> DownloadStatus.SKIPPED;
+      case 3 -> DownloadStatus.HTTP_ERROR;
+      case 4 -> DownloadStatus.CHECKSUM_MISMATCH;
+      case 5 -> DownloadStatus.FAILED;
+      default -> null;
+    };
+  }
+
+  /**
+   * This record represents the result of the last attempt of a job.
+   *
+   * @param status the status of the attempt.
+   * @param bytes the bytes transferred by the attempt.
+   * @since 0.0.2
+   */
+  public record Checkpoint(@NotNull DownloadStatus status, long bytes) {
+  }
+}
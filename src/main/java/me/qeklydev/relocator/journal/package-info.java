@@ -0,0 +1,6 @@
+/**
+ * Provides the journal that persists the download jobs, so they can be resumed after a restart.
+ *
+ * @since 0.0.2
+ */
+package me.qeklydev.relocator.journal;
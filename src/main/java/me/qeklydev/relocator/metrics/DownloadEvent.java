@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Frequency;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * This class is the JFR event committed for every finished download, the
+ * event can be recorded using the {@code jdk.jfr} tooling (e.g. JDK Mission
+ * Control), without any additional dependency.
+ *
+ * @since 0.0.2
+ */
+@Name("me.qeklydev.relocator.Download")
+@Label("Download")
+@Category({"File Relocator", "Download"})
+@Description("A file download, with the time spent on every phase.")
+public class DownloadEvent extends Event {
+  @Label("Provider")
+  String provider;
+  @Label("File Name")
+  String fileName;
+  @Label("Status")
+  String status;
+  @Label("Status Code")
+  int statusCode;
+  @Label("Bytes")
+  @DataAmount
+  long bytes;
+  @Label("Resolve")
+  @Timespan
+  long resolve;
+  @Label("Connect")
+  @Timespan
+  long connect;
+  @Label("First Byte")
+  @Timespan
+  long firstByte;
+  @Label("Transfer")
+  @Timespan
+  long transfer;
+  @Label("Flush")
+  @Timespan
+  long flush;
+  @Label("Throughput")
+  @DataAmount(DataAmount.BYTES)
+  @Frequency
+  @Description("The bytes transferred per second.")
+  double throughput;
+}
@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.metrics;
+
+import me.qeklydev.relocator.io.DownloadListener;
+import me.qeklydev.relocator.io.DownloadResult;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class is a download listener that commits a {@link DownloadEvent} for every
+ * finished download, if the event is not enabled on the current recording, the
+ * listener doesn't perform any action.
+ *
+ * @since 0.0.2
+ */
+public final class JfrDownloadListener implements DownloadListener {
+  /**
+   * The shared instance for this listener, the listener has no state, so it
+   * can be used by every download.
+   *
+   * @since 0.0.2
+   */
+  public static final JfrDownloadListener INSTANCE = new JfrDownloadListener();
+
+  private JfrDownloadListener() {}
+
+  @Override
+  public void onDownload(final @NotNull DownloadResult result) {
+    final var event = new DownloadEvent();
+    if (!event.isEnabled()) {
+      return;
+    }
+    final var timings = result.timings();
+    event.provider = result.provider();
+    event.fileName = result.fileName();
+    event.status = result.status().name();
+    event.statusCode = result.statusCode();
+    event.bytes = result.bytes();
+    // The JFR timespans are recorded in nanoseconds by default.
+    event.resolve = timings.resolve().toNanos();
+    event.connect = timings.connect().toNanos();
+    event.firstByte = timings.firstByte().toNanos();
+    event.transfer = timings.transfer().toNanos();
+    event.flush = timings.flush().toNanos();
+    event.throughput = result.throughput();
+    event.commit();
+  }
+}
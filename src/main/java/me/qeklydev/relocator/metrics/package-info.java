@@ -0,0 +1,6 @@
+/**
+ * Provides the exporters for the download metrics.
+ *
+ * @since 0.0.2
+ */
+package me.qeklydev.relocator.metrics;
\ No newline at end of file
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.provider;
+
+import java.util.regex.Pattern;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This record represents the coordinate of an artifact on a provider, the resolvers
+ * choose the highest version of the project inside the version range.
+ *
+ * @param project the project on the provider, e.g. {@code owner/repository} for GitHub, or
+ *                the project slug or id for Modrinth.
+ * @param versions the range of accepted versions.
+ * @param loader the loader required for the artifact (e.g. {@code paper}, {@code fabric}), or
+ *               {@code null} if any loader is accepted.
+ * @param filePattern the pattern that the artifact file name must match, or {@code null} to
+ *                    use the main file of the version.
+ * @since 0.0.2
+ */
+public record ArtifactCoordinate(@NotNull String project, @NotNull VersionRange versions, @Nullable String loader,
+                                 @Nullable Pattern filePattern) {
+  /**
+   * Creates a new coordinate for the given project and version range.
+   *
+   * @param project the project on the provider.
+   * @param versionRange the range of accepted versions.
+   * @return A new {@link ArtifactCoordinate}.
+   * @see VersionRange#parse(String)
+   * @since 0.0.2
+   */
+  public static @NotNull ArtifactCoordinate of(final @NotNull String project, final @NotNull String versionRange) {
+    return new ArtifactCoordinate(project, VersionRange.parse(versionRange), null, null);
+  }
+
+  /**
+   * Returns a copy of this coordinate with the given loader.
+   *
+   * @param loader the loader required for the artifact.
+   * @return A new {@link ArtifactCoordinate}.
+   * @since 0.0.2
+   */
+  public @NotNull ArtifactCoordinate withLoader(final @Nullable String loader) {
+    return new ArtifactCoordinate(this.project, this.versions, loader, this.filePattern);
+  }
+
+  /**
+   * Returns a copy of this coordinate with the given file name pattern.
+   *
+   * @param filePattern the regular expression that the file name must match.
+   * @return A new {@link ArtifactCoordinate}.
+   * @since 0.0.2
+   */
+  public @NotNull ArtifactCoordinate withFilePattern(final @NotNull String filePattern) {
+    return new ArtifactCoordinate(this.project, this.versions, this.loader, Pattern.compile(filePattern));
+  }
+
+  /**
+   * Checks if the given file name is accepted by this coordinate.
+   *
+   * @param fileName the artifact file name.
+   * @return {@code true} if there's no pattern, or the file name matches it. Otherwise {@code false}.
+   * @since 0.0.2
+   */
+  public boolean acceptsFile(final @NotNull String fileName) {
+    return this.filePattern == null || this.filePattern.matcher(fileName).matches();
+  }
+}
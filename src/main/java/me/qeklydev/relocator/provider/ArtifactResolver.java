@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.provider;
+
+import java.io.IOException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This interface is used to resolve artifact coordinates into download urls for
+ * a provider, the implementations should keep their metadata on a
+ * {@link MetadataCache}, so the resolution of the same artifacts doesn't exceed
+ * the provider rate limits.
+ *
+ * @since 0.0.2
+ */
+public interface ArtifactResolver {
+  /**
+   * Returns the id for this resolver, e.g. {@code github}.
+   *
+   * @return The resolver id.
+   * @since 0.0.2
+   */
+  @NotNull String id();
+
+  /**
+   * Resolves the given coordinate into the highest version of the project inside
+   * the version range.
+   *
+   * @param coordinate the artifact coordinate.
+   * @return The {@link ResolvedArtifact}.
+   * @throws IOException if the metadata could not be requested, or there's no artifact
+   *                     for the coordinate.
+   * @since 0.0.2
+   */
+  @NotNull ResolvedArtifact resolve(final @NotNull ArtifactCoordinate coordinate) throws IOException;
+}
@@ -0,0 +1,249 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.provider;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Locale;
+import java.util.Map;
+import me.qeklydev.relocator.io.Checksum;
+import me.qeklydev.relocator.io.Json;
+import me.qeklydev.relocator.transport.Transport;
+import me.qeklydev.relocator.transport.TransportRequest;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class resolves the artifacts of the GitHub releases, the project is the
+ * repository ({@code owner/repository}), the version is the release tag, and the
+ * artifact is an asset of the release.
+ * <p>
+ * The drafts and pre-releases are ignored. If the coordinate has a loader, the assets
+ * whose name contains it are preferred. The checksum is taken from the asset digest
+ * when GitHub provides it.
+ * <p>
+ * The releases are requested by pages of 100 releases, since the newest, until a page
+ * has a release for the coordinate. Only the latest 1000 releases are searched.
+ *
+ * @since 0.0.2
+ */
+public final class GitHubReleasesResolver implements ArtifactResolver {
+  /**
+   * The url for the GitHub REST API.
+   *
+   * @since 0.0.2
+   */
+  public static final URI DEFAULT_API_URI = URI.create("https://api.github.com/");
+  private static final int RELEASES_PER_PAGE = 100;
+  private static final int MAX_PAGES = 10;
+  private final URI apiUri;
+  private final @Nullable String token;
+  private final Transport transport;
+  private final MetadataCache metadataCache;
+
+  private GitHubReleasesResolver(final @NotNull URI apiUri, final @Nullable String token, final @NotNull Transport transport,
+                                 final @NotNull MetadataCache metadataCache) {
+    this.apiUri = apiUri;
+    this.token = token;
+    this.transport = transport;
+    this.metadataCache = metadataCache;
+  }
+
+  /**
+   * Creates a new builder for the GitHub releases resolver.
+   *
+   * @return A new {@link Builder}.
+   * @since 0.0.2
+   */
+  public static @NotNull Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public @NotNull String id() {
+    return "github";
+  }
+
+  @Override
+  public @NotNull ResolvedArtifact resolve(final @NotNull ArtifactCoordinate coordinate) throws IOException {
+    Map<String, Object> selectedRelease = null;
+    Map<String, Object> selectedAsset = null;
+    String selectedVersion = null;
+    var lastPage = false;
+    for (var page = 1; page <= MAX_PAGES && selectedRelease == null && !lastPage; page++) {
+      final var releases = Json.array(this.releases(coordinate, page));
+      // The releases are listed since the newest, so the next pages are only requested if
+      // this page has no release for the coordinate.
+      lastPage = releases.size() < RELEASES_PER_PAGE;
+      for (final var releaseValue : releases) {
+        final var release = Json.object(releaseValue);
+        final var tag = Json.string(release.get("tag_name"));
+        if (tag == null || Boolean.TRUE.equals(release.get("draft")) || Boolean.TRUE.equals(release.get("prerelease"))
+            || !coordinate.versions().contains(tag)) {
+          continue;
+        }
+        if (selectedVersion != null && VersionRange.compareVersions(tag, selectedVersion) <= 0) {
+          continue;
+        }
+        // A release without an accepted asset can't be resolved, so an older release is used.
+        final var asset = selectAsset(release, coordinate);
+        if (asset != null) {
+          selectedRelease = release;
+          selectedAsset = asset;
+          selectedVersion = tag;
+        }
+      }
+    }
+    if (selectedRelease == null) {
+      throw new IOException("There's no release of " + coordinate.project() + " for the range " + coordinate.versions()
+          + (lastPage ? "" : " on the latest " + (MAX_PAGES * RELEASES_PER_PAGE) + " releases"));
+    }
+    final var digest = Json.string(selectedAsset.get("digest"));
+    final var checksum = (digest != null && digest.startsWith("sha256:")) ? Checksum.sha256(digest.substring("sha256:".length())) : null;
+    return new ResolvedArtifact(this.id(), coordinate.project(), selectedVersion, Json.string(selectedAsset.get("name")),
+        Json.string(selectedAsset.get("browser_download_url")), checksum);
+  }
+
+  /**
+   * Requests the given page of the releases of the coordinate project.
+   *
+   * @param coordinate the artifact coordinate.
+   * @param page the page number, starting with {@code 1}.
+   * @return The parsed releases.
+   * @throws IOException if the releases could not be requested or are not valid JSON.
+   */
+  private @Nullable Object releases(final @NotNull ArtifactCoordinate coordinate, final int page) throws IOException {
+    var request = TransportRequest.get(this.apiUri.resolve("repos/" + coordinate.project() + "/releases?per_page=" + RELEASES_PER_PAGE
+            + "&page=" + page))
+        .withHeader("Accept", "application/vnd.github+json");
+    if (this.token != null) {
+      request = request.withHeader("Authorization", "Bearer " + this.token);
+    }
+    try {
+      return Json.parse(this.metadataCache.fetch(request, this.transport));
+    } catch (final IllegalArgumentException exception) {
+      throw new IOException("The releases of " + coordinate.project() + " are not valid JSON.", exception);
+    }
+  }
+
+  /**
+   * Selects the asset of the release for the given coordinate.
+   *
+   * @param release the release.
+   * @param coordinate the artifact coordinate.
+   * @return The selected asset, or {@code null} if no asset is accepted.
+   */
+  private static @Nullable Map<String, Object> selectAsset(final @NotNull Map<String, Object> release,
+                                                           final @NotNull ArtifactCoordinate coordinate) {
+    Map<String, Object> selectedAsset = null;
+    for (final var assetValue : Json.array(release.get("assets"))) {
+      final var asset = Json.object(assetValue);
+      final var name = Json.string(asset.get("name"));
+      if (name == null || Json.string(asset.get("browser_download_url")) == null || !coordinate.acceptsFile(name)) {
+        continue;
+      }
+      if (coordinate.loader() == null || name.toLowerCase(Locale.ROOT).contains(coordinate.loader().toLowerCase(Locale.ROOT))) {
+        return asset;
+      }
+      if (selectedAsset == null) {
+        selectedAsset = asset;
+      }
+    }
+    return selectedAsset;
+  }
+
+  /**
+   * This class is used to build instances of the GitHub releases resolver.
+   *
+   * @since 0.0.2
+   */
+  public static class Builder {
+    private URI apiUri = DEFAULT_API_URI;
+    private String token;
+    private Transport transport = Transport.defaultTransport();
+    private MetadataCache metadataCache;
+
+    /**
+     * Defines the url for the GitHub API, e.g. for GitHub Enterprise, or a stub server.
+     *
+     * @param apiUri the API url, ending with {@code /}.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder apiUri(final @NotNull URI apiUri) {
+      this.apiUri = apiUri;
+      return this;
+    }
+
+    /**
+     * Defines the token used to authenticate the requests, the authenticated requests
+     * have a higher rate limit.
+     *
+     * @param token the GitHub token.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder token(final @NotNull String token) {
+      this.token = token;
+      return this;
+    }
+
+    /**
+     * Defines the transport used to request the metadata.
+     *
+     * @param transport the transport for the requests.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder transport(final @NotNull Transport transport) {
+      this.transport = transport;
+      return this;
+    }
+
+    /**
+     * Defines the cache for the metadata, by default every resolver has their own
+     * cache with the default time-to-live.
+     *
+     * @param metadataCache the metadata cache.
+     * @return The current builder instance.
+     * @see MetadataCache#DEFAULT_TIME_TO_LIVE
+     * @since 0.0.2
+     */
+    public @NotNull Builder metadataCache(final @NotNull MetadataCache metadataCache) {
+      this.metadataCache = metadataCache;
+      return this;
+    }
+
+    /**
+     * Creates a new GitHub releases resolver using the information given to
+     * the builder.
+     *
+     * @return The built {@link GitHubReleasesResolver}.
+     * @since 0.0.2
+     */
+    public @NotNull GitHubReleasesResolver build() {
+      final var cache = (this.metadataCache == null) ? MetadataCache.create(MetadataCache.DEFAULT_TIME_TO_LIVE) : this.metadataCache;
+      return new GitHubReleasesResolver(this.apiUri, this.token, this.transport, cache);
+    }
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.provider;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import me.qeklydev.relocator.transport.Transport;
+import me.qeklydev.relocator.transport.TransportRequest;
+import me.qeklydev.relocator.transport.TransportResponse;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class is a cache for the metadata requested by the resolvers, the metadata is
+ * kept without any request during the time-to-live, and then it's revalidated using a
+ * conditional request (If-None-Match/If-Modified-Since), the revalidations answered with
+ * {@code 304 Not Modified} don't count against the rate limits of most APIs.
+ * <p>
+ * The cache can be shared by many resolvers, the entries are kept by their url.
+ *
+ * @since 0.0.2
+ */
+public final class MetadataCache {
+  /**
+   * The time-to-live used by the resolvers that don't define their own cache.
+   *
+   * @since 0.0.2
+   */
+  public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5L);
+  private static final int MAXIMUM_METADATA_SIZE = 16 * 1024 * 1024;
+  private static final int BUFFER_SIZE = 16 * 1024;
+  private final Duration timeToLive;
+  private final Map<URI, Entry> entries = new ConcurrentHashMap<>();
+
+  private MetadataCache(final @NotNull Duration timeToLive) {
+    this.timeToLive = timeToLive;
+  }
+
+  /**
+   * Creates a new metadata cache with the given time-to-live.
+   *
+   * @param timeToLive the time that the metadata is kept without revalidation.
+   * @return A new {@link MetadataCache}.
+   * @since 0.0.2
+   */
+  public static @NotNull MetadataCache create(final @NotNull Duration timeToLive) {
+    if (timeToLive.isNegative()) {
+      throw new IllegalArgumentException("The time-to-live must not be negative.");
+    }
+    return new MetadataCache(timeToLive);
+  }
+
+  /**
+   * Returns the metadata for the given request, the metadata is requested only if
+   * it's not cached, or the time-to-live has expired and the server confirms that
+   * it has been modified.
+   *
+   * @param request the request for the metadata.
+   * @param transport the transport used to request the metadata.
+   * @return The metadata body as text.
+   * @throws IOException if the metadata could not be requested.
+   * @since 0.0.2
+   */
+  public @NotNull String fetch(final @NotNull TransportRequest request, final @NotNull Transport transport) throws IOException {
+    final var now = System.currentTimeMillis();
+    final var entry = this.entries.get(request.uri());
+    if (entry != null && now - entry.validatedAt() < this.timeToLive.toMillis()) {
+      return entry.body();
+    }
+    var conditionalRequest = request;
+    if (entry != null) {
+      if (entry.entityTag() != null) {
+        conditionalRequest = conditionalRequest.withHeader("If-None-Match", entry.entityTag());
+      }
+      if (entry.lastModified() != null) {
+        conditionalRequest = conditionalRequest.withHeader("If-Modified-Since", entry.lastModified());
+      }
+    }
+    try (final var response = transport.open(conditionalRequest)) {
+      if (entry != null && response.statusCode() == TransportResponse.NOT_MODIFIED) {
+        this.entries.put(request.uri(), entry.withValidatedAt(now));
+        return entry.body();
+      }
+      if (response.statusCode() != TransportResponse.OK) {
+        throw new IOException("The server has responded with the status code " + response.statusCode() + " for " + request.uri());
+      }
+      final var body = readBody(response.body());
+      this.entries.put(request.uri(), new Entry(body, response.header("ETag"), response.header("Last-Modified"), now));
+      return body;
+    }
+  }
+
+  /**
+   * Removes the cached metadata for the given url.
+   *
+   * @param uri the metadata url.
+   * @since 0.0.2
+   */
+  public void invalidate(final @NotNull URI uri) {
+    this.entries.remove(uri);
+  }
+
+  private static @NotNull String readBody(final @NotNull ReadableByteChannel body) throws IOException {
+    final var output = new ByteArrayOutputStream();
+    try (body) {
+      final var buffer = ByteBuffer.allocate(BUFFER_SIZE);
+      while (body.read(buffer) != -1) {
+        if (output.size() + buffer.position() > MAXIMUM_METADATA_SIZE) {
+          throw new IOException("The metadata exceeds the maximum size of " + MAXIMUM_METADATA_SIZE + " bytes.");
+        }
+        output.write(buffer.array(), 0, buffer.position());
+        buffer.clear();
+      }
+    }
+    return output.toString(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * This record represents the cached metadata for an url.
+   *
+   * @param body the metadata body.
+   * @param entityTag the ETag given by the server, or {@code null}.
+   * @param lastModified the Last-Modified date given by the server, or {@code null}.
+   * @param validatedAt the last time that the metadata was validated with the server.
+   */
+  private record Entry(@NotNull String body, @Nullable String entityTag, @Nullable String lastModified, long validatedAt) {
+    private @NotNull Entry withValidatedAt(final long validatedAt) {
+      return new Entry(this.body, this.entityTag, this.lastModified, validatedAt);
+    }
+  }
+}
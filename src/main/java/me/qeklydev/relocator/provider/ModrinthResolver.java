@@ -0,0 +1,229 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.provider;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import me.qeklydev.relocator.io.Checksum;
+import me.qeklydev.relocator.io.Json;
+import me.qeklydev.relocator.transport.Transport;
+import me.qeklydev.relocator.transport.TransportRequest;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class resolves the artifacts of the Modrinth projects, the project is the
+ * project slug or id, the version is the version number, and the artifact is a file
+ * of the version.
+ * <p>
+ * Only the release versions are considered, and if the coordinate has a loader, only
+ * the versions for that loader. The primary file of the version is used if the
+ * coordinate doesn't have a file pattern, and the checksum is the SHA-512 hash given
+ * by Modrinth.
+ *
+ * @since 0.0.2
+ */
+public final class ModrinthResolver implements ArtifactResolver {
+  /**
+   * The url for the Modrinth API.
+   *
+   * @since 0.0.2
+   */
+  public static final URI DEFAULT_API_URI = URI.create("https://api.modrinth.com/");
+  private static final String RELEASE_VERSION_TYPE = "release";
+  private final URI apiUri;
+  private final String userAgent;
+  private final Transport transport;
+  private final MetadataCache metadataCache;
+
+  private ModrinthResolver(final @NotNull URI apiUri, final @NotNull String userAgent, final @NotNull Transport transport,
+                           final @NotNull MetadataCache metadataCache) {
+    this.apiUri = apiUri;
+    this.userAgent = userAgent;
+    this.transport = transport;
+    this.metadataCache = metadataCache;
+  }
+
+  /**
+   * Creates a new builder for the Modrinth resolver.
+   *
+   * @return A new {@link Builder}.
+   * @since 0.0.2
+   */
+  public static @NotNull Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public @NotNull String id() {
+    return "modrinth";
+  }
+
+  @Override
+  public @NotNull ResolvedArtifact resolve(final @NotNull ArtifactCoordinate coordinate) throws IOException {
+    var path = "v2/project/" + URLEncoder.encode(coordinate.project(), StandardCharsets.UTF_8) + "/version";
+    if (coordinate.loader() != null) {
+      // The loaders are filtered by the API, so the response only has the versions for the loader.
+      path += "?loaders=" + URLEncoder.encode("[\"" + coordinate.loader() + "\"]", StandardCharsets.UTF_8);
+    }
+    final var request = TransportRequest.get(this.apiUri.resolve(path)).withHeader("User-Agent", this.userAgent);
+    final Object versions;
+    try {
+      versions = Json.parse(this.metadataCache.fetch(request, this.transport));
+    } catch (final IllegalArgumentException exception) {
+      throw new IOException("The versions of " + coordinate.project() + " are not valid JSON.", exception);
+    }
+    Map<String, Object> selectedFile = null;
+    String selectedVersion = null;
+    for (final var versionValue : Json.array(versions)) {
+      final var version = Json.object(versionValue);
+      final var versionNumber = Json.string(version.get("version_number"));
+      if (versionNumber == null || !RELEASE_VERSION_TYPE.equals(version.get("version_type"))
+          || (coordinate.loader() != null && !Json.array(version.get("loaders")).contains(coordinate.loader()))
+          || !coordinate.versions().contains(versionNumber)) {
+        continue;
+      }
+      if (selectedVersion != null && VersionRange.compareVersions(versionNumber, selectedVersion) <= 0) {
+        continue;
+      }
+      final var file = selectFile(version, coordinate);
+      if (file != null) {
+        selectedFile = file;
+        selectedVersion = versionNumber;
+      }
+    }
+    if (selectedFile == null) {
+      throw new IOException("There's no version of " + coordinate.project() + " for the range " + coordinate.versions());
+    }
+    final var hashes = Json.object(selectedFile.get("hashes"));
+    final var sha512 = Json.string(hashes.get("sha512"));
+    final var sha1 = Json.string(hashes.get("sha1"));
+    final var checksum = (sha512 != null) ? Checksum.sha512(sha512) : (sha1 != null) ? Checksum.sha1(sha1) : null;
+    return new ResolvedArtifact(this.id(), coordinate.project(), selectedVersion, Json.string(selectedFile.get("filename")),
+        Json.string(selectedFile.get("url")), checksum);
+  }
+
+  /**
+   * Selects the file of the version for the given coordinate.
+   *
+   * @param version the version.
+   * @param coordinate the artifact coordinate.
+   * @return The selected file, or {@code null} if no file is accepted.
+   */
+  private static @Nullable Map<String, Object> selectFile(final @NotNull Map<String, Object> version,
+                                                          final @NotNull ArtifactCoordinate coordinate) {
+    Map<String, Object> selectedFile = null;
+    for (final var fileValue : Json.array(version.get("files"))) {
+      final var file = Json.object(fileValue);
+      final var fileName = Json.string(file.get("filename"));
+      if (fileName == null || Json.string(file.get("url")) == null || !coordinate.acceptsFile(fileName)) {
+        continue;
+      }
+      // Without a pattern, the primary file is preferred over the additional files.
+      if (coordinate.filePattern() != null || Boolean.TRUE.equals(file.get("primary"))) {
+        return file;
+      }
+      if (selectedFile == null) {
+        selectedFile = file;
+      }
+    }
+    return selectedFile;
+  }
+
+  /**
+   * This class is used to build instances of the Modrinth resolver.
+   *
+   * @since 0.0.2
+   */
+  public static class Builder {
+    private URI apiUri = DEFAULT_API_URI;
+    private String userAgent = "file-relocator";
+    private Transport transport = Transport.defaultTransport();
+    private MetadataCache metadataCache;
+
+    /**
+     * Defines the url for the Modrinth API, e.g. for the staging API, or a stub server.
+     *
+     * @param apiUri the API url, ending with {@code /}.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder apiUri(final @NotNull URI apiUri) {
+      this.apiUri = apiUri;
+      return this;
+    }
+
+    /**
+     * Defines the user agent sent with the requests, Modrinth requires an user agent
+     * that identifies the application.
+     *
+     * @param userAgent the user agent.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder userAgent(final @NotNull String userAgent) {
+      this.userAgent = userAgent;
+      return this;
+    }
+
+    /**
+     * Defines the transport used to request the metadata.
+     *
+     * @param transport the transport for the requests.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder transport(final @NotNull Transport transport) {
+      this.transport = transport;
+      return this;
+    }
+
+    /**
+     * Defines the cache for the metadata, by default every resolver has their own
+     * cache with the default time-to-live.
+     *
+     * @param metadataCache the metadata cache.
+     * @return The current builder instance.
+     * @see MetadataCache#DEFAULT_TIME_TO_LIVE
+     * @since 0.0.2
+     */
+    public @NotNull Builder metadataCache(final @NotNull MetadataCache metadataCache) {
+      this.metadataCache = metadataCache;
+      return this;
+    }
+
+    /**
+     * Creates a new Modrinth resolver using the information given to the builder.
+     *
+     * @return The built {@link ModrinthResolver}.
+     * @since 0.0.2
+     */
+    public @NotNull ModrinthResolver build() {
+      final var cache = (this.metadataCache == null) ? MetadataCache.create(MetadataCache.DEFAULT_TIME_TO_LIVE) : this.metadataCache;
+      return new ModrinthResolver(this.apiUri, this.userAgent, this.transport, cache);
+    }
+  }
+}
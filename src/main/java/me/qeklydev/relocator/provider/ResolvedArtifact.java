@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.provider;
+
+import java.nio.file.Path;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.io.Checksum;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This record represents an artifact resolved by a resolver.
+ *
+ * @param resolver the id of the resolver that has resolved the artifact.
+ * @param project the project on the provider.
+ * @param version the resolved version.
+ * @param fileName the artifact file name.
+ * @param url the download url for the artifact.
+ * @param checksum the checksum given by the provider, or {@code null} if there's no checksum.
+ * @since 0.0.2
+ */
+public record ResolvedArtifact(@NotNull String resolver, @NotNull String project, @NotNull String version, @NotNull String fileName,
+                               @NotNull String url, @Nullable Checksum checksum) {
+  /**
+   * Creates a new file downloader builder for this artifact, with the file name, the url
+   * and the checksum (if any) already defined.
+   *
+   * @param directory the directory where the artifact will be downloaded.
+   * @return A new {@link FileDownloader.Builder}.
+   * @since 0.0.2
+   */
+  public @NotNull FileDownloader.Builder downloader(final @NotNull Path directory) {
+    // The file name is given by the provider, so we only keep their last segment, of this
+    // way, a file name with separators can't place the file outside the directory.
+    final var separatorIndex = Math.max(this.fileName.lastIndexOf('/'), this.fileName.lastIndexOf('\\'));
+    final var safeFileName = this.fileName.substring(separatorIndex + 1);
+    if (safeFileName.isEmpty() || safeFileName.equals(".") || safeFileName.equals("..")) {
+      throw new IllegalStateException("The artifact file name '" + this.fileName + "' is not valid.");
+    }
+    final var builder = FileDownloader.builder()
+        .name(directory.resolve(safeFileName).toString())
+        .url(this.url);
+    return (this.checksum == null) ? builder : builder.checksum(this.checksum);
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.provider;
+
+import java.util.Comparator;
+import java.util.Locale;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This record represents a range of versions, using the Maven notation, e.g.
+ * {@code [1.2,2.0)} for the versions since 1.2 (inclusive) until 2.0 (exclusive),
+ * {@code [1.5,)} for every version since 1.5, or {@code 1.4.2} for that version only.
+ * The {@code *} and {@code latest} ranges contain every version.
+ * <p>
+ * The versions are compared by their numeric segments, a leading {@code v} is
+ * ignored, and a version with a qualifier (e.g. {@code 2.0-beta}) is lower than
+ * the same version without it.
+ *
+ * @param lowerBound the lowest version of the range, or {@code null} if there's no lower bound.
+ * @param lowerInclusive indicates if the lowest version belongs to the range.
+ * @param upperBound the highest version of the range, or {@code null} if there's no upper bound.
+ * @param upperInclusive indicates if the highest version belongs to the range.
+ * @since 0.0.2
+ */
+public record VersionRange(@Nullable String lowerBound, boolean lowerInclusive, @Nullable String upperBound, boolean upperInclusive) {
+  /**
+   * The range that contains every version.
+   *
+   * @since 0.0.2
+   */
+  public static final VersionRange ANY = new VersionRange(null, false, null, false);
+  /**
+   * The comparator for the versions.
+   *
+   * @since 0.0.2
+   */
+  public static final Comparator<String> VERSION_COMPARATOR = VersionRange::compareVersions;
+
+  /**
+   * Parses the given range.
+   *
+   * @param range the range using the Maven notation, or a single version.
+   * @return The {@link VersionRange}.
+   * @throws IllegalArgumentException if the range is not valid.
+   * @since 0.0.2
+   */
+  public static @NotNull VersionRange parse(final @NotNull String range) {
+    final var trimmedRange = range.trim();
+    if (trimmedRange.isEmpty() || trimmedRange.equals("*") || trimmedRange.equalsIgnoreCase("latest")) {
+      return ANY;
+    }
+    final var first = trimmedRange.charAt(0);
+    if (first != '[' && first != '(') {
+      // A single version is a range that only contains that version.
+      return new VersionRange(trimmedRange, true, trimmedRange, true);
+    }
+    final var last = trimmedRange.charAt(trimmedRange.length() - 1);
+    final var separator = trimmedRange.indexOf(',');
+    if ((last != ']' && last != ')') || separator == -1) {
+      throw new IllegalArgumentException("The version range '" + range + "' is not valid.");
+    }
+    final var lowerBound = trimmedRange.substring(1, separator).trim();
+    final var upperBound = trimmedRange.substring(separator + 1, trimmedRange.length() - 1).trim();
+    return new VersionRange(lowerBound.isEmpty() ? null : lowerBound, first == '[', upperBound.isEmpty() ? null : upperBound, last == ']');
+  }
+
+  /**
+   * Checks if the given version belongs to this range.
+   *
+   * @param version the version to check.
+   * @return {@code true} if the version belongs to the range. Otherwise {@code false}.
+   * @since 0.0.2
+   */
+  public boolean contains(final @NotNull String version) {
+    if (this.lowerBound != null) {
+      final var comparison = compareVersions(version, this.lowerBound);
+      if (comparison < 0 || (comparison == 0 && !this.lowerInclusive)) {
+        return false;
+      }
+    }
+    if (this.upperBound != null) {
+      final var comparison = compareVersions(version, this.upperBound);
+      return comparison < 0 || (comparison == 0 && this.upperInclusive);
+    }
+    return true;
+  }
+
+  /**
+   * Compares the given versions.
+   *
+   * @param first the first version.
+   * @param second the second version.
+   * @return A negative number if the first version is lower, zero if both are the same
+   * version, or a positive number if the first version is higher.
+   * @since 0.0.2
+   */
+  public static int compareVersions(final @NotNull String first, final @NotNull String second) {
+    final var firstVersion = normalize(first);
+    final var secondVersion = normalize(second);
+    final var firstQualifierIndex = firstVersion.indexOf('-');
+    final var secondQualifierIndex = secondVersion.indexOf('-');
+    final var comparison = compareSegments(
+        (firstQualifierIndex == -1) ? firstVersion : firstVersion.substring(0, firstQualifierIndex),
+        (secondQualifierIndex == -1) ? secondVersion : secondVersion.substring(0, secondQualifierIndex));
+    if (comparison != 0) {
+      return comparison;
+    }
+    // The version without qualifier is the release, so it's higher than their pre-releases.
+    if (firstQualifierIndex == -1 || secondQualifierIndex == -1) {
+      return Integer.compare(firstQualifierIndex, secondQualifierIndex) * -1;
+    }
+    return compareSegments(firstVersion.substring(firstQualifierIndex + 1), secondVersion.substring(secondQualifierIndex + 1));
+  }
+
+  private static @NotNull String normalize(final @NotNull String version) {
+    var normalizedVersion = version.trim().toLowerCase(Locale.ROOT);
+    if (normalizedVersion.startsWith("v")) {
+      normalizedVersion = normalizedVersion.substring(1);
+    }
+    // The build metadata is not considered by the comparison.
+    final var metadataIndex = normalizedVersion.indexOf('+');
+    return (metadataIndex == -1) ? normalizedVersion : normalizedVersion.substring(0, metadataIndex);
+  }
+
+  private static int compareSegments(final @NotNull String first, final @NotNull String second) {
+    final var firstSegments = first.split("[.\\-_]");
+    final var secondSegments = second.split("[.\\-_]");
+    for (var index = 0; index < Math.max(firstSegments.length, secondSegments.length); index++) {
+      // The missing segments are zero, so 1.2 and 1.2.0 are the same version.
+      final var firstSegment = (index < firstSegments.length) ? firstSegments[index] : "0";
+      final var secondSegment = (index < secondSegments.length) ? secondSegments[index] : "0";
+      final int comparison;
+      if (isNumeric(firstSegment) && isNumeric(secondSegment)) {
+        final var firstNumber = stripLeadingZeros(firstSegment);
+        final var secondNumber = stripLeadingZeros(secondSegment);
+        // The numbers could exceed a long, so a longer number is a higher number.
+        comparison = (firstNumber.length() != secondNumber.length())
+            ? Integer.compare(firstNumber.length(), secondNumber.length())
+            : firstNumber.compareTo(secondNumber);
+      } else if (isNumeric(firstSegment) != isNumeric(secondSegment)) {
+        // A numeric segment is higher than a textual segment, e.g. 1.0.1 > 1.0.rc
+        comparison = isNumeric(firstSegment) ? 1 : -1;
+      } else {
+        comparison = firstSegment.compareTo(secondSegment);
+      }
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return 0;
+  }
+
+  private static boolean isNumeric(final @NotNull String segment) {
+    return !segment.isEmpty() && segment.chars().allMatch(Character::isDigit);
+  }
+
+  private static @NotNull String stripLeadingZeros(final @NotNull String number) {
+    var index = 0;
+    while (index < number.length() - 1 && number.charAt(index) == '0') {
+      index++;
+    }
+    return number.substring(index);
+  }
+}
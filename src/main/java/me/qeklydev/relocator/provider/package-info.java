@@ -0,0 +1,6 @@
+/**
+ * Provides the resolvers that turn artifact coordinates into download urls.
+ *
+ * @since 0.0.2
+ */
+package me.qeklydev.relocator.provider;
\ No newline at end of file
@@ -0,0 +1,408 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.relocation;
+
+import java.io.IOException;
+import java.nio.file.CopyOption;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import me.qeklydev.relocator.io.ProgressListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class is used to relocate every file of a directory tree to another
+ * directory, keeping their relative paths.
+ * <p>
+ * The source tree is walked using fork/join tasks for every subdirectory, if the
+ * target is on the same file system, the files are renamed, otherwise, they're
+ * copied and deleted from the source in parallel, both using a pool limited by
+ * the configured parallelism. Every file gets their own outcome, so a single file
+ * doesn't fail the whole relocation. The empty directories of the source tree are
+ * not deleted.
+ *
+ * @since 0.0.2
+ */
+public final class BulkRelocation {
+  private final Path source;
+  private final Path target;
+  private final @Nullable PathMatcher globMatcher;
+  private final Predicate<Path> filter;
+  private final boolean replaceExisting;
+  private final boolean dryRun;
+  private final Consumer<String> planOutput;
+  private final int parallelism;
+
+  private BulkRelocation(final @NotNull Path source, final @NotNull Path target, final @Nullable PathMatcher globMatcher,
+                         final @NotNull Predicate<Path> filter, final boolean replaceExisting, final boolean dryRun,
+                         final @NotNull Consumer<String> planOutput, final int parallelism) {
+    this.source = source;
+    this.target = target;
+    this.globMatcher = globMatcher;
+    this.filter = filter;
+    this.replaceExisting = replaceExisting;
+    this.dryRun = dryRun;
+    this.planOutput = planOutput;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Creates a new builder for the bulk relocation object.
+   *
+   * @return A new {@link Builder}.
+   * @since 0.0.2
+   */
+  public static @NotNull Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Relocates every file of the source tree that matches the filters, if this
+   * relocation is a dry-run, the plan is given to the plan output, and no file
+   * is touched.
+   *
+   * @return The {@link BulkRelocationResult} with the outcome for every file.
+   * @throws IOException if the source directory could not be read.
+   * @since 0.0.2
+   */
+  public @NotNull BulkRelocationResult relocate() throws IOException {
+    if (!Files.isDirectory(this.source)) {
+      throw new IOException("The source " + this.source + " is not a directory.");
+    }
+    // The file stores are compared once, we consider that every file of the tree is on the
+    // same file system that the source directory.
+    final var sameFileStore = fileStoreOf(this.source).equals(fileStoreOf(this.target));
+    final var pool = new ForkJoinPool(this.parallelism);
+    final List<RelocationResult> results;
+    try {
+      results = new ArrayList<>(pool.invoke(new DirectoryTask(this.source, sameFileStore)));
+    } finally {
+      pool.shutdown();
+    }
+    results.sort(Comparator.comparing(RelocationResult::source));
+    if (this.dryRun) {
+      this.planOutput.accept("Relocation plan for " + this.source + " -> " + this.target + " ("
+          + (sameFileStore ? "rename" : "copy and delete") + "), " + results.size() + " files:");
+      for (final var result : results) {
+        this.planOutput.accept("  " + result);
+      }
+    }
+    return new BulkRelocationResult(List.copyOf(results));
+  }
+
+  /**
+   * Checks if the given file matches the glob and the predicate of this relocation.
+   *
+   * @param file the file on the source tree.
+   * @return {@code true} if the file must be relocated. Otherwise {@code false}.
+   */
+  private boolean matches(final @NotNull Path file) {
+    return (this.globMatcher == null || this.globMatcher.matches(this.source.relativize(file))) && this.filter.test(file);
+  }
+
+  /**
+   * Relocates the given file to their path on the target tree.
+   *
+   * @param file the file on the source tree.
+   * @param sameFileStore indicates if the target is on the same file system.
+   * @return The {@link RelocationResult} for this file.
+   */
+  private @NotNull RelocationResult relocateFile(final @NotNull Path file, final boolean sameFileStore) {
+    // The relative path is resolved as string, so the source and target trees can be
+    // on different file system providers.
+    final var targetFile = this.target.resolve(this.source.relativize(file).toString());
+    if (!this.replaceExisting && Files.exists(targetFile, LinkOption.NOFOLLOW_LINKS)) {
+      return new RelocationResult(file, targetFile, RelocationOutcome.SKIPPED, null);
+    }
+    if (this.dryRun) {
+      return new RelocationResult(file, targetFile, RelocationOutcome.PLANNED, null);
+    }
+    try {
+      Files.createDirectories(targetFile.getParent());
+      if (sameFileStore) {
+        // The move on the same file system is a rename, so the file content is not copied.
+        Files.move(file, targetFile, this.copyOptions());
+        return new RelocationResult(file, targetFile, RelocationOutcome.RENAMED, null);
+      }
+      if (Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS)) {
+        // The regular files are copied using the zero-copy transfer, and published atomically.
+        FilesRelocationUtils.transferAcross(file, targetFile, this.replaceExisting, false, ProgressListener.NOOP);
+      } else {
+        Files.copy(file, targetFile, this.copyOptions(StandardCopyOption.COPY_ATTRIBUTES, LinkOption.NOFOLLOW_LINKS));
+        Files.delete(file);
+      }
+      return new RelocationResult(file, targetFile, RelocationOutcome.COPIED, null);
+    } catch (final FileAlreadyExistsException exception) {
+      // Another process has created the target file after our check.
+      return new RelocationResult(file, targetFile, RelocationOutcome.SKIPPED, null);
+    } catch (final IOException | RuntimeException exception) {
+      return RelocationResult.failed(file, targetFile, exception);
+    }
+  }
+
+  /**
+   * Returns the given copy options, adding the replacement option if the existing
+   * files must be replaced.
+   *
+   * @param options the copy options.
+   * @return The copy options for this relocation.
+   */
+  private CopyOption @NotNull [] copyOptions(final CopyOption @NotNull ... options) {
+    if (!this.replaceExisting) {
+      return options;
+    }
+    final var replacingOptions = Arrays.copyOf(options, options.length + 1);
+    replacingOptions[options.length] = StandardCopyOption.REPLACE_EXISTING;
+    return replacingOptions;
+  }
+
+  /**
+   * Returns the file store of the given path, or the file store of their nearest
+   * existing parent if the path doesn't exist yet.
+   *
+   * @param path the path to check.
+   * @return The {@link FileStore} for the path.
+   * @throws IOException if the file store could not be obtained.
+   */
+  private static @NotNull FileStore fileStoreOf(final @NotNull Path path) throws IOException {
+    var existingPath = path.toAbsolutePath();
+    while (!Files.exists(existingPath) && existingPath.getParent() != null) {
+      existingPath = existingPath.getParent();
+    }
+    return Files.getFileStore(existingPath);
+  }
+
+  /**
+   * This class is the fork/join task for a directory of the source tree, every
+   * subdirectory and every file that must be relocated gets their own task.
+   */
+  // The fork/join tasks are serializable, but these tasks are never serialized.
+  @SuppressWarnings("serial")
+  private final class DirectoryTask extends RecursiveTask<List<RelocationResult>> {
+    private final Path directory;
+    private final boolean sameFileStore;
+
+    private DirectoryTask(final @NotNull Path directory, final boolean sameFileStore) {
+      this.directory = directory;
+      this.sameFileStore = sameFileStore;
+    }
+
+    @Override
+    protected @NotNull List<RelocationResult> compute() {
+      final var results = new ArrayList<RelocationResult>();
+      final var tasks = new ArrayList<ForkJoinTask<List<RelocationResult>>>();
+      try (final var entries = Files.newDirectoryStream(this.directory)) {
+        for (final var entry : entries) {
+          // The symbolic links are relocated as files, they're not followed.
+          if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+            tasks.add(new DirectoryTask(entry, this.sameFileStore).fork());
+          } else if (BulkRelocation.this.matches(entry)) {
+            tasks.add(new FileTask(entry, this.sameFileStore).fork());
+          }
+        }
+      } catch (final IOException exception) {
+        // The directory could not be read, so their files are reported as a single failure.
+        final var targetDirectory = BulkRelocation.this.target.resolve(BulkRelocation.this.source.relativize(this.directory).toString());
+        results.add(RelocationResult.failed(this.directory, targetDirectory, exception));
+      }
+      for (final var task : tasks) {
+        results.addAll(task.join());
+      }
+      return results;
+    }
+  }
+
+  /**
+   * This class is the fork/join task for a file of the source tree.
+   */
+  // The fork/join tasks are serializable, but these tasks are never serialized.
+  @SuppressWarnings("serial")
+  private final class FileTask extends RecursiveTask<List<RelocationResult>> {
+    private final Path file;
+    private final boolean sameFileStore;
+
+    private FileTask(final @NotNull Path file, final boolean sameFileStore) {
+      this.file = file;
+      this.sameFileStore = sameFileStore;
+    }
+
+    @Override
+    protected @NotNull List<RelocationResult> compute() {
+      return List.of(BulkRelocation.this.relocateFile(this.file, this.sameFileStore));
+    }
+  }
+
+  /**
+   * This class is used to build instances of the bulk relocation.
+   *
+   * @since 0.0.2
+   */
+  public static class Builder {
+    private Path source;
+    private Path target;
+    private String glob;
+    private Predicate<Path> filter = path -> true;
+    private boolean replaceExisting;
+    private boolean dryRun;
+    private Consumer<String> planOutput = System.out::println;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Defines the directory whose files will be relocated.
+     *
+     * @param source the source directory.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder source(final @NotNull Path source) {
+      this.source = source;
+      return this;
+    }
+
+    /**
+     * Defines the directory where the files will be relocated, the files keep
+     * their relative path to the source directory.
+     *
+     * @param target the target directory.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder target(final @NotNull Path target) {
+      this.target = target;
+      return this;
+    }
+
+    /**
+     * Defines the glob pattern that the files must match to be relocated, the
+     * pattern is matched against the path relative to the source directory,
+     * e.g. {@code "**.jar"} for every jar file of the tree.
+     *
+     * @param glob the glob pattern.
+     * @return The current builder instance.
+     * @see java.nio.file.FileSystem#getPathMatcher(String)
+     * @since 0.0.2
+     */
+    public @NotNull Builder glob(final @NotNull String glob) {
+      this.glob = glob;
+      return this;
+    }
+
+    /**
+     * Defines the predicate that the files must match to be relocated, the
+     * predicate receives the file path on the source tree.
+     *
+     * @param filter the file filter.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder filter(final @NotNull Predicate<@NotNull Path> filter) {
+      this.filter = filter;
+      return this;
+    }
+
+    /**
+     * Defines if the existing files on the target tree must be replaced, otherwise
+     * these files are skipped.
+     *
+     * @param replaceExisting indicates if the existing files must be replaced.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder replaceExisting(final boolean replaceExisting) {
+      this.replaceExisting = replaceExisting;
+      return this;
+    }
+
+    /**
+     * Defines if the relocation is a dry-run, a dry-run gives the plan to the
+     * plan output without touching any file.
+     *
+     * @param dryRun indicates if the relocation is a dry-run.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder dryRun(final boolean dryRun) {
+      this.dryRun = dryRun;
+      return this;
+    }
+
+    /**
+     * Defines where the plan of a dry-run is printed, by default it's printed
+     * on the standard output.
+     *
+     * @param planOutput the consumer for every plan line.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder planOutput(final @NotNull Consumer<@NotNull String> planOutput) {
+      this.planOutput = planOutput;
+      return this;
+    }
+
+    /**
+     * Defines the maximum amount of directories and files processed at the same
+     * time, by default the amount of available processors.
+     *
+     * @param parallelism the relocation parallelism.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder parallelism(final int parallelism) {
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Creates a new bulk relocation object using the information given to
+     * the builder.
+     *
+     * @return The built {@link BulkRelocation}.
+     * @since 0.0.2
+     */
+    public @NotNull BulkRelocation build() {
+      if (this.source == null || this.target == null) {
+        throw new IllegalStateException("The source, or target directory have not been defined on BulkRelocation.Builder.");
+      }
+      if (this.parallelism < 1) {
+        throw new IllegalStateException("The parallelism must be at least one on BulkRelocation.Builder.");
+      }
+      final var globMatcher = (this.glob == null) ? null : this.source.getFileSystem().getPathMatcher("glob:" + this.glob);
+      return new BulkRelocation(this.source, this.target, globMatcher, this.filter, this.replaceExisting, this.dryRun,
+          this.planOutput, this.parallelism);
+    }
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.relocation;
+
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This record represents the result of a bulk relocation, with the outcome
+ * for every file of the source tree that matched the filters.
+ *
+ * @param results the result for every file, sorted by their source path.
+ * @since 0.0.2
+ */
+public record BulkRelocationResult(@NotNull List<@NotNull RelocationResult> results) {
+  /**
+   * Returns the amount of files with the given outcome.
+   *
+   * @param outcome the outcome to count.
+   * @return The amount of files.
+   * @since 0.0.2
+   */
+  public long count(final @NotNull RelocationOutcome outcome) {
+    return this.results.stream().filter(result -> result.outcome() == outcome).count();
+  }
+
+  /**
+   * Returns the results for the files that could not be relocated.
+   *
+   * @return The failed results.
+   * @since 0.0.2
+   */
+  public @NotNull List<@NotNull RelocationResult> failed() {
+    return this.results.stream().filter(result -> result.outcome() == RelocationOutcome.FAILED).toList();
+  }
+
+  /**
+   * Checks if no file of the relocation has failed.
+   *
+   * @return {@code true} if there's no failed file. Otherwise {@code false}.
+   * @since 0.0.2
+   */
+  public boolean successful() {
+    return this.results.stream().noneMatch(result -> result.outcome() == RelocationOutcome.FAILED);
+  }
+}
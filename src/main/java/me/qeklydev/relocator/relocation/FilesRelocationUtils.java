@@ -22,9 +22,25 @@
  */
 package me.qeklydev.relocator.relocation;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import me.qeklydev.relocator.io.IOUtils;
+import me.qeklydev.relocator.io.ProgressListener;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -34,6 +50,20 @@ import org.jetbrains.annotations.NotNull;
  * @since 0.0.1
  */
 public final class FilesRelocationUtils {
+  /**
+   * The maximum amount of bytes transferred by every zero-copy transfer call.
+   */
+  private static final long TRANSFER_CHUNK_SIZE = 8L * 1024L * 1024L;
+  /**
+   * The size of the buffer used by the sparse-aware copy.
+   */
+  private static final int SPARSE_BUFFER_SIZE = 1024 * 1024;
+  /**
+   * The size of the blocks checked by the sparse-aware copy, the usual file
+   * system block size.
+   */
+  private static final int SPARSE_BLOCK_SIZE = 4096;
+
   /**
    * This method will relocate the specified file from their previous directory,
    * to the new directory specified, and if there's the same file in the targeted
@@ -43,6 +73,8 @@ public final class FilesRelocationUtils {
    * @param nextDirectory the new directory where the file will be relocated.
    * @param replaceExistingFile indicates if the file must be replaced on the new
    *                            directory.
+   * @param deletePreviousFile indicates if the file on the previous directory must be
+   *                           deleted once relocated.
    * @return The boolean state for this operation, {@code true} if the relocation
    * was successful. Otherwise {@code false}.
    * @since 0.0.1
@@ -51,8 +83,31 @@ public final class FilesRelocationUtils {
                                    final boolean replaceExistingFile, final boolean deletePreviousFile) {
     // First at all, we need to get the Path reference for the given directories
     // to could handle their relocation.
-    final var previousDirectoryAsPath = Paths.get(previousDirectory);
-    final var nextDirectoryAsPath = Paths.get(nextDirectory);
+    return relocateTo(Paths.get(previousDirectory), Paths.get(nextDirectory), replaceExistingFile, deletePreviousFile, false);
+  }
+
+  /**
+   * This method will relocate the specified file from their previous path to the
+   * next path, if an atomic relocation is required, the file appears on the next path
+   * complete or not at all, so the readers never see a partial file.
+   * <p>
+   * If the atomic relocation should not replace an existing file, the file is published
+   * through a hard link that fails if the next path already exists. If the file system
+   * doesn't support atomic moves, a regular move is performed.
+   *
+   * @param previousDirectoryAsPath the current path of the file to relocate.
+   * @param nextDirectoryAsPath the new path where the file will be relocated.
+   * @param replaceExistingFile indicates if the file must be replaced on the new path.
+   * @param deletePreviousFile indicates if the file on the previous path must be
+   *                           deleted once relocated.
+   * @param atomicRelocation indicates if the relocation must be atomic.
+   * @return The boolean state for this operation, {@code true} if the relocation
+   * was successful. Otherwise {@code false}.
+   * @since 0.0.2
+   */
+  public static boolean relocateTo(final @NotNull Path previousDirectoryAsPath, final @NotNull Path nextDirectoryAsPath,
+                                   final boolean replaceExistingFile, final boolean deletePreviousFile,
+                                   final boolean atomicRelocation) {
     // We use a try/catch block to perform the relocation operation for the file,
     // We will return false for this operation, if any exception is catch during
     // Files#move(...) execution.
@@ -61,7 +116,14 @@ public final class FilesRelocationUtils {
       // file, we indicate this using [REPLACE_EXISTING] setting for the method, of this way
       // always that there's the same file in the targeted directory, it will be replaced with
       // the new.
-      if (replaceExistingFile) {
+      if (atomicRelocation) {
+        moveAtomically(previousDirectoryAsPath, nextDirectoryAsPath, replaceExistingFile);
+      } else if (Files.isRegularFile(previousDirectoryAsPath, LinkOption.NOFOLLOW_LINKS)
+          && !sameFileSystem(previousDirectoryAsPath, nextDirectoryAsPath)) {
+        // The file is on another file system, so it cannot be renamed, we copy it using the
+        // zero-copy transfer instead of the copy performed by Files#move(...).
+        transferAcross(previousDirectoryAsPath, nextDirectoryAsPath, replaceExistingFile, false, ProgressListener.NOOP);
+      } else if (replaceExistingFile) {
         Files.move(previousDirectoryAsPath, nextDirectoryAsPath, StandardCopyOption.REPLACE_EXISTING);
       } else {
         Files.move(previousDirectoryAsPath, nextDirectoryAsPath);
@@ -78,4 +140,277 @@ public final class FilesRelocationUtils {
       return false;
     }
   }
+
+  /**
+   * This method relocates the given file to another file system, the file content
+   * is transferred using {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)},
+   * which lets the operating system copy the file without moving it through the
+   * JVM memory (e.g. copy_file_range/sendfile on Linux).
+   * <p>
+   * The file is copied next to the destination, their times and permissions are
+   * preserved, and then it's moved atomically to the destination and deleted from
+   * their previous path. If the file is sparse, the sparse-aware copy can be preferred,
+   * which reads the file and skips the zero blocks instead of writing them, so the
+   * holes are kept on the destination.
+   *
+   * @param previousPath the current path of the file to relocate.
+   * @param nextPath the new path where the file will be relocated.
+   * @param replaceExistingFile indicates if the file must be replaced on the new path.
+   * @param sparseAware indicates if the zero blocks must be kept as holes on the destination.
+   * @param progressListener the listener for the copy progress.
+   * @return The boolean state for this operation, {@code true} if the relocation
+   * was successful. Otherwise {@code false}.
+   * @since 0.0.2
+   */
+  public static boolean relocateAcross(final @NotNull Path previousPath, final @NotNull Path nextPath, final boolean replaceExistingFile,
+                                       final boolean sparseAware, final @NotNull ProgressListener progressListener) {
+    try {
+      transferAcross(previousPath, nextPath, replaceExistingFile, sparseAware, progressListener);
+      return true;
+    } catch (final Exception exception) {
+      return false;
+    }
+  }
+
+  /**
+   * This method meets the same function that relocateAcross(...), with the only
+   * difference that the relocation is performed async way.
+   *
+   * @param previousPath the current path of the file to relocate.
+   * @param nextPath the new path where the file will be relocated.
+   * @param replaceExistingFile indicates if the file must be replaced on the new path.
+   * @return The {@link CompletableFuture} with the boolean state for this operation.
+   * @see FilesRelocationUtils#relocateAcross(Path, Path, boolean, boolean, ProgressListener)
+   * @see IOUtils#VIRTUAL_THREAD_EXECUTOR
+   * @since 0.0.2
+   */
+  public static @NotNull CompletableFuture<@NotNull Boolean> relocateAcrossAsync(final @NotNull Path previousPath, final @NotNull Path nextPath,
+                                                                                 final boolean replaceExistingFile) {
+    return relocateAcrossAsync(previousPath, nextPath, replaceExistingFile, false, ProgressListener.NOOP, IOUtils.VIRTUAL_THREAD_EXECUTOR);
+  }
+
+  /**
+   * This method meets the same function that relocateAcross(...), with the only
+   * difference that the relocation is performed async way using the given executor.
+   *
+   * @param previousPath the current path of the file to relocate.
+   * @param nextPath the new path where the file will be relocated.
+   * @param replaceExistingFile indicates if the file must be replaced on the new path.
+   * @param sparseAware indicates if the zero blocks must be kept as holes on the destination.
+   * @param progressListener the listener for the copy progress.
+   * @param executor the executor used to perform the relocation.
+   * @return The {@link CompletableFuture} with the boolean state for this operation.
+   * @see FilesRelocationUtils#relocateAcross(Path, Path, boolean, boolean, ProgressListener)
+   * @since 0.0.2
+   */
+  public static @NotNull CompletableFuture<@NotNull Boolean> relocateAcrossAsync(final @NotNull Path previousPath, final @NotNull Path nextPath,
+                                                                                 final boolean replaceExistingFile, final boolean sparseAware,
+                                                                                 final @NotNull ProgressListener progressListener,
+                                                                                 final @NotNull Executor executor) {
+    return CompletableFuture.supplyAsync(
+        () -> relocateAcross(previousPath, nextPath, replaceExistingFile, sparseAware, progressListener), executor);
+  }
+
+  /**
+   * Copies the regular file to the next path on another file system, and deletes it
+   * from their previous path once the copy has been published.
+   *
+   * @param previousPath the current path of the file.
+   * @param nextPath the new path for the file.
+   * @param replaceExistingFile indicates if the existing file must be replaced.
+   * @param sparseAware indicates if the zero blocks must be kept as holes.
+   * @param progressListener the listener for the copy progress.
+   * @throws IOException if the file could not be relocated.
+   */
+  static void transferAcross(final @NotNull Path previousPath, final @NotNull Path nextPath, final boolean replaceExistingFile,
+                             final boolean sparseAware, final @NotNull ProgressListener progressListener) throws IOException {
+    if (!replaceExistingFile && Files.exists(nextPath, LinkOption.NOFOLLOW_LINKS)) {
+      throw new FileAlreadyExistsException(nextPath.toString());
+    }
+    final var absoluteNextPath = nextPath.toAbsolutePath();
+    final var temporaryPath = absoluteNextPath.resolveSibling(absoluteNextPath.getFileName() + "." + UUID.randomUUID() + ".tmp");
+    try {
+      try (final var sourceChannel = FileChannel.open(previousPath, StandardOpenOption.READ);
+           final var targetChannel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+               StandardOpenOption.SPARSE)) {
+        final var size = sourceChannel.size();
+        if (sparseAware) {
+          copySparse(sourceChannel, targetChannel, size, progressListener);
+        } else {
+          var position = 0L;
+          while (position < size) {
+            // The transfer is performed in chunks, of this way the progress can be reported,
+            // the operating system could transfer fewer bytes than requested.
+            final var transferred = sourceChannel.transferTo(position, Math.min(TRANSFER_CHUNK_SIZE, size - position), targetChannel);
+            if (transferred <= 0L) {
+              throw new IOException("The file " + previousPath + " was truncated during the relocation.");
+            }
+            position += transferred;
+            progressListener.onProgress(position, size);
+          }
+        }
+        targetChannel.force(true);
+      }
+      copyAttributes(previousPath, temporaryPath);
+      // The copy is complete, so it's published atomically on the destination file system.
+      moveAtomically(temporaryPath, nextPath, replaceExistingFile);
+    } finally {
+      Files.deleteIfExists(temporaryPath);
+    }
+    Files.delete(previousPath);
+  }
+
+  /**
+   * Copies the file skipping the blocks that only have zeros, the target file is
+   * created as sparse, so the skipped blocks are kept as holes.
+   *
+   * @param sourceChannel the channel for the source file.
+   * @param targetChannel the channel for the target file.
+   * @param size the source file size.
+   * @param progressListener the listener for the copy progress.
+   * @throws IOException if the file could not be copied.
+   */
+  private static void copySparse(final @NotNull FileChannel sourceChannel, final @NotNull FileChannel targetChannel, final long size,
+                                 final @NotNull ProgressListener progressListener) throws IOException {
+    final var buffer = ByteBuffer.allocateDirect(SPARSE_BUFFER_SIZE);
+    var position = 0L;
+    while (position < size) {
+      buffer.clear().limit((int) Math.min(SPARSE_BUFFER_SIZE, size - position));
+      while (buffer.hasRemaining()) {
+        if (sourceChannel.read(buffer, position + buffer.position()) == -1) {
+          throw new IOException("The file was truncated during the relocation.");
+        }
+      }
+      buffer.flip();
+      // Every block is written only if it has any non-zero byte, the file system gives
+      // zeros for the holes.
+      while (buffer.hasRemaining()) {
+        final var blockLength = Math.min(SPARSE_BLOCK_SIZE, buffer.remaining());
+        final var block = buffer.slice(buffer.position(), blockLength);
+        if (!isZeroBlock(block)) {
+          var blockPosition = position + buffer.position();
+          while (block.hasRemaining()) {
+            blockPosition += targetChannel.write(block, blockPosition);
+          }
+        }
+        buffer.position(buffer.position() + blockLength);
+      }
+      position += buffer.limit();
+      progressListener.onProgress(position, size);
+    }
+    // If the file ends with a hole, the file size must be defined writing their last byte.
+    if (size > 0L && targetChannel.size() < size) {
+      targetChannel.write(ByteBuffer.allocate(1), size - 1);
+    }
+  }
+
+  /**
+   * Checks if the given block only has zeros.
+   *
+   * @param block the block to check.
+   * @return {@code true} if every byte is zero. Otherwise {@code false}.
+   */
+  private static boolean isZeroBlock(final @NotNull ByteBuffer block) {
+    var index = block.position();
+    final var limit = block.limit();
+    // The block is compared eight bytes at a time, and the remaining bytes one by one.
+    for (; index + Long.BYTES <= limit; index += Long.BYTES) {
+      if (block.getLong(index) != 0L) {
+        return false;
+      }
+    }
+    for (; index < limit; index++) {
+      if (block.get(index) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Copies the times and the POSIX permissions of the source file to the target
+   * file, the attributes that are not supported by the target file system are ignored.
+   *
+   * @param source the source file.
+   * @param target the target file.
+   * @throws IOException if the times could not be copied.
+   */
+  private static void copyAttributes(final @NotNull Path source, final @NotNull Path target) throws IOException {
+    final var attributes = Files.readAttributes(source, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+    Files.getFileAttributeView(target, BasicFileAttributeView.class)
+        .setTimes(attributes.lastModifiedTime(), attributes.lastAccessTime(), attributes.creationTime());
+    final var sourcePosixView = Files.getFileAttributeView(source, PosixFileAttributeView.class, LinkOption.NOFOLLOW_LINKS);
+    final var targetPosixView = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+    if (sourcePosixView != null && targetPosixView != null) {
+      targetPosixView.setPermissions(sourcePosixView.readAttributes().permissions());
+    }
+  }
+
+  /**
+   * Checks if the given paths are on the same file system, the next path could
+   * not exist yet, so their nearest existing parent is checked.
+   *
+   * @param previousPath the current path of the file.
+   * @param nextPath the new path for the file.
+   * @return {@code true} if the file can be renamed to the next path. Otherwise {@code false}.
+   * @throws IOException if the file systems could not be checked.
+   */
+  private static boolean sameFileSystem(final @NotNull Path previousPath, final @NotNull Path nextPath) throws IOException {
+    if (previousPath.getFileSystem() != nextPath.getFileSystem()) {
+      return false;
+    }
+    var existingPath = nextPath.toAbsolutePath();
+    while (!Files.exists(existingPath) && existingPath.getParent() != null) {
+      existingPath = existingPath.getParent();
+    }
+    try {
+      // The device id is obtained with a single stat, so we prefer it over the file stores.
+      return Files.getAttribute(previousPath, "unix:dev", LinkOption.NOFOLLOW_LINKS).equals(Files.getAttribute(existingPath, "unix:dev"));
+    } catch (final UnsupportedOperationException | IllegalArgumentException exception) {
+      return Files.getFileStore(previousPath).equals(Files.getFileStore(existingPath));
+    }
+  }
+
+  /**
+   * Moves the file atomically to the next path, the atomic moves always replace
+   * the existing file on POSIX systems, so when the file must not be replaced, it's
+   * published using a hard link, which fails if the next path already exists.
+   *
+   * @param previousPath the current path of the file.
+   * @param nextPath the new path for the file.
+   * @param replaceExistingFile indicates if the existing file must be replaced.
+   * @throws IOException if the file could not be moved.
+   */
+  private static void moveAtomically(final @NotNull Path previousPath, final @NotNull Path nextPath,
+                                     final boolean replaceExistingFile) throws IOException {
+    if (!replaceExistingFile) {
+      try {
+        Files.createLink(nextPath, previousPath);
+        Files.delete(previousPath);
+        return;
+      } catch (final FileAlreadyExistsException exception) {
+        throw exception;
+      } catch (final IOException | UnsupportedOperationException exception) {
+        // The file system doesn't support hard links, so we check the existing file
+        // before the move instead.
+        if (Files.exists(nextPath)) {
+          throw new FileAlreadyExistsException(nextPath.toString());
+        }
+      }
+    }
+    try {
+      Files.move(previousPath, nextPath, StandardCopyOption.ATOMIC_MOVE);
+    } catch (final AtomicMoveNotSupportedException exception) {
+      // The paths are on different file systems, so the file can only be copied, the regular
+      // files are copied to a temporary file next to the destination, which is then moved
+      // atomically on the destination file system.
+      if (Files.isRegularFile(previousPath, LinkOption.NOFOLLOW_LINKS)) {
+        transferAcross(previousPath, nextPath, replaceExistingFile, false, ProgressListener.NOOP);
+      } else if (replaceExistingFile) {
+        Files.move(previousPath, nextPath, StandardCopyOption.REPLACE_EXISTING);
+      } else {
+        Files.move(previousPath, nextPath);
+      }
+    }
+  }
 }
@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.relocation;
+
+/**
+ * This enum represents the outcome for a file of a bulk relocation.
+ *
+ * @since 0.0.2
+ */
+public enum RelocationOutcome {
+  /**
+   * The file was renamed, since the source and target are on the same file system.
+   *
+   * @since 0.0.2
+   */
+  RENAMED,
+  /**
+   * The file was copied to another file system, and deleted from the source.
+   *
+   * @since 0.0.2
+   */
+  COPIED,
+  /**
+   * The file was not relocated, since the target already exists and must not be replaced.
+   *
+   * @since 0.0.2
+   */
+  SKIPPED,
+  /**
+   * The file would be relocated, the relocation was a dry-run.
+   *
+   * @since 0.0.2
+   */
+  PLANNED,
+  /**
+   * The file could not be relocated.
+   *
+   * @since 0.0.2
+   */
+  FAILED;
+
+  /**
+   * Checks if this outcome has left the file on the target.
+   *
+   * @return {@code true} if the file was renamed or copied. Otherwise {@code false}.
+   * @since 0.0.2
+   */
+  public boolean relocated() {
+    return this == RENAMED || this == COPIED;
+  }
+}
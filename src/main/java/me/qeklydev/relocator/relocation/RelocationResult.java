@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.relocation;
+
+import java.nio.file.Path;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This record represents the result of the relocation for a single file.
+ *
+ * @param source the file path on the source tree.
+ * @param target the file path on the target tree.
+ * @param outcome the outcome for this file.
+ * @param cause the exception that has failed the relocation, or {@code null}.
+ * @since 0.0.2
+ */
+public record RelocationResult(@NotNull Path source, @NotNull Path target, @NotNull RelocationOutcome outcome, @Nullable Throwable cause) {
+  /**
+   * Creates a new result for a file that could not be relocated.
+   *
+   * @param source the file path on the source tree.
+   * @param target the file path on the target tree.
+   * @param cause the exception that has failed the relocation.
+   * @return A new {@link RelocationResult}.
+   * @since 0.0.2
+   */
+  public static @NotNull RelocationResult failed(final @NotNull Path source, final @NotNull Path target, final @NotNull Throwable cause) {
+    return new RelocationResult(source, target, RelocationOutcome.FAILED, cause);
+  }
+
+  @Override
+  public @NotNull String toString() {
+    return this.outcome + " " + this.source + " -> " + this.target + ((this.cause == null) ? "" : " (" + this.cause + ")");
+  }
+}
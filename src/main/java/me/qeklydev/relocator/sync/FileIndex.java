@@ -0,0 +1,202 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.sync;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import me.qeklydev.relocator.io.ChecksumAlgorithm;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class is the index of the hashes of the synchronized files, the hash of a
+ * file is computed again only if their size or their modification time has changed,
+ * so a synchronized directory is verified without reading their files.
+ * <p>
+ * The index is stored on the directory, with a line for every file:
+ * {@code algorithm size modified hash path}, separated by tabs.
+ *
+ * @since 0.0.2
+ */
+final class FileIndex {
+  /**
+   * The name of the index file on the synchronized directory.
+   */
+  static final String INDEX_FILE_NAME = ".sync-index";
+  /**
+   * The size of the buffer used to hash the files.
+   */
+  private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private volatile boolean modified;
+
+  /**
+   * Loads the index from the given file, a missing or unreadable index is
+   * considered empty, so every file is hashed again.
+   *
+   * @param file the index file.
+   * @return The loaded {@link FileIndex}.
+   */
+  static @NotNull FileIndex load(final @NotNull Path file) {
+    final var index = new FileIndex();
+    try {
+      for (final var line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+        final var fields = line.split("\t", 5);
+        if (fields.length != 5) {
+          continue;
+        }
+        index.entries.put(fields[4], new Entry(ChecksumAlgorithm.valueOf(fields[0]), Long.parseLong(fields[1]),
+            Long.parseLong(fields[2]), fields[3]));
+      }
+    } catch (final NoSuchFileException exception) {
+      // The directory has not been synchronized before.
+    } catch (final IOException | IllegalArgumentException exception) {
+      // The index is only a cache, we discard it and hash the files again.
+      index.entries.clear();
+      index.modified = true;
+    }
+    return index;
+  }
+
+  /**
+   * Returns the hash of the given file, the indexed hash is used if the size and the
+   * modification time of the file has not changed.
+   *
+   * @param directory the synchronized directory.
+   * @param path the relative path of the file.
+   * @param attributes the attributes of the file.
+   * @param algorithm the algorithm for the hash.
+   * @return The hex value of the hash.
+   * @throws IOException if the file could not be read.
+   */
+  @NotNull String hash(final @NotNull Path directory, final @NotNull String path, final @NotNull BasicFileAttributes attributes,
+                       final @NotNull ChecksumAlgorithm algorithm) throws IOException {
+    final var size = attributes.size();
+    final var modifiedMillis = attributes.lastModifiedTime().toMillis();
+    final var entry = this.entries.get(path);
+    if (entry != null && entry.algorithm == algorithm && entry.size == size && entry.modifiedMillis == modifiedMillis) {
+      return entry.hash;
+    }
+    final var digest = algorithm.newDigest();
+    try (final var fileChannel = FileChannel.open(directory.resolve(path), StandardOpenOption.READ)) {
+      final var buffer = ByteBuffer.allocate(HASH_BUFFER_SIZE);
+      while (fileChannel.read(buffer) != -1) {
+        buffer.flip();
+        digest.update(buffer);
+        buffer.clear();
+      }
+    }
+    final var hash = HexFormat.of().formatHex(digest.digest());
+    this.record(path, algorithm, size, modifiedMillis, hash);
+    return hash;
+  }
+
+  /**
+   * Records the hash of the given file.
+   *
+   * @param path the relative path of the file.
+   * @param algorithm the algorithm of the hash.
+   * @param size the size of the file.
+   * @param modifiedMillis the modification time of the file.
+   * @param hash the hex value of the hash.
+   */
+  void record(final @NotNull String path, final @NotNull ChecksumAlgorithm algorithm, final long size,
+              final long modifiedMillis, final @NotNull String hash) {
+    this.entries.put(path, new Entry(algorithm, size, modifiedMillis, hash));
+    this.modified = true;
+  }
+
+  /**
+   * Moves the indexed hash of a file to their new path, the relocation keeps the
+   * content and the modification time of the file.
+   *
+   * @param previousPath the previous relative path of the file.
+   * @param nextPath the new relative path of the file.
+   */
+  void move(final @NotNull String previousPath, final @NotNull String nextPath) {
+    final var entry = this.entries.remove(previousPath);
+    if (entry != null) {
+      this.entries.put(nextPath, entry);
+    }
+    this.modified = true;
+  }
+
+  /**
+   * Removes the files that are not on the given paths from the index.
+   *
+   * @param paths the relative paths of the existing files.
+   */
+  void retain(final @NotNull Set<@NotNull String> paths) {
+    if (this.entries.keySet().retainAll(paths)) {
+      this.modified = true;
+    }
+  }
+
+  /**
+   * Saves the index on the given file if it has been modified, the index is
+   * written on a temporary file that replaces the previous index.
+   *
+   * @param file the index file.
+   * @throws IOException if the index could not be saved.
+   */
+  void save(final @NotNull Path file) throws IOException {
+    if (!this.modified) {
+      return;
+    }
+    final var lines = new ArrayList<String>(this.entries.size());
+    for (final var indexEntry : this.entries.entrySet()) {
+      final var entry = indexEntry.getValue();
+      lines.add(entry.algorithm.name() + '\t' + entry.size + '\t' + entry.modifiedMillis + '\t' + entry.hash + '\t' + indexEntry.getKey());
+    }
+    final var temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+    Files.write(temporaryFile, lines, StandardCharsets.UTF_8);
+    Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    this.modified = false;
+  }
+
+  /**
+   * Checks if the given file name belongs to the index.
+   *
+   * @param fileName the file name.
+   * @return {@code true} if it's the index, or their temporary file. Otherwise {@code false}.
+   */
+  static boolean isIndexFile(final @Nullable Path fileName) {
+    return fileName != null && fileName.toString().startsWith(INDEX_FILE_NAME);
+  }
+
+  private record Entry(@NotNull ChecksumAlgorithm algorithm, long size, long modifiedMillis, @NotNull String hash) {}
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.sync;
+
+import java.nio.file.Path;
+import java.util.List;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.io.Checksum;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This record represents a file declared by a manifest.
+ *
+ * @param path the path of the file, relative to the synchronized directory and
+ *             separated by {@code /}.
+ * @param url the url for the download.
+ * @param mirrors the mirrors for the download.
+ * @param checksum the expected checksum for the file, or {@code null} if the
+ *                 file is only verified by their size, or their existence.
+ * @param size the expected size for the file, or {@code -1} if it's unknown.
+ * @param replaceExisting indicates if an existing file that doesn't match must
+ *                        be replaced.
+ * @since 0.0.2
+ */
+public record ManifestEntry(@NotNull String path, @NotNull String url, @NotNull List<@NotNull String> mirrors,
+                            @Nullable Checksum checksum, long size, boolean replaceExisting) {
+  /**
+   * The size used when the expected size of the file is unknown.
+   *
+   * @since 0.0.2
+   */
+  public static final long UNKNOWN_SIZE = -1L;
+
+  /**
+   * Returns a new file downloader builder for this file, the builder can be
+   * configured with the information that is not declared by the manifest, e.g.
+   * the transport.
+   *
+   * @param directory the synchronized directory.
+   * @return A new {@link FileDownloader.Builder}.
+   * @since 0.0.2
+   */
+  public @NotNull FileDownloader.Builder downloader(final @NotNull Path directory) {
+    final var builder = FileDownloader.builder()
+        .name(directory.resolve(this.path).toString())
+        .url(this.url)
+        .mirrors(this.mirrors)
+        .replaceExisting(this.replaceExisting);
+    if (this.checksum != null) {
+      builder.checksum(this.checksum);
+    }
+    return builder;
+  }
+}
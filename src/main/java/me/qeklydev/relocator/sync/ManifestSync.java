@@ -0,0 +1,518 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.sync;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.UnaryOperator;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.io.ChecksumAlgorithm;
+import me.qeklydev.relocator.io.DownloadResult;
+import me.qeklydev.relocator.io.IOUtils;
+import me.qeklydev.relocator.io.PartialDownloadState;
+import me.qeklydev.relocator.relocation.FilesRelocationUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class synchronizes a directory with a manifest, only the difference between
+ * the directory and the manifest is applied: the files that match are not touched,
+ * the files that are on another path of the directory are moved, and only the
+ * missing or outdated files are downloaded, in parallel.
+ * <p>
+ * The files are compared by their hash, which is kept on an index file on the
+ * directory, so the hash of a file is only computed again when their size or their
+ * modification time has changed. The files without a declared hash are compared by
+ * their size, or by their existence.
+ *
+ * @since 0.0.2
+ */
+public final class ManifestSync {
+  /**
+   * The extension of the temporary files written on the directory.
+   */
+  private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+  private final SyncManifest manifest;
+  private final Path directory;
+  private final Executor executor;
+  private final int maxConcurrency;
+  private final UnaryOperator<FileDownloader.Builder> downloaderOptions;
+
+  private ManifestSync(final @NotNull SyncManifest manifest, final @NotNull Path directory, final @NotNull Executor executor,
+                       final int maxConcurrency, final @NotNull UnaryOperator<FileDownloader.Builder> downloaderOptions) {
+    this.manifest = manifest;
+    this.directory = directory;
+    this.executor = executor;
+    this.maxConcurrency = maxConcurrency;
+    this.downloaderOptions = downloaderOptions;
+  }
+
+  /**
+   * Creates a new builder for the manifest synchronization.
+   *
+   * @return A new {@link Builder}.
+   * @since 0.0.2
+   */
+  public static @NotNull Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Synchronizes the directory with the manifest, this method blocks until every
+   * file has been synchronized.
+   *
+   * @return The {@link SyncResult} with the result for every file.
+   * @throws IOException if the directory could not be scanned, or the index could
+   *                     not be saved.
+   * @since 0.0.2
+   */
+  public @NotNull SyncResult sync() throws IOException {
+    Files.createDirectories(this.directory);
+    final var indexFile = this.directory.resolve(FileIndex.INDEX_FILE_NAME);
+    final var index = FileIndex.load(indexFile);
+    final var scannedFiles = this.scan();
+    // The files that are not declared by the manifest can be moved to a declared path
+    // with the same hash, the claimed files are removed from this map, so every file
+    // is moved only once.
+    final var unclaimedFiles = new ConcurrentHashMap<>(scannedFiles);
+    final var declaredPaths = new HashSet<String>();
+    for (final var entry : this.manifest.entries()) {
+      declaredPaths.add(entry.path());
+      unclaimedFiles.remove(entry.path());
+    }
+    final var permits = new Semaphore(this.maxConcurrency);
+    // First, we verify the declared files that are on the directory, the entries without
+    // a result must be relocated or downloaded.
+    final var verifiedResults = this.parallel(this.manifest.entries(), permits,
+        entry -> this.verify(entry, scannedFiles.get(entry.path()), index));
+    final var pendingEntries = new ArrayList<ManifestEntry>();
+    final var results = new ArrayList<SyncFileResult>(this.manifest.entries().size());
+    for (var position = 0; position < verifiedResults.size(); position++) {
+      final var verifiedResult = verifiedResults.get(position);
+      if (verifiedResult == null) {
+        pendingEntries.add(this.manifest.entries().get(position));
+      } else {
+        results.add(verifiedResult);
+      }
+    }
+    // The unclaimed files are hashed once, before they are claimed by the pending entries,
+    // of this way, a file is never read while another entry is moving it.
+    final var candidates = this.candidates(pendingEntries, unclaimedFiles, index, permits);
+    results.addAll(this.parallel(pendingEntries, permits, entry -> this.synchronize(entry, unclaimedFiles, candidates, index)));
+    // The unclaimed files are deleted once every file has been synchronized, as they
+    // could have been moved to a declared path.
+    final var existingPaths = new HashSet<>(declaredPaths);
+    for (final var unclaimedPath : unclaimedFiles.keySet()) {
+      final var path = this.directory.resolve(unclaimedPath);
+      if (!this.manifest.prune()) {
+        existingPaths.add(unclaimedPath);
+        continue;
+      }
+      try {
+        Files.deleteIfExists(path);
+        results.add(new SyncFileResult(path, SyncOutcome.DELETED, null, null));
+      } catch (final IOException exception) {
+        existingPaths.add(unclaimedPath);
+        results.add(SyncFileResult.failed(path, exception));
+      }
+    }
+    index.retain(existingPaths);
+    index.save(indexFile);
+    return new SyncResult(results);
+  }
+
+  /**
+   * Performs the given task for every manifest entry on the executor of this
+   * synchronization, the exceptions of the task fail the entry.
+   *
+   * @param entries the manifest entries.
+   * @param permits the permits that limit the tasks performed at the same time.
+   * @param task the task for every entry.
+   * @return The results of the task, in the order of the entries.
+   */
+  private @NotNull List<SyncFileResult> parallel(final @NotNull List<@NotNull ManifestEntry> entries, final @NotNull Semaphore permits,
+                                                 final @NotNull EntryTask task) {
+    final var futures = new ArrayList<CompletableFuture<SyncFileResult>>(entries.size());
+    for (final var entry : entries) {
+      final var path = this.directory.resolve(entry.path());
+      futures.add(CompletableFuture.supplyAsync(() -> {
+        permits.acquireUninterruptibly();
+        try {
+          return task.perform(entry);
+        } catch (final IOException exception) {
+          return SyncFileResult.failed(path, exception);
+        } finally {
+          permits.release();
+        }
+      }, this.executor).exceptionally(throwable -> SyncFileResult.failed(path, throwable)));
+    }
+    final var results = new ArrayList<SyncFileResult>(futures.size());
+    for (final var future : futures) {
+      results.add(future.join());
+    }
+    return results;
+  }
+
+  /**
+   * Verifies the given file of the manifest, if it's on the directory.
+   *
+   * @param entry the manifest entry.
+   * @param attributes the attributes of the file on the directory, or {@code null}
+   *                   if the file is not on the directory.
+   * @param index the index of the hashes.
+   * @return The {@link SyncFileResult} for the file, or {@code null} if the file
+   * must be relocated or downloaded.
+   * @throws IOException if the file could not be read.
+   */
+  private @Nullable SyncFileResult verify(final @NotNull ManifestEntry entry, final @Nullable BasicFileAttributes attributes,
+                                          final @NotNull FileIndex index) throws IOException {
+    if (attributes == null) {
+      return null;
+    }
+    final var path = this.directory.resolve(entry.path());
+    if (this.matches(entry, entry.path(), attributes, index)) {
+      return new SyncFileResult(path, SyncOutcome.UNCHANGED, null, null);
+    }
+    return entry.replaceExisting() ? null : new SyncFileResult(path, SyncOutcome.KEPT, null, null);
+  }
+
+  /**
+   * Hashes the unclaimed files that could be relocated to the given entries, the
+   * files are hashed with the algorithms declared by the entries, and only if their
+   * size matches any entry.
+   *
+   * @param pendingEntries the entries that must be relocated or downloaded.
+   * @param unclaimedFiles the files that are not declared by the manifest.
+   * @param index the index of the hashes.
+   * @param permits the permits that limit the files hashed at the same time.
+   * @return The paths of the unclaimed files, by their hash key.
+   * @see #hashKey(ChecksumAlgorithm, String)
+   */
+  private @NotNull Map<String, Queue<String>> candidates(final @NotNull List<@NotNull ManifestEntry> pendingEntries,
+                                                         final @NotNull Map<String, BasicFileAttributes> unclaimedFiles,
+                                                         final @NotNull FileIndex index, final @NotNull Semaphore permits) {
+    final var candidates = new ConcurrentHashMap<String, Queue<String>>();
+    final var algorithms = EnumSet.noneOf(ChecksumAlgorithm.class);
+    final var sizes = new HashSet<Long>();
+    var unknownSize = false;
+    for (final var entry : pendingEntries) {
+      if (entry.checksum() == null) {
+        continue;
+      }
+      algorithms.add(entry.checksum().algorithm());
+      sizes.add(entry.size());
+      unknownSize |= entry.size() == ManifestEntry.UNKNOWN_SIZE;
+    }
+    if (algorithms.isEmpty()) {
+      return candidates;
+    }
+    final var anySize = unknownSize;
+    final var futures = new ArrayList<CompletableFuture<Void>>();
+    for (final var unclaimedFile : unclaimedFiles.entrySet()) {
+      final var attributes = unclaimedFile.getValue();
+      if (!anySize && !sizes.contains(attributes.size())) {
+        continue;
+      }
+      futures.add(CompletableFuture.runAsync(() -> {
+        permits.acquireUninterruptibly();
+        try {
+          for (final var algorithm : algorithms) {
+            final var hash = index.hash(this.directory, unclaimedFile.getKey(), attributes, algorithm);
+            candidates.computeIfAbsent(hashKey(algorithm, hash), key -> new ConcurrentLinkedQueue<>()).add(unclaimedFile.getKey());
+          }
+        } catch (final IOException exception) {
+          // The file has been deleted or cannot be read, so it's not a candidate for
+          // any entry, the entries are downloaded instead.
+        } finally {
+          permits.release();
+        }
+      }, this.executor));
+    }
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    return candidates;
+  }
+
+  /**
+   * Relocates or downloads the given file of the manifest.
+   *
+   * @param entry the manifest entry.
+   * @param unclaimedFiles the files that are not declared by the manifest.
+   * @param candidates the paths of the unclaimed files, by their hash key.
+   * @param index the index of the hashes.
+   * @return The {@link SyncFileResult} for the file.
+   * @throws IOException if the file could not be written.
+   */
+  private @NotNull SyncFileResult synchronize(final @NotNull ManifestEntry entry, final @NotNull Map<String, BasicFileAttributes> unclaimedFiles,
+                                              final @NotNull Map<String, Queue<String>> candidates,
+                                              final @NotNull FileIndex index) throws IOException {
+    final var path = this.directory.resolve(entry.path());
+    final var parent = path.getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    // Only the files with a declared hash can be identified on another path, the
+    // size or the name of a file are not enough to know that their content is the same.
+    final var checksum = entry.checksum();
+    final var entryCandidates = (checksum == null) ? null : candidates.get(hashKey(checksum.algorithm(), checksum.value()));
+    if (entryCandidates != null) {
+      String unclaimedPath;
+      while ((unclaimedPath = entryCandidates.poll()) != null) {
+        // The file is claimed atomically, so only one entry can move it, the file could
+        // be on the candidates of another algorithm too.
+        if (unclaimedFiles.remove(unclaimedPath) == null) {
+          continue;
+        }
+        final var source = this.directory.resolve(unclaimedPath);
+        if (FilesRelocationUtils.relocateTo(source, path, entry.replaceExisting(), false, true)) {
+          index.move(unclaimedPath, entry.path());
+          return new SyncFileResult(path, SyncOutcome.RELOCATED, source, null);
+        }
+        // A file that has been deleted since the scan is not a candidate anymore.
+        if (Files.exists(source)) {
+          throw new IOException("The file " + source + " could not be relocated to " + path + '.');
+        }
+      }
+    }
+    final var downloader = this.downloaderOptions.apply(entry.downloader(this.directory)).build();
+    final var result = downloader.download();
+    if (!result.successful()) {
+      return SyncFileResult.failed(path, failure(result));
+    }
+    // The downloaded file was verified by the downloader, so we index their hash
+    // without reading it again.
+    if (checksum != null) {
+      final var downloadedAttributes = Files.readAttributes(path, BasicFileAttributes.class);
+      index.record(entry.path(), checksum.algorithm(), downloadedAttributes.size(),
+          downloadedAttributes.lastModifiedTime().toMillis(), checksum.value());
+    }
+    return new SyncFileResult(path, SyncOutcome.DOWNLOADED, null, null);
+  }
+
+  /**
+   * Returns the key used to find the files with the given hash.
+   *
+   * @param algorithm the algorithm of the hash.
+   * @param hash the hex value of the hash.
+   * @return The hash key.
+   */
+  private static @NotNull String hashKey(final @NotNull ChecksumAlgorithm algorithm, final @NotNull String hash) {
+    return algorithm.name() + ':' + hash.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Checks if the given file matches the manifest entry.
+   *
+   * @param entry the manifest entry.
+   * @param path the relative path of the file.
+   * @param attributes the attributes of the file.
+   * @param index the index of the hashes.
+   * @return {@code true} if the file matches. Otherwise {@code false}.
+   * @throws IOException if the file could not be read.
+   */
+  private boolean matches(final @NotNull ManifestEntry entry, final @NotNull String path,
+                          final @NotNull BasicFileAttributes attributes, final @NotNull FileIndex index) throws IOException {
+    // The size is checked first, so the files with another size are never hashed.
+    if (entry.size() != ManifestEntry.UNKNOWN_SIZE && entry.size() != attributes.size()) {
+      return false;
+    }
+    final var checksum = entry.checksum();
+    return checksum == null || checksum.matches(index.hash(this.directory, path, attributes, checksum.algorithm()));
+  }
+
+  /**
+   * Scans the regular files of the directory, the index and the temporary files of
+   * the downloads are skipped.
+   *
+   * @return The attributes of every file, by their relative path.
+   * @throws IOException if the directory could not be scanned.
+   */
+  private @NotNull Map<@NotNull String, @NotNull BasicFileAttributes> scan() throws IOException {
+    final var files = new HashMap<String, BasicFileAttributes>();
+    Files.walkFileTree(this.directory, new SimpleFileVisitor<>() {
+      @Override
+      public @NotNull FileVisitResult visitFile(final @NotNull Path file, final @NotNull BasicFileAttributes attributes) {
+        final var fileName = file.getFileName().toString();
+        if (!attributes.isRegularFile() || fileName.endsWith(TEMPORARY_FILE_EXTENSION)
+            || fileName.endsWith(PartialDownloadState.PARTIAL_FILE_EXTENSION)
+            || fileName.endsWith(PartialDownloadState.SIDECAR_FILE_EXTENSION)) {
+          return FileVisitResult.CONTINUE;
+        }
+        final var relativePath = ManifestSync.this.directory.relativize(file);
+        if (relativePath.getNameCount() == 1 && FileIndex.isIndexFile(relativePath)) {
+          return FileVisitResult.CONTINUE;
+        }
+        files.put(relativePath.toString().replace('\\', '/'), attributes);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+    return files;
+  }
+
+  /**
+   * Returns the cause for the given failed download.
+   *
+   * @param result the download result.
+   * @return The cause of the failure.
+   */
+  private static @NotNull Throwable failure(final @NotNull DownloadResult result) {
+    final var cause = result.cause();
+    if (cause != null) {
+      return cause;
+    }
+    return new IOException("The download of " + result.provider() + " has finished with the status " + result.status()
+        + ((result.statusCode() == DownloadResult.NO_STATUS_CODE) ? "" : " (" + result.statusCode() + ')') + '.');
+  }
+
+  /**
+   * This interface represents a task performed for a manifest entry.
+   */
+  @FunctionalInterface
+  private interface EntryTask {
+    /**
+     * Performs the task for the given entry.
+     *
+     * @param entry the manifest entry.
+     * @return The result for the entry, or {@code null} if the task has not finished it.
+     * @throws IOException if the task has failed.
+     */
+    @Nullable SyncFileResult perform(@NotNull ManifestEntry entry) throws IOException;
+  }
+
+  /**
+   * This class is used to build a {@link ManifestSync} instance.
+   *
+   * @since 0.0.2
+   */
+  public static class Builder {
+    private SyncManifest manifest;
+    private Path directory;
+    private Executor executor = IOUtils.VIRTUAL_THREAD_EXECUTOR;
+    private int maxConcurrency = 16;
+    private UnaryOperator<FileDownloader.Builder> downloaderOptions = UnaryOperator.identity();
+
+    /**
+     * Defines the manifest with the files that must be on the directory.
+     *
+     * @param manifest the manifest.
+     * @return The current builder instance.
+     * @see SyncManifest#read(Path)
+     * @since 0.0.2
+     */
+    public @NotNull Builder manifest(final @NotNull SyncManifest manifest) {
+      this.manifest = manifest;
+      return this;
+    }
+
+    /**
+     * Defines the directory that is synchronized with the manifest, the directory is
+     * created if it doesn't exist.
+     *
+     * @param directory the synchronized directory.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder directory(final @NotNull Path directory) {
+      this.directory = directory;
+      return this;
+    }
+
+    /**
+     * Defines the executor used to synchronize the files, by default every file
+     * is synchronized on their own virtual thread.
+     *
+     * @param executor the executor for the synchronization.
+     * @return The current builder instance.
+     * @see IOUtils#VIRTUAL_THREAD_EXECUTOR
+     * @since 0.0.2
+     */
+    public @NotNull Builder executor(final @NotNull Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Defines the maximum amount of files synchronized at the same time.
+     *
+     * @param maxConcurrency the concurrency limit.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder maxConcurrency(final int maxConcurrency) {
+      this.maxConcurrency = maxConcurrency;
+      return this;
+    }
+
+    /**
+     * Defines the options applied to the file downloaders of the manifest files, e.g.
+     * to define the transport, the cache or the retry policy, which are not declared
+     * by the manifest.
+     *
+     * @param downloaderOptions the options for the file downloaders.
+     * @return The current builder instance.
+     * @see ManifestEntry#downloader(Path)
+     * @since 0.0.2
+     */
+    public @NotNull Builder downloaderOptions(final @NotNull UnaryOperator<FileDownloader.@NotNull Builder> downloaderOptions) {
+      this.downloaderOptions = downloaderOptions;
+      return this;
+    }
+
+    /**
+     * Creates a new manifest synchronization using the information given to the builder.
+     *
+     * @return The built {@link ManifestSync}.
+     * @since 0.0.2
+     */
+    public @NotNull ManifestSync build() {
+      if (this.manifest == null) {
+        throw new IllegalStateException("The manifest has not been defined on ManifestSync.Builder.");
+      }
+      if (this.directory == null) {
+        throw new IllegalStateException("The directory has not been defined on ManifestSync.Builder.");
+      }
+      if (this.maxConcurrency < 1) {
+        throw new IllegalStateException("The concurrency limit must be at least one on ManifestSync.Builder.");
+      }
+      return new ManifestSync(this.manifest, this.directory.toAbsolutePath(), this.executor, this.maxConcurrency,
+          this.downloaderOptions);
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.sync;
+
+import java.nio.file.Path;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This record represents the result of the synchronization of a file.
+ *
+ * @param path the file on the directory.
+ * @param outcome the outcome of the synchronization.
+ * @param source the file that was moved to the path, or {@code null} if the file was not relocated.
+ * @param cause the exception that has failed the synchronization, or {@code null}.
+ * @since 0.0.2
+ */
+public record SyncFileResult(@NotNull Path path, @NotNull SyncOutcome outcome, @Nullable Path source, @Nullable Throwable cause) {
+  /**
+   * Creates a new result for a file that could not be synchronized.
+   *
+   * @param path the file on the directory.
+   * @param cause the exception that has failed the synchronization.
+   * @return A new {@link SyncFileResult}.
+   * @since 0.0.2
+   */
+  public static @NotNull SyncFileResult failed(final @NotNull Path path, final @NotNull Throwable cause) {
+    return new SyncFileResult(path, SyncOutcome.FAILED, null, cause);
+  }
+
+  @Override
+  public @NotNull String toString() {
+    return this.outcome + " " + this.path + ((this.source == null) ? "" : " <- " + this.source) + ((this.cause == null) ? "" : " (" + this.cause + ")");
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.sync;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import me.qeklydev.relocator.io.Checksum;
+import me.qeklydev.relocator.io.Json;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This record represents a manifest, the declaration of the files that must be
+ * on a directory. The manifests are written as JSON:
+ * <pre>{@code
+ * {
+ *   "prune": false,
+ *   "files": [
+ *     {
+ *       "path": "plugins/example.jar",
+ *       "url": "https://example.com/example.jar",
+ *       "mirrors": ["https://mirror.example.com/example.jar"],
+ *       "hash": "sha256:<hex>",
+ *       "size": 1024,
+ *       "replace": true
+ *     }
+ *   ]
+ * }
+ * }</pre>
+ * Only the {@code path} and the {@code url} are required, the files are replaced
+ * by default, and the hash can use the {@code sha1}, {@code sha256} or {@code sha512}
+ * algorithms.
+ *
+ * @param entries the files declared by the manifest.
+ * @param prune indicates if the files that are not declared must be deleted from
+ *              the directory.
+ * @since 0.0.2
+ */
+public record SyncManifest(@NotNull List<@NotNull ManifestEntry> entries, boolean prune) {
+  /**
+   * Parses the given JSON manifest.
+   *
+   * @param json the manifest text.
+   * @return The parsed {@link SyncManifest}.
+   * @throws IllegalArgumentException if the manifest is not valid.
+   * @since 0.0.2
+   */
+  public static @NotNull SyncManifest parse(final @NotNull String json) {
+    final var root = Json.object(Json.parse(json));
+    final var files = Json.array(root.get("files"));
+    final var entries = new ArrayList<ManifestEntry>(files.size());
+    // Two entries for the same path would be downloaded at the same time to the
+    // same file, so we reject the manifest instead.
+    final var paths = new HashSet<String>();
+    for (final var file : files) {
+      final var entry = entry(Json.object(file));
+      if (!paths.add(entry.path())) {
+        throw new IllegalArgumentException("The path '" + entry.path() + "' is declared more than once on the manifest.");
+      }
+      entries.add(entry);
+    }
+    return new SyncManifest(List.copyOf(entries), Boolean.TRUE.equals(root.get("prune")));
+  }
+
+  /**
+   * Reads and parses the given JSON manifest file.
+   *
+   * @param file the manifest file.
+   * @return The parsed {@link SyncManifest}.
+   * @throws IOException if the file could not be read.
+   * @throws IllegalArgumentException if the manifest is not valid.
+   * @since 0.0.2
+   */
+  public static @NotNull SyncManifest read(final @NotNull Path file) throws IOException {
+    return parse(Files.readString(file, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Creates the manifest entry for the given JSON object.
+   *
+   * @param file the JSON object of the file.
+   * @return The {@link ManifestEntry}.
+   */
+  private static @NotNull ManifestEntry entry(final @NotNull Map<String, Object> file) {
+    final var path = Json.string(file.get("path"));
+    final var url = Json.string(file.get("url"));
+    if (path == null || url == null) {
+      throw new IllegalArgumentException("The manifest files must declare their path and url.");
+    }
+    final var mirrors = new ArrayList<String>();
+    for (final var mirror : Json.array(file.get("mirrors"))) {
+      final var mirrorUrl = Json.string(mirror);
+      if (mirrorUrl != null) {
+        mirrors.add(mirrorUrl);
+      }
+    }
+    final var size = (file.get("size") instanceof Number number) ? number.longValue() : ManifestEntry.UNKNOWN_SIZE;
+    return new ManifestEntry(relativePath(path), url, List.copyOf(mirrors), checksum(Json.string(file.get("hash"))),
+        size, !Boolean.FALSE.equals(file.get("replace")));
+  }
+
+  /**
+   * Normalizes the given path, which must stay inside the synchronized directory.
+   *
+   * @param path the declared path.
+   * @return The normalized path, separated by {@code /}.
+   */
+  private static @NotNull String relativePath(final @NotNull String path) {
+    // The manifest could be given by a remote source, so we must not allow it to
+    // write out of the directory, e.g. with '../' or an absolute path.
+    final var normalizedPath = Path.of(path).normalize();
+    if (path.startsWith("/") || normalizedPath.isAbsolute() || normalizedPath.toString().isEmpty()
+        || normalizedPath.startsWith("..")) {
+      throw new IllegalArgumentException("The path '" + path + "' is out of the synchronized directory.");
+    }
+    return normalizedPath.toString().replace('\\', '/');
+  }
+
+  /**
+   * Parses the given hash, written as the algorithm and the hex value separated
+   * by a colon, e.g. {@code sha256:<hex>}.
+   *
+   * @param hash the declared hash, or {@code null}.
+   * @return The {@link Checksum}, or {@code null} if there's no hash.
+   */
+  private static @Nullable Checksum checksum(final @Nullable String hash) {
+    if (hash == null) {
+      return null;
+    }
+    final var separator = hash.indexOf(':');
+    if (separator < 0) {
+      throw new IllegalArgumentException("The hash '" + hash + "' must declare their algorithm.");
+    }
+    final var value = hash.substring(separator + 1);
+    return switch (hash.substring(0, separator).toLowerCase(Locale.ROOT)) {
+      case "sha1", "sha-1" -> Checksum.sha1(value);
+      case "sha256", "sha-256" -> Checksum.sha256(value);
+      case "sha512", "sha-512" -> Checksum.sha512(value);
+      default -> throw new IllegalArgumentException("The hash algorithm of '" + hash + "' is not supported.");
+    };
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.sync;
+
+/**
+ * This enum represents the outcome of the synchronization of a file.
+ *
+ * @since 0.0.2
+ */
+public enum SyncOutcome {
+  /**
+   * The file was on the directory, and matches the manifest.
+   *
+   * @since 0.0.2
+   */
+  UNCHANGED,
+  /**
+   * The file was downloaded.
+   *
+   * @since 0.0.2
+   */
+  DOWNLOADED,
+  /**
+   * The file was on another path of the directory, and was moved.
+   *
+   * @since 0.0.2
+   */
+  RELOCATED,
+  /**
+   * The file doesn't match the manifest, but must not be replaced.
+   *
+   * @since 0.0.2
+   */
+  KEPT,
+  /**
+   * The file is not on the manifest, and was deleted.
+   *
+   * @since 0.0.2
+   */
+  DELETED,
+  /**
+   * The file could not be synchronized.
+   *
+   * @since 0.0.2
+   */
+  FAILED
+}
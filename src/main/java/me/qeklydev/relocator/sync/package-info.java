@@ -0,0 +1,6 @@
+/**
+ * Provides the synchronization of directories with the files declared by a manifest.
+ *
+ * @since 0.0.2
+ */
+package me.qeklydev.relocator.sync;
@@ -0,0 +1,168 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.zip.GZIPInputStream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class is a {@link Transport} that requests the files compressed with gzip,
+ * and decompresses the responses while they are read, of this way, the files are
+ * transferred compressed, but written as they are on the server.
+ * <p>
+ * The compression is only requested for the {@code GET} requests without a bytes
+ * range, because the ranges of a compressed response are ranges of the compressed
+ * bytes. The decompressed responses don't have a content length, because it's not
+ * known until the response has been read.
+ *
+ * @since 0.0.2
+ */
+public final class DecompressingTransport implements Transport {
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private final Transport transport;
+
+  private DecompressingTransport(final @NotNull Transport transport) {
+    this.transport = transport;
+  }
+
+  /**
+   * Creates a new transport that decompresses the responses of the given transport.
+   *
+   * @param transport the transport used to perform the requests.
+   * @return A new {@link DecompressingTransport}.
+   * @since 0.0.2
+   */
+  public static @NotNull DecompressingTransport wrap(final @NotNull Transport transport) {
+    return (transport instanceof DecompressingTransport decompressingTransport)
+        ? decompressingTransport : new DecompressingTransport(transport);
+  }
+
+  @Override
+  public @NotNull TransportResponse open(final @NotNull TransportRequest request) throws IOException {
+    if (!"GET".equals(request.method()) || hasHeader(request, "Range") || hasHeader(request, "Accept-Encoding")) {
+      return this.transport.open(request);
+    }
+    final var response = this.transport.open(request.withHeader("Accept-Encoding", "gzip"));
+    final var contentEncoding = response.header("Content-Encoding");
+    if (contentEncoding == null || !(contentEncoding.trim().equalsIgnoreCase("gzip") || contentEncoding.trim().equalsIgnoreCase("x-gzip"))) {
+      return response;
+    }
+    return new DecompressedResponse(response);
+  }
+
+  /**
+   * Checks if the given request has the given header, ignoring the case of the name.
+   *
+   * @param request the request.
+   * @param name the header name.
+   * @return {@code true} if the request has the header. Otherwise {@code false}.
+   */
+  private static boolean hasHeader(final @NotNull TransportRequest request, final @NotNull String name) {
+    return request.headers().keySet().stream().anyMatch(name::equalsIgnoreCase);
+  }
+
+  /**
+   * This record is the response which body is decompressed while it's read.
+   *
+   * @param response the compressed response.
+   */
+  private record DecompressedResponse(@NotNull TransportResponse response) implements TransportResponse {
+    @Override
+    public int statusCode() {
+      return this.response.statusCode();
+    }
+
+    @Override
+    public @NotNull URI uri() {
+      return this.response.uri();
+    }
+
+    @Override
+    public @Nullable String header(final @NotNull String name) {
+      // The length and the encoding describe the compressed body, not the given body.
+      if (name.equalsIgnoreCase("Content-Length") || name.equalsIgnoreCase("Content-Encoding")) {
+        return null;
+      }
+      return this.response.header(name);
+    }
+
+    @Override
+    public @NotNull ReadableByteChannel body() {
+      return new GzipReadableByteChannel(this.response.body());
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.response.close();
+    }
+  }
+
+  /**
+   * This class is a channel that decompresses the given channel, the gzip header is
+   * read with the first bytes, so the body is not read until the channel is.
+   */
+  private static final class GzipReadableByteChannel implements ReadableByteChannel {
+    private final ReadableByteChannel channel;
+    private ReadableByteChannel decompressedChannel;
+    private boolean open = true;
+
+    private GzipReadableByteChannel(final @NotNull ReadableByteChannel channel) {
+      this.channel = channel;
+    }
+
+    @Override
+    public int read(final ByteBuffer buffer) throws IOException {
+      if (!this.open) {
+        throw new ClosedChannelException();
+      }
+      if (this.decompressedChannel == null) {
+        final InputStream compressedStream = Channels.newInputStream(this.channel);
+        this.decompressedChannel = Channels.newChannel(new GZIPInputStream(compressedStream, BUFFER_SIZE));
+      }
+      return this.decompressedChannel.read(buffer);
+    }
+
+    @Override
+    public boolean isOpen() {
+      return this.open;
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.open = false;
+      if (this.decompressedChannel != null) {
+        this.decompressedChannel.close();
+      } else {
+        this.channel.close();
+      }
+    }
+  }
+}
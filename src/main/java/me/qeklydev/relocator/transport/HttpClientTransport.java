@@ -0,0 +1,295 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class is a {@link Transport} implementation that uses a {@link HttpClient},
+ * the client keeps alive the connections and multiplexes the requests over HTTP/2
+ * when the server supports it.
+ * <p>
+ * The read timeout applies to the response headers and to every read of the body,
+ * so a server that stalls in the middle of the body fails the transfer instead of
+ * blocking it forever.
+ *
+ * @since 0.0.2
+ */
+public final class HttpClientTransport implements Transport {
+  /**
+   * The time used by default to wait for the connection and the response.
+   *
+   * @since 0.0.2
+   */
+  public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+  private static final ScheduledThreadPoolExecutor TIMEOUT_SCHEDULER;
+  private static final long WATCHDOG_CHECKS = 4L;
+  private static final HttpClientTransport SHARED;
+  private final HttpClient client;
+  private final Duration readTimeout;
+
+  static {
+    // Every response body has a periodic watchdog that is cancelled once the body is closed,
+    // so the watchdogs are removed instead of being kept on the queue until their next run.
+    TIMEOUT_SCHEDULER = new ScheduledThreadPoolExecutor(1, runnable -> {
+      final var thread = Executors.defaultThreadFactory().newThread(runnable);
+      thread.setName("relocator-read-timeout");
+      thread.setDaemon(true);
+      return thread;
+    });
+    TIMEOUT_SCHEDULER.setRemoveOnCancelPolicy(true);
+    SHARED = builder().build();
+  }
+
+  private HttpClientTransport(final @NotNull HttpClient client, final @NotNull Duration readTimeout) {
+    this.client = client;
+    this.readTimeout = readTimeout;
+  }
+
+  /**
+   * Returns the transport shared by every download that doesn't define
+   * their own transport.
+   *
+   * @return The shared {@link HttpClientTransport}.
+   * @since 0.0.2
+   */
+  public static @NotNull HttpClientTransport shared() {
+    return SHARED;
+  }
+
+  /**
+   * Creates a new builder for the http-client transport object.
+   *
+   * @return A new {@link Builder}.
+   * @since 0.0.2
+   */
+  public static @NotNull Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public @NotNull TransportResponse open(final @NotNull TransportRequest request) throws IOException {
+    final var requestBuilder = HttpRequest.newBuilder(request.uri())
+        .timeout(this.readTimeout)
+        .method(request.method(), HttpRequest.BodyPublishers.noBody());
+    request.headers().forEach(requestBuilder::header);
+    try {
+      // The body is given as a stream, of this way it's read as the file is written, instead
+      // of keep the full file on memory.
+      final var response = this.client.send(requestBuilder.build(), HttpResponse.BodyHandlers.ofInputStream());
+      return new HttpClientResponse(response, new IdleTimeoutChannel(response.body(), this.readTimeout));
+    } catch (final InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("The request for " + request.uri() + " has been interrupted.");
+    }
+  }
+
+  /**
+   * This record is the {@link TransportResponse} implementation for the
+   * responses given by the http-client.
+   *
+   * @param response the http-client response.
+   * @param body the channel for the response body.
+   */
+  private record HttpClientResponse(@NotNull HttpResponse<InputStream> response, @NotNull IdleTimeoutChannel body) implements TransportResponse {
+    @Override
+    public int statusCode() {
+      return this.response.statusCode();
+    }
+
+    @Override
+    public @NotNull URI uri() {
+      return this.response.uri();
+    }
+
+    @Override
+    public @Nullable String header(final @NotNull String name) {
+      return this.response.headers().firstValue(name).orElse(null);
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.body.close();
+    }
+  }
+
+  /**
+   * This class is a {@link ReadableByteChannel} for a response body that aborts the
+   * response if a read doesn't receive any byte within the read timeout.
+   * <p>
+   * The reads only record when they start, and a periodic watchdog checks the pending
+   * read, of this way, the reads don't schedule and cancel a timeout every time.
+   */
+  private static final class IdleTimeoutChannel implements ReadableByteChannel {
+    private static final long NO_PENDING_READ = -1L;
+    private final InputStream body;
+    private final ReadableByteChannel channel;
+    private final Duration readTimeout;
+    private volatile long readStartedAt = NO_PENDING_READ;
+    private volatile boolean timedOut;
+    private volatile ScheduledFuture<?> watchdog;
+
+    private IdleTimeoutChannel(final @NotNull InputStream body, final @NotNull Duration readTimeout) {
+      this.body = body;
+      this.channel = Channels.newChannel(body);
+      this.readTimeout = readTimeout;
+    }
+
+    @Override
+    public int read(final @NotNull ByteBuffer buffer) throws IOException {
+      // The watchdog is started with the first read, so the bodies that are never read
+      // (e.g. on an error status) don't have any watchdog.
+      if (this.watchdog == null) {
+        final var period = Math.max(1L, this.readTimeout.toNanos() / WATCHDOG_CHECKS);
+        this.watchdog = TIMEOUT_SCHEDULER.scheduleAtFixedRate(this::check, period, period, TimeUnit.NANOSECONDS);
+      }
+      // Closing the body unblocks the pending read, which could then report the end of the
+      // body, so the timeout is checked after every read to never give a truncated body.
+      this.readStartedAt = System.nanoTime();
+      final int readBytes;
+      try {
+        readBytes = this.channel.read(buffer);
+      } catch (final IOException exception) {
+        if (this.timedOut) {
+          throw this.timeoutException();
+        }
+        throw exception;
+      } finally {
+        this.readStartedAt = NO_PENDING_READ;
+      }
+      if (this.timedOut) {
+        throw this.timeoutException();
+      }
+      return readBytes;
+    }
+
+    /**
+     * Aborts the response if the pending read has exceeded the read timeout.
+     */
+    private void check() {
+      final var readStartedAt = this.readStartedAt;
+      if (readStartedAt == NO_PENDING_READ || System.nanoTime() - readStartedAt < this.readTimeout.toNanos()) {
+        return;
+      }
+      this.timedOut = true;
+      this.cancelWatchdog();
+      try {
+        this.body.close();
+      } catch (final IOException exception) {
+        // The response is aborted, so the errors while closing it are irrelevant.
+      }
+    }
+
+    private void cancelWatchdog() {
+      final var watchdog = this.watchdog;
+      if (watchdog != null) {
+        watchdog.cancel(false);
+      }
+    }
+
+    private @NotNull HttpTimeoutException timeoutException() {
+      return new HttpTimeoutException("No bytes were received from the response body within " + this.readTimeout + '.');
+    }
+
+    @Override
+    public boolean isOpen() {
+      return this.channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.cancelWatchdog();
+      this.channel.close();
+    }
+  }
+
+  /**
+   * This class is used to build instances of the http-client transport.
+   *
+   * @since 0.0.2
+   */
+  public static class Builder {
+    private Duration connectTimeout = DEFAULT_TIMEOUT;
+    private Duration readTimeout = DEFAULT_TIMEOUT;
+
+    /**
+     * Defines the maximum time to wait for the connection with the server.
+     *
+     * @param connectTimeout the connect timeout.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder connectTimeout(final @NotNull Duration connectTimeout) {
+      this.connectTimeout = connectTimeout;
+      return this;
+    }
+
+    /**
+     * Defines the maximum time to wait for the server response once the
+     * request has been sent, and for every read of the response body.
+     *
+     * @param readTimeout the read timeout.
+     * @return The current builder instance.
+     * @since 0.0.2
+     */
+    public @NotNull Builder readTimeout(final @NotNull Duration readTimeout) {
+      this.readTimeout = readTimeout;
+      return this;
+    }
+
+    /**
+     * Creates a new http-client transport object using the information given
+     * to the builder.
+     *
+     * @return The built {@link HttpClientTransport}.
+     * @since 0.0.2
+     */
+    public @NotNull HttpClientTransport build() {
+      // The providers as GitHub use redirections to their CDN, so we follow them, except
+      // when they go from HTTPS to HTTP.
+      final var client = HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_2)
+          .followRedirects(HttpClient.Redirect.NORMAL)
+          .connectTimeout(this.connectTimeout)
+          .build();
+      return new HttpClientTransport(client, this.readTimeout);
+    }
+  }
+}
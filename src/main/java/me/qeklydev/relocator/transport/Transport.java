@@ -0,0 +1,58 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.transport;
+
+import java.io.IOException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This interface represents the transport used to request the files
+ * to their providers.
+ *
+ * @since 0.0.2
+ */
+public interface Transport {
+  /**
+   * Returns the default transport, which is a {@link HttpClientTransport} shared by
+   * every download, of this way the connections are reused between the downloads
+   * from the same provider.
+   *
+   * @return The default {@link Transport}.
+   * @see HttpClientTransport#shared()
+   * @since 0.0.2
+   */
+  static @NotNull Transport defaultTransport() {
+    return HttpClientTransport.shared();
+  }
+
+  /**
+   * Performs the given request, following the redirections given by the
+   * server.
+   *
+   * @param request the request to perform.
+   * @return The {@link TransportResponse} for this request.
+   * @throws IOException if the request could not be performed.
+   * @since 0.0.2
+   */
+  @NotNull TransportResponse open(final @NotNull TransportRequest request) throws IOException;
+}
@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.transport;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This record represents a request performed by a transport.
+ *
+ * @param uri the uri for the requested file.
+ * @param method the request method, {@code GET} or {@code HEAD}.
+ * @param headers the headers sent with the request.
+ * @since 0.0.2
+ */
+public record TransportRequest(@NotNull URI uri, @NotNull String method, @NotNull Map<@NotNull String, @NotNull String> headers) {
+  /**
+   * Creates a new GET request for the given uri.
+   *
+   * @param uri the uri for the requested file.
+   * @return A new {@link TransportRequest}.
+   * @since 0.0.2
+   */
+  public static @NotNull TransportRequest get(final @NotNull URI uri) {
+    return new TransportRequest(uri, "GET", Map.of());
+  }
+
+  /**
+   * Creates a new HEAD request for the given uri.
+   *
+   * @param uri the uri for the requested file.
+   * @return A new {@link TransportRequest}.
+   * @since 0.0.2
+   */
+  public static @NotNull TransportRequest head(final @NotNull URI uri) {
+    return new TransportRequest(uri, "HEAD", Map.of());
+  }
+
+  /**
+   * Returns a copy of this request with the given header.
+   *
+   * @param name the header name.
+   * @param value the header value.
+   * @return A new {@link TransportRequest}.
+   * @since 0.0.2
+   */
+  public @NotNull TransportRequest withHeader(final @NotNull String name, final @NotNull String value) {
+    final var headers = new LinkedHashMap<>(this.headers);
+    headers.put(name, value);
+    return new TransportRequest(this.uri, this.method, Map.copyOf(headers));
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.transport;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.ReadableByteChannel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This interface represents the response given by a transport, the
+ * response body must be closed once it's not required anymore.
+ *
+ * @since 0.0.2
+ */
+public interface TransportResponse extends AutoCloseable {
+  /**
+   * The status code given by the server for a complete file.
+   *
+   * @since 0.0.2
+   */
+  int OK = 200;
+  /**
+   * The status code given by the server for a bytes range.
+   *
+   * @since 0.0.2
+   */
+  int PARTIAL_CONTENT = 206;
+  /**
+   * The status code given by the server when the file has not been modified.
+   *
+   * @since 0.0.2
+   */
+  int NOT_MODIFIED = 304;
+  /**
+   * The status code given by the server when the requested range is not valid.
+   *
+   * @since 0.0.2
+   */
+  int RANGE_NOT_SATISFIABLE = 416;
+
+  /**
+   * Returns the status code of this response.
+   *
+   * @return The status code.
+   * @since 0.0.2
+   */
+  int statusCode();
+
+  /**
+   * Returns the uri of this response, once the redirections have been
+   * followed.
+   *
+   * @return The final uri.
+   * @since 0.0.2
+   */
+  @NotNull URI uri();
+
+  /**
+   * Returns the first value for the given header.
+   *
+   * @param name the header name.
+   * @return The header value, or {@code null} if the response doesn't have it.
+   * @since 0.0.2
+   */
+  @Nullable String header(final @NotNull String name);
+
+  /**
+   * Returns the length of the response body given on the Content-Length header.
+   *
+   * @return The body length, or {@code -1} if it's unknown.
+   * @since 0.0.2
+   */
+  default long contentLength() {
+    final var contentLength = this.header("Content-Length");
+    try {
+      return (contentLength == null) ? -1L : Long.parseLong(contentLength.trim());
+    } catch (final NumberFormatException exception) {
+      return -1L;
+    }
+  }
+
+  /**
+   * Returns the channel used to read the response body.
+   *
+   * @return The body channel.
+   * @since 0.0.2
+   */
+  @NotNull ReadableByteChannel body();
+
+  /**
+   * Closes the response body, releasing the connection.
+   *
+   * @throws IOException if the body could not be closed.
+   * @since 0.0.2
+   */
+  @Override
+  void close() throws IOException;
+}
@@ -0,0 +1,6 @@
+/**
+ * Provides the transports used to request the files.
+ *
+ * @since 0.0.2
+ */
+package me.qeklydev.relocator.transport;
\ No newline at end of file
@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.download;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.archive.ArchiveExtraction;
+import me.qeklydev.relocator.io.Checksum;
+import me.qeklydev.relocator.io.DownloadStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ArchiveDownloadTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("archive-download-test")
+  void test() throws Exception {
+    final var plugin = LocalHttpServer.payload(200 * 1024, 17L);
+    final var config = "enabled: true\n".repeat(4096).getBytes(StandardCharsets.UTF_8);
+    final var entries = Map.of("bundle/plugins/plugin.jar", plugin, "bundle/config/plugin.yml", config, "bundle/README", config);
+    try (final var server = new LocalHttpServer()) {
+      // The compressed response is decompressed while it's downloaded.
+      final var compressed = server.serveCompressed("/plugin.yml", config);
+      final var decompressed = FileDownloader.builder()
+          .name(this.directory.resolve("plugin.yml").toString())
+          .url(compressed)
+          .decompress(true)
+          .build()
+          .download();
+      Assertions.assertTrue(decompressed.successful());
+      Assertions.assertArrayEquals(config, Files.readAllBytes(this.directory.resolve("plugin.yml")));
+
+      // The zip is extracted while it's downloaded, only with the included entries.
+      final var zip = zip(entries);
+      final var zipResult = FileDownloader.builder()
+          .name(this.directory.resolve("zip").toString())
+          .url(server.serve("/bundle.zip", zip))
+          .checksum(Checksum.sha256(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(zip))))
+          .extract(ArchiveExtraction.builder().stripComponents(1).include("plugins/*.jar").build())
+          .build()
+          .download();
+      Assertions.assertEquals(DownloadStatus.SUCCESSFUL, zipResult.status());
+      Assertions.assertEquals(zip.length, zipResult.bytes());
+      Assertions.assertArrayEquals(plugin, Files.readAllBytes(this.directory.resolve("zip/plugins/plugin.jar")));
+      Assertions.assertFalse(Files.exists(this.directory.resolve("zip/README")));
+      Assertions.assertFalse(Files.exists(this.directory.resolve("zip/config")));
+
+      // The tar.gz is extracted with every entry.
+      final var tarResult = FileDownloader.builder()
+          .name(this.directory.resolve("tar").toString())
+          .url(server.serve("/bundle.tar.gz", gzip(tar(entries))))
+          .extract(ArchiveExtraction.builder().build())
+          .build()
+          .download();
+      Assertions.assertTrue(tarResult.successful());
+      for (final var entry : entries.entrySet()) {
+        Assertions.assertArrayEquals(entry.getValue(), Files.readAllBytes(this.directory.resolve("tar").resolve(entry.getKey())));
+      }
+
+      // An entry outside of the directory fails the extraction, and nothing is extracted.
+      final var slipResult = FileDownloader.builder()
+          .name(this.directory.resolve("slip").toString())
+          .url(server.serve("/slip.zip", zip(Map.of("plugin.jar", plugin, "../evil.jar", plugin))))
+          .extract(ArchiveExtraction.builder().build())
+          .build()
+          .download();
+      Assertions.assertEquals(DownloadStatus.FAILED, slipResult.status());
+      Assertions.assertFalse(Files.exists(this.directory.resolve("evil.jar")));
+      Assertions.assertFalse(Files.exists(this.directory.resolve("slip/plugin.jar")));
+    }
+  }
+
+  private static byte[] zip(final Map<String, byte[]> entries) throws IOException {
+    final var output = new ByteArrayOutputStream();
+    try (final var zipOutput = new ZipOutputStream(output)) {
+      for (final var entry : entries.entrySet()) {
+        zipOutput.putNextEntry(new ZipEntry(entry.getKey()));
+        zipOutput.write(entry.getValue());
+        zipOutput.closeEntry();
+      }
+    }
+    return output.toByteArray();
+  }
+
+  private static byte[] tar(final Map<String, byte[]> entries) {
+    final var output = new ByteArrayOutputStream();
+    for (final var entry : entries.entrySet()) {
+      final var header = new byte[512];
+      final var name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+      System.arraycopy(name, 0, header, 0, name.length);
+      writeOctal(header, 100, 8, 0644);
+      writeOctal(header, 124, 12, entry.getValue().length);
+      header[156] = '0';
+      System.arraycopy("ustar\u000000".getBytes(StandardCharsets.US_ASCII), 0, header, 257, 8);
+      Arrays.fill(header, 148, 156, (byte) ' ');
+      var checksum = 0;
+      for (final var value : header) {
+        checksum += value & 0xFF;
+      }
+      writeOctal(header, 148, 8, checksum);
+      output.writeBytes(header);
+      output.writeBytes(entry.getValue());
+      output.writeBytes(new byte[(512 - entry.getValue().length % 512) % 512]);
+    }
+    output.writeBytes(new byte[1024]);
+    return output.toByteArray();
+  }
+
+  private static void writeOctal(final byte[] header, final int offset, final int length, final long value) {
+    final var octal = String.format("%0" + (length - 1) + "o", value).getBytes(StandardCharsets.US_ASCII);
+    System.arraycopy(octal, 0, header, offset, octal.length);
+  }
+
+  private static byte[] gzip(final byte[] payload) throws IOException {
+    final var output = new ByteArrayOutputStream();
+    try (final var gzipOutput = new GZIPOutputStream(output)) {
+      gzipOutput.write(payload);
+    }
+    return output.toByteArray();
+  }
+}
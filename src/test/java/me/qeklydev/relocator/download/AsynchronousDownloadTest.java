@@ -23,6 +23,7 @@
 package me.qeklydev.relocator.download;
 
 import me.qeklydev.relocator.io.IOUtils;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -31,11 +32,14 @@ public class AsynchronousDownloadTest {
   @DisplayName("async-download-test")
   void test() {
     final var start = System.currentTimeMillis();
-    IOUtils.writeAsync("ReleaseDownloader-Async.jar", "https://github.com/aivruu/release-downloader/releases/download/1.3.4/release-downloader-1.3.4.jar")
+    final var fileDownloadStatus = IOUtils.writeAsync("ReleaseDownloader-Async.jar", "https://github.com/aivruu/release-downloader/releases/download/1.3.4/release-downloader-1.3.4.jar")
         .thenApply(bytesAmount ->
             // Indicates that the amount of read bytes for the downloaded file must be higher
             // than the value for [SINGLE_RETURN_VALUE] which is 0L.
-            bytesAmount > IOUtils.SINGLE_RETURN_VALUE);
+            bytesAmount > IOUtils.SINGLE_RETURN_VALUE)
+        // The test must wait for the download, otherwise, it finishes before the file is written.
+        .join();
+    Assertions.assertTrue(fileDownloadStatus);
     System.out.println("Asynchronous Download Milliseconds Elapsed: " + (System.currentTimeMillis() - start));
   }
 }
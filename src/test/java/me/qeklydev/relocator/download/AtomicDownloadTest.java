@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.download;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import me.qeklydev.relocator.FileDownloader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AtomicDownloadTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("atomic-download-test")
+  void test() throws Exception {
+    final var previousContent = LocalHttpServer.payload(1024, 6L);
+    final var payload = LocalHttpServer.payload(32 * 1024, 7L);
+    final var destination = this.directory.resolve("plugin.jar");
+    Files.write(destination, previousContent);
+    try (final var server = new LocalHttpServer()) {
+      final var provider = server.serve("/plugin.jar", payload);
+      // The existing file must be kept if the user has not preferred replace it.
+      Assertions.assertFalse(downloader(destination, provider, false).downloadFileSync());
+      Assertions.assertArrayEquals(previousContent, Files.readAllBytes(destination));
+      // A failed download must not destroy the previous file.
+      Assertions.assertFalse(downloader(destination, provider.replace("plugin.jar", "missing.jar"), true).downloadFileSync());
+      Assertions.assertArrayEquals(previousContent, Files.readAllBytes(destination));
+
+      Assertions.assertTrue(downloader(destination, provider, true).downloadFileSync());
+      Assertions.assertArrayEquals(payload, Files.readAllBytes(destination));
+      try (final var files = Files.list(this.directory)) {
+        // There must not be any temporary file left behind.
+        Assertions.assertEquals(1L, files.count());
+      }
+      // The downloaders created with the constructor of the previous versions receive the
+      // same defaults given by the builder.
+      final var constructedDownloader = new FileDownloader(destination.toString(), provider, true);
+      Assertions.assertEquals(downloader(destination, provider, true), constructedDownloader);
+      Files.write(destination, previousContent);
+      Assertions.assertTrue(constructedDownloader.downloadFileSync());
+      Assertions.assertArrayEquals(payload, Files.readAllBytes(destination));
+    }
+  }
+
+  private static FileDownloader downloader(final Path destination, final String provider, final boolean replaceExisting) {
+    return FileDownloader.builder()
+        .name(destination.toString())
+        .url(provider)
+        .replaceExisting(replaceExisting)
+        .build();
+  }
+}
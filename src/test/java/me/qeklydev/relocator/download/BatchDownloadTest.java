@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.download;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.batch.DownloadBatch;
+import me.qeklydev.relocator.io.DownloadStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BatchDownloadTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("batch-download-test")
+  void test() throws Exception {
+    try (final var server = new LocalHttpServer()) {
+      final var batchBuilder = DownloadBatch.builder().maxConcurrency(8).maxConcurrencyPerHost(4);
+      for (var index = 0; index < 32; index++) {
+        batchBuilder.add(FileDownloader.builder()
+            .name(this.directory.resolve("file-" + index + ".bin").toString())
+            .url(server.serve("/file-" + index + ".bin", LocalHttpServer.payload(16 * 1024, index)))
+            .build());
+      }
+      final var result = batchBuilder.build().downloadAll().join();
+      Assertions.assertTrue(result.successful());
+      Assertions.assertEquals(32, result.downloadedCount());
+      Assertions.assertArrayEquals(LocalHttpServer.payload(16 * 1024, 7), Files.readAllBytes(this.directory.resolve("file-7.bin")));
+      // The files already exist and must not be replaced, so they're skipped, which is not
+      // a failure of the batch.
+      final var skippedBuilder = DownloadBatch.builder();
+      for (var index = 0; index < 4; index++) {
+        skippedBuilder.add(FileDownloader.builder()
+            .name(this.directory.resolve("file-" + index + ".bin").toString())
+            .url(server.serve("/file-" + index + ".bin", LocalHttpServer.payload(16 * 1024, index)))
+            .build());
+      }
+      final var skippedResult = skippedBuilder.build().downloadAll().join();
+      Assertions.assertTrue(skippedResult.successful());
+      Assertions.assertTrue(skippedResult.failed().isEmpty());
+      Assertions.assertEquals(0, skippedResult.downloadedCount());
+      Assertions.assertEquals(DownloadStatus.SKIPPED, skippedResult.entries().get(0).status());
+      // The failed download continues since a slow mirror on another host, so it must not
+      // keep the permit of their first host while the mirror is downloaded.
+      try (final var mirrorServer = new LocalHttpServer()) {
+        final var mirror = mirrorServer.serve("/mirror.bin", LocalHttpServer.payload(16 * 1024, 40L)).replace("127.0.0.1", "localhost");
+        mirrorServer.delay("/mirror.bin", 2000L);
+        final var primary = server.serve("/primary.bin", LocalHttpServer.payload(16 * 1024, 41L));
+        final var startNanos = System.nanoTime();
+        final var completedAt = new AtomicLong();
+        final var mirroredResult = DownloadBatch.builder()
+            .maxConcurrencyPerHost(1)
+            .add(FileDownloader.builder()
+                .name(this.directory.resolve("mirrored.bin").toString())
+                .url(primary.replace("primary.bin", "missing.bin"))
+                .mirror(mirror)
+                .build())
+            .add(FileDownloader.builder()
+                .name(this.directory.resolve("primary.bin").toString())
+                .url(primary)
+                .listener(primaryResult -> completedAt.set(System.nanoTime()))
+                .build())
+            .build()
+            .downloadAll()
+            .join();
+        Assertions.assertTrue(mirroredResult.successful());
+        Assertions.assertTrue(completedAt.get() - startNanos < TimeUnit.MILLISECONDS.toNanos(1000L));
+      }
+    }
+  }
+}
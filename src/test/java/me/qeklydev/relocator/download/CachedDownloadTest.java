@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.download;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicInteger;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.cache.DownloadCache;
+import me.qeklydev.relocator.io.Checksum;
+import me.qeklydev.relocator.io.DownloadStatus;
+import me.qeklydev.relocator.io.TransferOptions;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CachedDownloadTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("cached-download-test")
+  void test() throws Exception {
+    final var payload = LocalHttpServer.payload(128 * 1024, 4L);
+    try (final var server = new LocalHttpServer()) {
+      final var provider = server.serve("/cached.bin", payload);
+      final var cache = DownloadCache.builder()
+          .directory(this.directory.resolve("cache"))
+          .freshFor(Duration.ofMinutes(10))
+          .build();
+      for (var node = 0; node < 3; node++) {
+        final var fileDownloader = FileDownloader.builder()
+            .name(this.directory.resolve("node-" + node + ".bin").toString())
+            .url(provider)
+            .cache(cache)
+            .build();
+        Assertions.assertTrue(fileDownloader.downloadFileSync());
+        Assertions.assertArrayEquals(payload, Files.readAllBytes(this.directory.resolve("node-" + node + ".bin")));
+      }
+      // The file is fresh on the cache, so only the first download must request it.
+      Assertions.assertEquals(1, server.requests());
+      Assertions.assertEquals(payload.length, cache.size());
+      // A cache without freshness revalidates the stored entry, and the server confirms
+      // that the file has not been modified.
+      final var revalidatingCache = DownloadCache.builder().directory(this.directory.resolve("cache")).build();
+      final var destination = this.directory.resolve("revalidated.bin");
+      Assertions.assertEquals(payload.length, revalidatingCache.write(destination.toString(), provider, TransferOptions.defaults()));
+      Assertions.assertArrayEquals(payload, Files.readAllBytes(destination));
+      Assertions.assertEquals(2, server.requests());
+      // The content of the url has changed, so the previous file is removed from the cache.
+      final var modifiedPayload = LocalHttpServer.payload(64 * 1024, 5L);
+      server.serve("/cached.bin", modifiedPayload);
+      Assertions.assertEquals(modifiedPayload.length, revalidatingCache.write(destination.toString(), provider, TransferOptions.defaults()));
+      Assertions.assertArrayEquals(modifiedPayload, Files.readAllBytes(destination));
+      Assertions.assertEquals(modifiedPayload.length, revalidatingCache.size());
+      try (final var objectFiles = Files.walk(this.directory.resolve("cache").resolve("objects"))) {
+        Assertions.assertEquals(1L, objectFiles.filter(Files::isRegularFile).count());
+      }
+      // A changed file that doesn't match the expected checksum is discarded, and the last
+      // valid file is still cached for the url.
+      server.serve("/cached.bin", LocalHttpServer.payload(64 * 1024, 6L));
+      final var modifiedSha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(modifiedPayload));
+      final var mismatchedResult = revalidatingCache.transfer(this.directory.resolve("mismatched.bin").toString(), provider,
+          TransferOptions.defaults().withChecksum(Checksum.sha256(modifiedSha256)));
+      Assertions.assertEquals(DownloadStatus.CHECKSUM_MISMATCH, mismatchedResult.status());
+      Assertions.assertEquals(modifiedPayload.length, revalidatingCache.size());
+      try (final var objectFiles = Files.walk(this.directory.resolve("cache").resolve("objects"))) {
+        Assertions.assertEquals(1L, objectFiles.filter(Files::isRegularFile).count());
+      }
+      final var requests = server.requests();
+      final var freshCache = DownloadCache.builder()
+          .directory(this.directory.resolve("cache"))
+          .freshFor(Duration.ofMinutes(10))
+          .build();
+      final var restored = this.directory.resolve("restored.bin");
+      Assertions.assertEquals(DownloadStatus.CACHED, freshCache.transfer(restored.toString(), provider, TransferOptions.defaults()).status());
+      Assertions.assertArrayEquals(modifiedPayload, Files.readAllBytes(restored));
+      Assertions.assertEquals(requests, server.requests());
+      // The cached file has been lost, so the server confirmation is not enough and the
+      // file is requested again, the download is notified only once.
+      try (final var objectFiles = Files.walk(this.directory.resolve("cache").resolve("objects"))) {
+        for (final var objectFile : objectFiles.filter(Files::isRegularFile).toList()) {
+          Files.delete(objectFile);
+        }
+      }
+      server.serve("/cached.bin", modifiedPayload);
+      final var notifications = new AtomicInteger();
+      final var lost = this.directory.resolve("lost.bin");
+      final var lostResult = revalidatingCache.transfer(lost.toString(), provider,
+          TransferOptions.defaults().withListener(result -> notifications.incrementAndGet()));
+      Assertions.assertEquals(DownloadStatus.SUCCESSFUL, lostResult.status());
+      Assertions.assertArrayEquals(modifiedPayload, Files.readAllBytes(lost));
+      Assertions.assertEquals(1, notifications.get());
+      Assertions.assertEquals(requests + 2, server.requests());
+    }
+  }
+}
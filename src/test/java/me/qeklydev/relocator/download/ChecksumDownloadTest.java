@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.download;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.io.Checksum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ChecksumDownloadTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("checksum-download-test")
+  void test() throws Exception {
+    final var payload = LocalHttpServer.payload(3 * 1024 * 1024, 5L);
+    final var sha512 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-512").digest(payload));
+    try (final var server = new LocalHttpServer()) {
+      final var provider = server.serve("/verified.bin", payload);
+      for (final var segments : new int[] {1, 3}) {
+        final var destination = this.directory.resolve("verified-" + segments + ".bin");
+        final var verifiedDownloader = FileDownloader.builder()
+            .name(destination.toString())
+            .url(provider)
+            .segments(segments)
+            .replaceExisting(true)
+            .checksum(Checksum.sha512(sha512))
+            .build();
+        Assertions.assertTrue(verifiedDownloader.downloadFileSync());
+        Assertions.assertArrayEquals(payload, Files.readAllBytes(destination));
+
+        // A download with a different checksum must fail, and keep the previous file.
+        final var corruptedDownloader = FileDownloader.builder()
+            .name(destination.toString())
+            .url(provider)
+            .segments(segments)
+            .replaceExisting(true)
+            .checksum(Checksum.sha512(sha512.replace(sha512.charAt(0), sha512.charAt(0) == '0' ? '1' : '0')))
+            .build();
+        Assertions.assertFalse(corruptedDownloader.downloadFileSync());
+        Assertions.assertArrayEquals(payload, Files.readAllBytes(destination));
+      }
+      try (final var files = Files.list(this.directory)) {
+        // There must not be any temporary file left behind.
+        Assertions.assertEquals(2L, files.count());
+      }
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.download;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.batch.DownloadCoalescer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CoalescedDownloadTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("coalesced-download-test")
+  void test() throws Exception {
+    final var payload = LocalHttpServer.payload(256 * 1024, 18L);
+    final var coalescer = DownloadCoalescer.create(true);
+    try (final var server = new LocalHttpServer()) {
+      final var provider = server.serve("/plugin.jar", payload);
+      // The response is delayed, so every download is requested while the first is in progress.
+      server.delay("/plugin.jar", 300L);
+      final var futures = new ArrayList<CompletableFuture<Boolean>>();
+      for (var node = 0; node < 4; node++) {
+        futures.add(FileDownloader.builder()
+            .name(this.directory.resolve("node-" + node + ".jar").toString())
+            .url(provider)
+            .replaceExisting(true)
+            .coalesce(coalescer)
+            .build()
+            .downloadFileAsync());
+      }
+      // A download with the same destination shares the same file.
+      futures.add(FileDownloader.builder()
+          .name(this.directory.resolve("node-0.jar").toString())
+          .url(provider)
+          .replaceExisting(true)
+          .coalesce(coalescer)
+          .build()
+          .downloadFileAsync());
+      for (final var future : futures) {
+        Assertions.assertTrue(future.join());
+      }
+      Assertions.assertEquals(1, server.requests());
+      Assertions.assertEquals(0, coalescer.inFlight());
+      for (var node = 0; node < 4; node++) {
+        final var file = this.directory.resolve("node-" + node + ".jar");
+        Assertions.assertArrayEquals(payload, Files.readAllBytes(file));
+        // The file has been placed using a hard link, so it was written once.
+        Assertions.assertTrue(Files.isSameFile(this.directory.resolve("node-0.jar"), file));
+      }
+    }
+  }
+}
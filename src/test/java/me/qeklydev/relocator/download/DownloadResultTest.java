@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.download;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.io.DownloadResult;
+import me.qeklydev.relocator.io.DownloadStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DownloadResultTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("download-result-test")
+  void test() throws Exception {
+    final var payload = LocalHttpServer.payload(2 * 1024 * 1024, 8L);
+    final List<DownloadResult> notifiedResults = Collections.synchronizedList(new ArrayList<>());
+    try (final var server = new LocalHttpServer()) {
+      final var provider = server.serve("/measured.bin", payload);
+      final var destination = this.directory.resolve("measured.bin");
+      final var result = FileDownloader.builder()
+          .name(destination.toString())
+          .url(provider)
+          .listener(notifiedResults::add)
+          .build()
+          .download();
+      Assertions.assertEquals(DownloadStatus.SUCCESSFUL, result.status());
+      Assertions.assertEquals(200, result.statusCode());
+      Assertions.assertEquals(payload.length, result.bytes());
+      Assertions.assertTrue(result.timings().total().toNanos() > 0L);
+      Assertions.assertTrue(result.throughput() > 0D);
+      Assertions.assertEquals(List.of(result), notifiedResults);
+      // The host is only resolved by the transport, so there's no resolve phase.
+      Assertions.assertEquals(Duration.ZERO, result.timings().resolve());
+
+      // The pre-resolved download records the resolve phase separately.
+      final var preResolvedResult = FileDownloader.builder()
+          .name(this.directory.resolve("pre-resolved.bin").toString())
+          .url(provider)
+          .preResolve(true)
+          .build()
+          .download();
+      Assertions.assertEquals(DownloadStatus.SUCCESSFUL, preResolvedResult.status());
+      Assertions.assertFalse(preResolvedResult.timings().resolve().isNegative());
+
+      // An existing file that must not be replaced is skipped.
+      final var skippedResult = FileDownloader.builder()
+          .name(destination.toString())
+          .url(provider)
+          .replaceExisting(false)
+          .build()
+          .download();
+      Assertions.assertEquals(DownloadStatus.SKIPPED, skippedResult.status());
+      Assertions.assertFalse(skippedResult.successful());
+
+      // A missing file reports the status code given by the server.
+      final var missingResult = FileDownloader.builder()
+          .name(this.directory.resolve("missing.bin").toString())
+          .url(provider.replace("measured", "missing"))
+          .build()
+          .download();
+      Assertions.assertEquals(DownloadStatus.HTTP_ERROR, missingResult.status());
+      Assertions.assertEquals(404, missingResult.statusCode());
+      Assertions.assertEquals(0L, missingResult.writtenBytes());
+    }
+  }
+}
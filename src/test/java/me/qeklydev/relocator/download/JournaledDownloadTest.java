@@ -0,0 +1,163 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.download;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.archive.ArchiveExtraction;
+import me.qeklydev.relocator.archive.ArchiveFormat;
+import me.qeklydev.relocator.batch.DownloadQueue;
+import me.qeklydev.relocator.io.DownloadStatus;
+import me.qeklydev.relocator.journal.DownloadJournal;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JournaledDownloadTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("journaled-download-test")
+  void test() throws Exception {
+    final var journalFile = this.directory.resolve("downloads.journal");
+    try (final var server = new LocalHttpServer()) {
+      // The jobs are recorded, and only the first one is completed before the process is stopped.
+      final var crashedJournal = DownloadJournal.open(journalFile);
+      for (var index = 0; index < 3; index++) {
+        final var payload = LocalHttpServer.payload(32 * 1024, 20L + index);
+        crashedJournal.submit(FileDownloader.builder()
+            .name(this.directory.resolve("file-" + index + ".bin").toString())
+            .url(server.serve("/file-" + index + ".bin", payload))
+            .resume(true)
+            .build());
+      }
+      crashedJournal.checkpoint(1L, DownloadStatus.FAILED, 1024L);
+      crashedJournal.complete(1L, DownloadStatus.SUCCESSFUL, 32 * 1024);
+      crashedJournal.checkpoint(2L, DownloadStatus.HTTP_ERROR, 0L);
+      // A record that was being written when the process was stopped is ignored.
+      final var size = crashedJournal.size();
+      try (final var channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+        channel.write(ByteBuffer.allocate(12).putInt(64).putInt(42).put((byte) 3).flip(), size);
+      }
+
+      try (final var queue = DownloadQueue.builder().journal(DownloadJournal.open(journalFile)).build()) {
+        Assertions.assertEquals(2, queue.recovered().size());
+        Assertions.assertEquals(2L, queue.recovered().get(0).id());
+        Assertions.assertEquals(DownloadStatus.HTTP_ERROR, queue.journal().lastCheckpoint(2L).status());
+        final var result = queue.resume().join();
+        Assertions.assertTrue(result.successful());
+        Assertions.assertEquals(2, server.requests());
+        Assertions.assertFalse(Files.exists(this.directory.resolve("file-0.bin")));
+        Assertions.assertArrayEquals(LocalHttpServer.payload(32 * 1024, 22L), Files.readAllBytes(this.directory.resolve("file-2.bin")));
+        // A job submitted to the queue is completed too.
+        final var submitted = queue.submit(FileDownloader.builder()
+            .name(this.directory.resolve("submitted.bin").toString())
+            .url(server.serve("/submitted.bin", LocalHttpServer.payload(1024, 23L)))
+            .build()).join();
+        Assertions.assertTrue(submitted.successful());
+        Assertions.assertTrue(queue.journal().unfinished().isEmpty());
+      }
+      // The queue has compacted the journal once closed, so it doesn't have records.
+      try (final var journal = DownloadJournal.open(journalFile)) {
+        Assertions.assertEquals(0L, journal.size());
+        Assertions.assertTrue(journal.unfinished().isEmpty());
+      }
+      // The journal is compacted once most of their records are for completed jobs.
+      try (final var journal = DownloadJournal.open(this.directory.resolve("compacted.journal"), 1024L)) {
+        for (var index = 0; index < 100; index++) {
+          final var job = journal.submit(FileDownloader.builder().name("file-" + index + ".bin").url("http://127.0.0.1/").build());
+          journal.complete(job.id(), DownloadStatus.SUCCESSFUL, 1024L);
+        }
+        Assertions.assertTrue(journal.size() <= 1024L);
+      }
+      // The extraction and decompression settings are recovered with the job.
+      final var plugin = LocalHttpServer.payload(16 * 1024, 24L);
+      final var config = LocalHttpServer.payload(8 * 1024, 25L);
+      final var zip = new ByteArrayOutputStream();
+      try (final var zipOutput = new ZipOutputStream(zip)) {
+        zipOutput.putNextEntry(new ZipEntry("bundle/plugins/plugin.jar"));
+        zipOutput.write(plugin);
+        zipOutput.putNextEntry(new ZipEntry("bundle/README"));
+        zipOutput.write(config);
+      }
+      final var extractionFile = this.directory.resolve("extraction.journal");
+      try (final var journal = DownloadJournal.open(extractionFile)) {
+        journal.submit(FileDownloader.builder()
+            .name(this.directory.resolve("extracted").toString())
+            .url(server.serve("/bundle", zip.toByteArray()))
+            .extract(ArchiveExtraction.builder().format(ArchiveFormat.ZIP).stripComponents(1).include("plugins/*.jar").build())
+            .build());
+        journal.submit(FileDownloader.builder()
+            .name(this.directory.resolve("decompressed.bin").toString())
+            .url(server.serveCompressed("/compressed.bin", config))
+            .decompress(true)
+            .build());
+      }
+      try (final var queue = DownloadQueue.builder().journal(DownloadJournal.open(extractionFile)).build()) {
+        final var extractionJob = queue.recovered().get(0);
+        Assertions.assertNotNull(extractionJob.extraction());
+        Assertions.assertEquals(ArchiveFormat.ZIP, extractionJob.extraction().format());
+        Assertions.assertEquals(1, extractionJob.extraction().stripComponents());
+        Assertions.assertEquals(List.of("plugins/*.jar"), extractionJob.extraction().includes());
+        Assertions.assertFalse(extractionJob.decompress());
+        Assertions.assertTrue(queue.recovered().get(1).decompress());
+        Assertions.assertTrue(queue.resume().join().successful());
+        Assertions.assertArrayEquals(plugin, Files.readAllBytes(this.directory.resolve("extracted/plugins/plugin.jar")));
+        Assertions.assertFalse(Files.exists(this.directory.resolve("extracted/README")));
+        Assertions.assertArrayEquals(config, Files.readAllBytes(this.directory.resolve("decompressed.bin")));
+      }
+      // A checkpoint with an unknown status is handled as a corrupt record.
+      final var unknownStatusFile = this.directory.resolve("unknown-status.journal");
+      final long unknownStatusSize;
+      try (final var journal = DownloadJournal.open(unknownStatusFile)) {
+        final var job = journal.submit(FileDownloader.builder().name("unknown.bin").url("http://127.0.0.1/").build());
+        journal.checkpoint(job.id(), DownloadStatus.FAILED, 1024L);
+        unknownStatusSize = journal.size();
+      }
+      final var payload = ByteBuffer.allocate(Long.BYTES + Byte.BYTES + Long.BYTES).putLong(1L).put((byte) 200).putLong(0L).array();
+      final var crc = new CRC32();
+      crc.update(2);
+      crc.update(payload);
+      try (final var channel = FileChannel.open(unknownStatusFile, StandardOpenOption.WRITE)) {
+        channel.write(ByteBuffer.allocate(9 + payload.length).putInt(payload.length).putInt((int) crc.getValue()).put((byte) 2)
+            .put(payload).flip(), unknownStatusSize);
+      }
+      try (final var journal = DownloadJournal.open(unknownStatusFile)) {
+        Assertions.assertEquals(1, journal.unfinished().size());
+        Assertions.assertEquals(DownloadStatus.FAILED, journal.lastCheckpoint(1L).status());
+        Assertions.assertEquals(unknownStatusSize, journal.size());
+      }
+    }
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.download;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A small embedded HTTP server used by the tests to serve generated payloads,
+ * this server supports HEAD requests, single bytes ranges and gzip encoding, and
+ * can fail, delay or stall the responses for a path.
+ */
+public final class LocalHttpServer implements AutoCloseable {
+  private final HttpServer server;
+  private final Map<String, byte[]> payloads = new ConcurrentHashMap<>();
+  private final Map<String, String> redirects = new ConcurrentHashMap<>();
+  private final Map<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+  private final Map<String, Integer> failureStatusCodes = new ConcurrentHashMap<>();
+  private final Map<String, Long> delays = new ConcurrentHashMap<>();
+  private final Map<String, Long> stalls = new ConcurrentHashMap<>();
+  private final Set<String> compressed = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger requests = new AtomicInteger();
+
+  public LocalHttpServer() throws IOException {
+    this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    this.server.createContext("/", this::handle);
+    this.server.start();
+  }
+
+  public static byte[] payload(final int size, final long seed) {
+    final var bytes = new byte[size];
+    new Random(seed).nextBytes(bytes);
+    return bytes;
+  }
+
+  public String serve(final String path, final byte[] payload) {
+    this.payloads.put(path, payload);
+    return "http://127.0.0.1:" + this.server.getAddress().getPort() + path;
+  }
+
+  public String serveCompressed(final String path, final byte[] payload) {
+    this.compressed.add(path);
+    return this.serve(path, payload);
+  }
+
+  public String redirect(final String path, final String target) {
+    this.redirects.put(path, target);
+    return "http://127.0.0.1:" + this.server.getAddress().getPort() + path;
+  }
+
+  public void fail(final String path, final int statusCode, final int times) {
+    this.failureStatusCodes.put(path, statusCode);
+    this.failures.put(path, new AtomicInteger(times));
+  }
+
+  public void delay(final String path, final long millis) {
+    this.delays.put(path, millis);
+  }
+
+  public void stall(final String path, final long millis) {
+    this.stalls.put(path, millis);
+  }
+
+  public static String entityTag(final byte[] payload) {
+    return "\"" + Integer.toHexString(Arrays.hashCode(payload)) + "\"";
+  }
+
+  public int requests() {
+    return this.requests.get();
+  }
+
+  private void handle(final HttpExchange exchange) throws IOException {
+    this.requests.incrementAndGet();
+    final var path = exchange.getRequestURI().getPath();
+    final var failures = this.failures.get(path);
+    if (failures != null && failures.getAndDecrement() > 0) {
+      exchange.sendResponseHeaders(this.failureStatusCodes.get(path), -1);
+      exchange.close();
+      return;
+    }
+    final var delay = this.delays.get(path);
+    if (delay != null) {
+      try {
+        Thread.sleep(delay);
+      } catch (final InterruptedException exception) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    final var redirect = this.redirects.get(exchange.getRequestURI().getPath());
+    if (redirect != null) {
+      exchange.getResponseHeaders().set("Location", redirect);
+      exchange.sendResponseHeaders(302, -1);
+      exchange.close();
+      return;
+    }
+    // A payload served for a path with a query is preferred, e.g. for a page of a listing.
+    final var query = exchange.getRequestURI().getRawQuery();
+    final var queriedPayload = (query == null) ? null : this.payloads.get(exchange.getRequestURI().getPath() + '?' + query);
+    final var payload = (queriedPayload == null) ? this.payloads.get(exchange.getRequestURI().getPath()) : queriedPayload;
+    if (payload == null) {
+      exchange.sendResponseHeaders(404, -1);
+      exchange.close();
+      return;
+    }
+    final var etag = entityTag(payload);
+    final var headers = exchange.getResponseHeaders();
+    headers.set("Accept-Ranges", "bytes");
+    headers.set("ETag", etag);
+    if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+      exchange.sendResponseHeaders(304, -1);
+      exchange.close();
+      return;
+    }
+    final var range = exchange.getRequestHeaders().getFirst("Range");
+    final var acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+    if (this.compressed.contains(exchange.getRequestURI().getPath()) && range == null && acceptEncoding != null
+        && acceptEncoding.contains("gzip") && "GET".equals(exchange.getRequestMethod())) {
+      final var compressedPayload = new ByteArrayOutputStream();
+      try (final var gzipOutput = new GZIPOutputStream(compressedPayload)) {
+        gzipOutput.write(payload);
+      }
+      headers.set("Content-Encoding", "gzip");
+      exchange.sendResponseHeaders(200, compressedPayload.size());
+      try (final var body = exchange.getResponseBody()) {
+        compressedPayload.writeTo(body);
+      }
+      return;
+    }
+    var start = 0;
+    var end = payload.length - 1;
+    final var ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+    final var partial = range != null && range.startsWith("bytes=") && (ifRange == null || ifRange.equals(etag));
+    if (partial) {
+      final var bounds = range.substring("bytes=".length()).split("-", -1);
+      start = Integer.parseInt(bounds[0]);
+      if (!bounds[1].isEmpty()) {
+        end = Math.min(end, Integer.parseInt(bounds[1]));
+      }
+      headers.set("Content-Range", "bytes " + start + "-" + end + "/" + payload.length);
+    }
+    final var length = end - start + 1;
+    if ("HEAD".equals(exchange.getRequestMethod())) {
+      headers.set("Content-Length", String.valueOf(length));
+      exchange.sendResponseHeaders(partial ? 206 : 200, -1);
+      exchange.close();
+      return;
+    }
+    exchange.sendResponseHeaders(partial ? 206 : 200, length);
+    try (final var body = exchange.getResponseBody()) {
+      // A stalled response sends the first half of the body, and then stops sending bytes.
+      final var stall = this.stalls.get(exchange.getRequestURI().getPath());
+      if (stall != null) {
+        body.write(payload, start, length / 2);
+        body.flush();
+        try {
+          Thread.sleep(stall);
+        } catch (final InterruptedException exception) {
+          Thread.currentThread().interrupt();
+        }
+        return;
+      }
+      body.write(payload, start, length);
+    }
+  }
+
+  @Override
+  public void close() {
+    this.server.stop(0);
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.download;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import me.qeklydev.relocator.sync.ManifestSync;
+import me.qeklydev.relocator.sync.SyncManifest;
+import me.qeklydev.relocator.sync.SyncOutcome;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ManifestSyncTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("manifest-sync-test")
+  void test() throws Exception {
+    final var first = LocalHttpServer.payload(64 * 1024, 19L);
+    final var second = LocalHttpServer.payload(32 * 1024, 20L);
+    final var third = LocalHttpServer.payload(16 * 1024, 21L);
+    final var target = this.directory.resolve("server");
+    // The second file is on another path, the third file is outdated, and there's a
+    // file that is not declared by the manifest.
+    Files.createDirectories(target.resolve("plugins"));
+    Files.createDirectories(target.resolve("old"));
+    Files.write(target.resolve("old/second-1.0.jar"), second);
+    Files.write(target.resolve("plugins/third.jar"), LocalHttpServer.payload(16 * 1024, 22L));
+    Files.writeString(target.resolve("stale.txt"), "stale");
+    Files.createDirectories(target.resolve("config"));
+    Files.writeString(target.resolve("config/settings.yml"), "edited: true");
+    try (final var server = new LocalHttpServer()) {
+      final var manifest = SyncManifest.parse("""
+          {
+            "prune": true,
+            "files": [
+              {"path": "plugins/first.jar", "url": "%s", "hash": "sha256:%s"},
+              {"path": "plugins/second.jar", "url": "%s", "hash": "sha256:%s"},
+              {"path": "plugins/third.jar", "url": "%s", "hash": "sha256:%s"},
+              {"path": "config/settings.yml", "url": "%s", "size": 5, "replace": false}
+            ]
+          }
+          """.formatted(server.serve("/first.jar", first), sha256(first), server.serve("/second.jar", second), sha256(second),
+          server.serve("/third.jar", third), sha256(third), server.serve("/settings.yml", new byte[5])));
+      final var sync = ManifestSync.builder()
+          .manifest(manifest)
+          .directory(target)
+          .build();
+      final var result = sync.sync();
+      Assertions.assertTrue(result.successful(), result.results().toString());
+      Assertions.assertEquals(2, result.count(SyncOutcome.DOWNLOADED));
+      Assertions.assertEquals(1, result.count(SyncOutcome.RELOCATED));
+      Assertions.assertEquals(1, result.count(SyncOutcome.KEPT));
+      Assertions.assertEquals(1, result.count(SyncOutcome.DELETED));
+      Assertions.assertEquals(2, server.requests());
+      Assertions.assertArrayEquals(first, Files.readAllBytes(target.resolve("plugins/first.jar")));
+      Assertions.assertArrayEquals(second, Files.readAllBytes(target.resolve("plugins/second.jar")));
+      Assertions.assertArrayEquals(third, Files.readAllBytes(target.resolve("plugins/third.jar")));
+      Assertions.assertEquals("edited: true", Files.readString(target.resolve("config/settings.yml")));
+      Assertions.assertFalse(Files.exists(target.resolve("stale.txt")));
+      Assertions.assertFalse(Files.exists(target.resolve("old/second-1.0.jar")));
+
+      // The synchronized directory is not downloaded again.
+      final var unchangedResult = sync.sync();
+      Assertions.assertEquals(3, unchangedResult.count(SyncOutcome.UNCHANGED));
+      Assertions.assertEquals(2, server.requests());
+
+      // The indexed hash is trusted while the size and the modification time of the
+      // file are the same, and the file is downloaded again once they change.
+      final var firstFile = target.resolve("plugins/first.jar");
+      final var modifiedTime = Files.getLastModifiedTime(firstFile);
+      Files.write(firstFile, new byte[first.length]);
+      Files.setLastModifiedTime(firstFile, modifiedTime);
+      Assertions.assertEquals(3, sync.sync().count(SyncOutcome.UNCHANGED));
+      Files.setLastModifiedTime(firstFile, FileTime.fromMillis(modifiedTime.toMillis() + 1000L));
+      Assertions.assertEquals(1, sync.sync().count(SyncOutcome.DOWNLOADED));
+      Assertions.assertEquals(3, server.requests());
+      Assertions.assertArrayEquals(first, Files.readAllBytes(firstFile));
+    }
+  }
+
+  private static String sha256(final byte[] payload) throws Exception {
+    return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(payload));
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.download;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import me.qeklydev.relocator.io.IOUtils;
+import me.qeklydev.relocator.io.PartialDownloadState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ResumableDownloadTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("resumable-download-test")
+  void test() throws Exception {
+    final var payload = LocalHttpServer.payload(256 * 1024, 2L);
+    try (final var server = new LocalHttpServer()) {
+      final var destination = this.directory.resolve("resumable.bin");
+      final var partialFile = Path.of(destination + PartialDownloadState.PARTIAL_FILE_EXTENSION);
+      final var sidecarFile = Path.of(destination + PartialDownloadState.SIDECAR_FILE_EXTENSION);
+      // We simulate a previous attempt that has failed after writing the first half of the file.
+      Files.write(partialFile, Arrays.copyOf(payload, payload.length / 2));
+      new PartialDownloadState(payload.length / 2, LocalHttpServer.entityTag(payload), null).store(sidecarFile);
+
+      final var fileBytesReadAmount = IOUtils.writeResumable(destination.toString(), server.serve("/resumable.bin", payload));
+      Assertions.assertEquals(payload.length, fileBytesReadAmount);
+      Assertions.assertArrayEquals(payload, Files.readAllBytes(destination));
+      Assertions.assertFalse(Files.exists(partialFile));
+      Assertions.assertFalse(Files.exists(sidecarFile));
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.download;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.io.DownloadStatus;
+import me.qeklydev.relocator.io.RetryPolicy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RetryDownloadTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("retry-download-test")
+  void test() throws Exception {
+    final var payload = LocalHttpServer.payload(96 * 1024, 16L);
+    final var retryPolicy = RetryPolicy.builder()
+        .initialDelay(Duration.ofMillis(10))
+        .build();
+    try (final var server = new LocalHttpServer(); final var slowServer = new LocalHttpServer()) {
+      // The transient failures are retried on the same url.
+      final var flaky = server.serve("/flaky.bin", payload);
+      server.fail("/flaky.bin", 503, 2);
+      final var retried = FileDownloader.builder()
+          .name(this.directory.resolve("flaky.bin").toString())
+          .url(flaky)
+          .retryPolicy(retryPolicy)
+          .build()
+          .download();
+      Assertions.assertEquals(DownloadStatus.SUCCESSFUL, retried.status());
+      Assertions.assertEquals(3, server.requests());
+      Assertions.assertArrayEquals(payload, Files.readAllBytes(this.directory.resolve("flaky.bin")));
+
+      // A missing file is not retried, the download fails over to the mirror.
+      final var mirror = server.serve("/mirror.bin", payload);
+      final var failedOver = FileDownloader.builder()
+          .name(this.directory.resolve("mirrored.bin").toString())
+          .url(mirror.replace("/mirror.bin", "/missing.bin"))
+          .mirror(mirror)
+          .retryPolicy(retryPolicy)
+          .build()
+          .download();
+      Assertions.assertTrue(failedOver.successful());
+      Assertions.assertEquals(mirror, failedOver.provider());
+      Assertions.assertEquals(5, server.requests());
+
+      // The slow server is raced with the mirror, and the mirror wins.
+      final var slow = slowServer.serve("/slow.bin", payload);
+      slowServer.delay("/slow.bin", 1500L);
+      final var startNanos = System.nanoTime();
+      final var hedged = FileDownloader.builder()
+          .name(this.directory.resolve("hedged.bin").toString())
+          .url(slow)
+          .mirror(mirror)
+          .hedgeAfter(Duration.ofMillis(50))
+          .build()
+          .download();
+      Assertions.assertTrue(hedged.successful());
+      Assertions.assertEquals(mirror, hedged.provider());
+      Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - startNanos).compareTo(Duration.ofMillis(1000)) < 0);
+      Assertions.assertArrayEquals(payload, Files.readAllBytes(this.directory.resolve("hedged.bin")));
+
+      // A slow primary that fails after the maximum elapsed time still fails over to the mirror.
+      final var stalled = slow.replace("/slow.bin", "/stalled.bin");
+      slowServer.delay("/stalled.bin", 300L);
+      final var slowFailedOver = FileDownloader.builder()
+          .name(this.directory.resolve("slow-mirrored.bin").toString())
+          .url(stalled)
+          .mirror(mirror)
+          .retryPolicy(RetryPolicy.builder().maxAttempts(1).maxElapsedTime(Duration.ofMillis(100)).build())
+          .build()
+          .download();
+      Assertions.assertTrue(slowFailedOver.successful());
+      Assertions.assertEquals(mirror, slowFailedOver.provider());
+      Assertions.assertArrayEquals(payload, Files.readAllBytes(this.directory.resolve("slow-mirrored.bin")));
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.download;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import me.qeklydev.relocator.io.Checksum;
+import me.qeklydev.relocator.io.IOUtils;
+import me.qeklydev.relocator.io.TransferOptions;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class StreamingDownloadTest {
+  @Test
+  @DisplayName("streaming-download-test")
+  void test() throws Exception {
+    final var payload = LocalHttpServer.payload(1024 * 1024 + 123, 9L);
+    final var sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(payload));
+    try (final var server = new LocalHttpServer()) {
+      final var provider = server.serve("/streamed.bin", payload);
+      final var progress = new AtomicLong();
+      final var options = TransferOptions.defaults().withChecksum(Checksum.sha256(sha256));
+      final var subscriber = new OneByOneSubscriber();
+      IOUtils.stream(provider, options, (transferredBytes, totalBytes) -> {
+        Assertions.assertEquals(payload.length, totalBytes);
+        progress.set(transferredBytes);
+      }, IOUtils.VIRTUAL_THREAD_EXECUTOR).subscribe(subscriber);
+      Assertions.assertArrayEquals(payload, subscriber.completion.get(30, TimeUnit.SECONDS));
+      Assertions.assertEquals(payload.length, progress.get());
+      // The subscriber requests a single chunk every time, so there must not be more
+      // than one chunk pending for it.
+      Assertions.assertEquals(1L, subscriber.maximumPending);
+
+      // A body that doesn't match the expected checksum is signaled as an error.
+      final var corruptedSubscriber = new OneByOneSubscriber();
+      IOUtils.stream(provider, options.withChecksum(Checksum.sha256(sha256.replace(sha256.charAt(0), sha256.charAt(0) == '0' ? '1' : '0'))),
+          (transferredBytes, totalBytes) -> {}, IOUtils.VIRTUAL_THREAD_EXECUTOR).subscribe(corruptedSubscriber);
+      Assertions.assertThrows(Exception.class, () -> corruptedSubscriber.completion.get(30, TimeUnit.SECONDS));
+    }
+  }
+
+  private static final class OneByOneSubscriber implements Flow.Subscriber<ByteBuffer> {
+    private final CompletableFuture<byte[]> completion = new CompletableFuture<>();
+    private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+    private Flow.Subscription subscription;
+    private long pending;
+    private long maximumPending;
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+      this.subscription = subscription;
+      this.pending++;
+      subscription.request(1L);
+    }
+
+    @Override
+    public void onNext(final ByteBuffer chunk) {
+      this.maximumPending = Math.max(this.maximumPending, this.pending);
+      this.pending--;
+      final var bytes = new byte[chunk.remaining()];
+      chunk.get(bytes);
+      this.received.writeBytes(bytes);
+      this.pending++;
+      this.subscription.request(1L);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+      this.completion.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      this.completion.complete(this.received.toByteArray());
+    }
+  }
+}
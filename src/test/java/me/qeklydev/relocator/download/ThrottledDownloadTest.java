@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.download;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.io.BandwidthLimits;
+import me.qeklydev.relocator.io.RateLimiter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ThrottledDownloadTest {
+  private static final int RATE = 256 * 1024;
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("throttled-download-test")
+  void test() throws Exception {
+    final var payload = LocalHttpServer.payload(2 * RATE, 13L);
+    try (final var server = new LocalHttpServer()) {
+      final var provider = server.serve("/throttled.bin", payload);
+      // The bucket allows a burst of one second, so the second half of the file must
+      // take at least one second.
+      var start = System.nanoTime();
+      Assertions.assertTrue(FileDownloader.builder()
+          .name(this.directory.resolve("download-limited.bin").toString())
+          .url(provider)
+          .rateLimit(RateLimiter.of(RATE))
+          .bandwidthLimits(BandwidthLimits.create())
+          .build()
+          .downloadFileSync());
+      Assertions.assertTrue(System.nanoTime() - start >= 800_000_000L);
+
+      // The global limit is shared by the concurrent downloads.
+      final var bandwidthLimits = BandwidthLimits.create();
+      bandwidthLimits.global().rate(RATE);
+      final var halfPayload = LocalHttpServer.payload(RATE, 14L);
+      final var halfProvider = server.serve("/half.bin", halfPayload);
+      start = System.nanoTime();
+      final var firstDownload = this.downloader("first.bin", halfProvider, bandwidthLimits).downloadFileAsync();
+      final var secondDownload = this.downloader("second.bin", halfProvider, bandwidthLimits).downloadFileAsync();
+      CompletableFuture.allOf(firstDownload, secondDownload).join();
+      Assertions.assertTrue(firstDownload.join() && secondDownload.join());
+      Assertions.assertTrue(System.nanoTime() - start >= 800_000_000L);
+      Assertions.assertArrayEquals(halfPayload, Files.readAllBytes(this.directory.resolve("second.bin")));
+
+      // The limits can be removed at runtime.
+      bandwidthLimits.global().rate(RateLimiter.UNLIMITED);
+      start = System.nanoTime();
+      Assertions.assertTrue(this.downloader("unlimited.bin", provider, bandwidthLimits).downloadFileSync());
+      Assertions.assertTrue(System.nanoTime() - start < 800_000_000L);
+    }
+
+    // An idle limiter is refilled without waiting, the rate is high enough to overflow
+    // the elapsed nanoseconds multiplied by the rate as a long.
+    final var idleLimiter = RateLimiter.of(1L << 50);
+    idleLimiter.acquire(1L << 50);
+    Thread.sleep(600L);
+    Assertions.assertTimeoutPreemptively(Duration.ofMillis(100L), () -> idleLimiter.acquire(1L << 49));
+  }
+
+  private FileDownloader downloader(final String name, final String provider, final BandwidthLimits bandwidthLimits) {
+    return FileDownloader.builder()
+        .name(this.directory.resolve(name).toString())
+        .url(provider)
+        .bandwidthLimits(bandwidthLimits)
+        .build();
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.download;
+
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import me.qeklydev.relocator.io.DownloadStatus;
+import me.qeklydev.relocator.io.IOUtils;
+import me.qeklydev.relocator.io.TransferOptions;
+import me.qeklydev.relocator.transport.HttpClientTransport;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TransportDownloadTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("transport-redirect-download-test")
+  void test() throws Exception {
+    final var payload = LocalHttpServer.payload(64 * 1024, 3L);
+    final var transport = HttpClientTransport.builder()
+        .connectTimeout(Duration.ofSeconds(5))
+        .readTimeout(Duration.ofSeconds(5))
+        .build();
+    try (final var server = new LocalHttpServer()) {
+      // The providers as GitHub redirect twice before giving the file.
+      final var target = server.serve("/cdn/transport.bin", payload);
+      final var provider = server.redirect("/releases/transport.bin", server.redirect("/download/transport.bin", target));
+      final var destination = this.directory.resolve("transport.bin");
+      Assertions.assertEquals(payload.length, IOUtils.writeSync(destination.toString(), provider, TransferOptions.defaults().withTransport(transport)));
+      Assertions.assertArrayEquals(payload, Files.readAllBytes(destination));
+
+      // A server that stalls in the middle of the body fails the download once the read
+      // timeout has elapsed, and the destination is not created.
+      final var stalled = server.serve("/stalled.bin", payload);
+      server.stall("/stalled.bin", 5000L);
+      final var stalledDestination = this.directory.resolve("stalled.bin");
+      final var startNanos = System.nanoTime();
+      final var result = IOUtils.transferSync(stalledDestination.toString(), stalled, TransferOptions.defaults()
+          .withTransport(HttpClientTransport.builder().readTimeout(Duration.ofMillis(500)).build()));
+      Assertions.assertEquals(DownloadStatus.FAILED, result.status());
+      Assertions.assertInstanceOf(HttpTimeoutException.class, result.cause());
+      Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - startNanos).compareTo(Duration.ofMillis(3000)) < 0);
+      Assertions.assertFalse(Files.exists(stalledDestination));
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.download;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import me.qeklydev.relocator.FileDownloader;
+import me.qeklydev.relocator.io.BufferPool;
+import me.qeklydev.relocator.io.WriteStrategy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class WriteStrategyDownloadTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("write-strategy-download-test")
+  void test() throws Exception {
+    // The payload length is not aligned to the block size, so the last chunk is padded
+    // for the direct I/O and truncated once written.
+    final var payload = LocalHttpServer.payload(3 * 1024 * 1024 + 123, 23L);
+    final var bufferPool = BufferPool.create(4);
+    final var bufferSize = 64 * 1024;
+    try (final var server = new LocalHttpServer()) {
+      final var provider = server.serve("/large.jar", payload);
+      final var strategies = new WriteStrategy[] {
+          WriteStrategy.builder().bufferSize(bufferSize).syncEvery(1024 * 1024).bufferPool(bufferPool).build(),
+          WriteStrategy.builder().bufferSize(bufferSize).directIo(true).bufferPool(bufferPool).build(),
+          WriteStrategy.builder().bufferSize(bufferSize).preallocate(false).syncEvery(0L).bufferPool(bufferPool).build()
+      };
+      for (var index = 0; index < strategies.length; index++) {
+        final var file = this.directory.resolve("large-" + index + ".jar");
+        Assertions.assertTrue(FileDownloader.builder()
+            .name(file.toString())
+            .url(provider)
+            .replaceExisting(true)
+            .writeStrategy(strategies[index])
+            .build()
+            .downloadFileSync());
+        Assertions.assertEquals(payload.length, Files.size(file));
+        Assertions.assertArrayEquals(payload, Files.readAllBytes(file));
+      }
+      // Every download has reused the same pooled buffer.
+      Assertions.assertEquals(1, bufferPool.available(bufferSize));
+    }
+  }
+}
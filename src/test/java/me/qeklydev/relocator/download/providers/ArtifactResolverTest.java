@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.download.providers;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.StringJoiner;
+import me.qeklydev.relocator.download.LocalHttpServer;
+import me.qeklydev.relocator.provider.ArtifactCoordinate;
+import me.qeklydev.relocator.provider.GitHubReleasesResolver;
+import me.qeklydev.relocator.provider.MetadataCache;
+import me.qeklydev.relocator.provider.ModrinthResolver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ArtifactResolverTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("artifact-resolver-test")
+  void test() throws Exception {
+    final var stable = LocalHttpServer.payload(64 * 1024, 14L);
+    final var fabric = LocalHttpServer.payload(32 * 1024, 15L);
+    try (final var server = new LocalHttpServer()) {
+      final var apiUri = URI.create(server.serve("/", new byte[0]));
+      final var stableUrl = server.serve("/assets/plugin-1.5.2.jar", stable);
+      server.serve("/repos/owner/plugin/releases", ("[" +
+          "{\"tag_name\":\"v2.0.0-beta.1\",\"draft\":false,\"prerelease\":true,\"assets\":[]}," +
+          "{\"tag_name\":\"v1.5.2\",\"draft\":false,\"prerelease\":false,\"assets\":[" +
+          "{\"name\":\"plugin-1.5.2-sources.jar\",\"browser_download_url\":\"" + stableUrl + "-sources\"}," +
+          "{\"name\":\"plugin-1.5.2.jar\",\"browser_download_url\":\"" + stableUrl + "\"," +
+          "\"digest\":\"sha256:" + hex("SHA-256", stable) + "\"}]}," +
+          "{\"tag_name\":\"v1.4.0\",\"draft\":false,\"prerelease\":false,\"assets\":[]}]").getBytes(StandardCharsets.UTF_8));
+      final var github = GitHubReleasesResolver.builder()
+          .apiUri(apiUri)
+          .metadataCache(MetadataCache.create(Duration.ZERO))
+          .build();
+      final var release = github.resolve(ArtifactCoordinate.of("owner/plugin", "[1.0,2.0)")
+          .withFilePattern("plugin-.*(?<!-sources)\\.jar"));
+      Assertions.assertEquals("v1.5.2", release.version());
+      Assertions.assertNotNull(release.checksum());
+      Assertions.assertTrue(release.downloader(this.directory).build().downloadFileSync());
+      Assertions.assertArrayEquals(stable, Files.readAllBytes(this.directory.resolve("plugin-1.5.2.jar")));
+      // The metadata is revalidated because the cache doesn't have time-to-live, so the
+      // second resolution is a conditional request answered with a 304.
+      final var requests = server.requests();
+      Assertions.assertEquals("v1.5.2", github.resolve(ArtifactCoordinate.of("owner/plugin", "latest")).version());
+      Assertions.assertEquals(requests + 1, server.requests());
+
+      // The releases are paginated, so an old release is resolved from the next page.
+      final var newerReleases = new StringJoiner(",", "[", "]");
+      for (var index = 0; index < 100; index++) {
+        newerReleases.add("{\"tag_name\":\"v3.0." + index + "\",\"draft\":false,\"prerelease\":false,\"assets\":[]}");
+      }
+      server.serve("/repos/owner/legacy/releases?per_page=100&page=1", newerReleases.toString().getBytes(StandardCharsets.UTF_8));
+      server.serve("/repos/owner/legacy/releases?per_page=100&page=2", ("[" +
+          "{\"tag_name\":\"v1.5.2\",\"draft\":false,\"prerelease\":false,\"assets\":[" +
+          "{\"name\":\"plugin-1.5.2.jar\",\"browser_download_url\":\"" + stableUrl + "\"}]}]").getBytes(StandardCharsets.UTF_8));
+      Assertions.assertEquals("v1.5.2", github.resolve(ArtifactCoordinate.of("owner/legacy", "[1.0,2.0)")).version());
+
+      final var fabricUrl = server.serve("/files/mod-fabric-3.1.0.jar", fabric);
+      server.serve("/v2/project/mod/version", ("[" +
+          "{\"version_number\":\"3.2.0\",\"version_type\":\"beta\",\"loaders\":[\"fabric\"],\"files\":[]}," +
+          "{\"version_number\":\"3.1.0\",\"version_type\":\"release\",\"loaders\":[\"fabric\"],\"files\":[" +
+          "{\"filename\":\"mod-fabric-3.1.0.jar\",\"url\":\"" + fabricUrl + "\",\"primary\":true," +
+          "\"hashes\":{\"sha1\":\"" + hex("SHA-1", fabric) + "\",\"sha512\":\"" + hex("SHA-512", fabric) + "\"}}]}," +
+          "{\"version_number\":\"3.0.0\",\"version_type\":\"release\",\"loaders\":[\"fabric\"],\"files\":[]}]").getBytes(StandardCharsets.UTF_8));
+      final var modrinth = ModrinthResolver.builder()
+          .apiUri(apiUri)
+          .build();
+      final var version = modrinth.resolve(ArtifactCoordinate.of("mod", "[3.0,)").withLoader("fabric"));
+      Assertions.assertEquals("3.1.0", version.version());
+      Assertions.assertTrue(version.downloader(this.directory).build().downloadFileSync());
+      Assertions.assertArrayEquals(fabric, Files.readAllBytes(this.directory.resolve("mod-fabric-3.1.0.jar")));
+      // The metadata is fresh on the cache, so it must not be requested again.
+      final var cachedRequests = server.requests();
+      Assertions.assertEquals("3.1.0", modrinth.resolve(ArtifactCoordinate.of("mod", "[3.0,4.0)").withLoader("fabric")).version());
+      Assertions.assertEquals(cachedRequests, server.requests());
+    }
+  }
+
+  private static String hex(final String algorithm, final byte[] payload) throws Exception {
+    return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(payload));
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.relocation;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BulkRelocationTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("bulk-relocation-test")
+  void test() throws Exception {
+    final var source = this.directory.resolve("source");
+    final var target = this.directory.resolve("target");
+    for (var index = 0; index < 50; index++) {
+      final var file = source.resolve("module-" + (index % 5)).resolve("nested").resolve("file-" + index + ".jar");
+      Files.createDirectories(file.getParent());
+      Files.writeString(file, "content-" + index);
+    }
+    Files.writeString(source.resolve("notes.txt"), "not relocated");
+    Files.createDirectories(target.resolve("module-0/nested"));
+    Files.writeString(target.resolve("module-0/nested/file-0.jar"), "existing");
+
+    // A dry-run must print the plan without touching any file.
+    final List<String> planLines = Collections.synchronizedList(new ArrayList<>());
+    final var plan = BulkRelocation.builder()
+        .source(source)
+        .target(target)
+        .glob("**.jar")
+        .dryRun(true)
+        .planOutput(planLines::add)
+        .build()
+        .relocate();
+    Assertions.assertEquals(49L, plan.count(RelocationOutcome.PLANNED));
+    Assertions.assertEquals(1L, plan.count(RelocationOutcome.SKIPPED));
+    Assertions.assertEquals(51, planLines.size());
+    Assertions.assertTrue(Files.exists(source.resolve("module-1/nested/file-1.jar")));
+
+    final var result = BulkRelocation.builder()
+        .source(source)
+        .target(target)
+        .glob("**.jar")
+        .filter(file -> !file.getFileName().toString().equals("file-49.jar"))
+        .parallelism(4)
+        .build()
+        .relocate();
+    Assertions.assertTrue(result.successful());
+    Assertions.assertEquals(48L, result.count(RelocationOutcome.RENAMED));
+    Assertions.assertEquals(1L, result.count(RelocationOutcome.SKIPPED));
+    Assertions.assertEquals("content-1", Files.readString(target.resolve("module-1/nested/file-1.jar")));
+    Assertions.assertEquals("existing", Files.readString(target.resolve("module-0/nested/file-0.jar")));
+    Assertions.assertFalse(Files.exists(source.resolve("module-1/nested/file-1.jar")));
+    Assertions.assertTrue(Files.exists(source.resolve("module-4/nested/file-49.jar")));
+    Assertions.assertTrue(Files.exists(source.resolve("notes.txt")));
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ * Copyright (c) 2024 Qekly - file-relocator (https://github.com/aivruu/file-relocator)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.qeklydev.relocator.relocation;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CrossDeviceRelocationTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("cross-device-relocation-test")
+  void test() throws Exception {
+    final var modifiedTime = FileTime.fromMillis(1_600_000_000_000L);
+    for (final var sparseAware : new boolean[] {false, true}) {
+      final var source = this.directory.resolve("world-" + sparseAware + ".dat");
+      // The file has data at the start and at the end, with a big hole between them.
+      try (final var channel = FileChannel.open(source, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.SPARSE)) {
+        channel.write(ByteBuffer.wrap("region-header".getBytes()), 0L);
+        channel.write(ByteBuffer.wrap("region-footer".getBytes()), 20L * 1024L * 1024L);
+      }
+      Files.setLastModifiedTime(source, modifiedTime);
+      final var expectedContent = Files.readAllBytes(source);
+      final var target = this.directory.resolve("relocated").resolve(source.getFileName());
+      Files.createDirectories(target.getParent());
+
+      final var progress = new AtomicLong();
+      Assertions.assertTrue(FilesRelocationUtils.relocateAcross(source, target, false, sparseAware,
+          (transferredBytes, totalBytes) -> progress.set(transferredBytes)));
+      Assertions.assertFalse(Files.exists(source));
+      Assertions.assertTrue(Arrays.equals(expectedContent, Files.readAllBytes(target)));
+      Assertions.assertEquals(expectedContent.length, progress.get());
+      Assertions.assertEquals(modifiedTime, Files.getLastModifiedTime(target));
+    }
+
+    // An existing file must not be replaced if it's not preferred.
+    final var source = this.directory.resolve("level.dat");
+    final var target = this.directory.resolve("relocated").resolve("world-true.dat");
+    Files.writeString(source, "level");
+    Assertions.assertFalse(FilesRelocationUtils.relocateAcrossAsync(source, target, false).get(30, TimeUnit.SECONDS));
+    Assertions.assertTrue(Files.exists(source));
+    Assertions.assertTrue(FilesRelocationUtils.relocateAcrossAsync(source, target, true).get(30, TimeUnit.SECONDS));
+    Assertions.assertEquals("level", Files.readString(target));
+    try (final var files = Files.list(target.getParent())) {
+      // There must not be any temporary file left behind.
+      Assertions.assertEquals(2L, files.count());
+    }
+  }
+}